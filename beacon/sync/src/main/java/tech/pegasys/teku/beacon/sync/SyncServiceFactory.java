@@ -32,6 +32,7 @@ import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.statetransition.block.BlockImporter;
 import tech.pegasys.teku.statetransition.util.PendingPool;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationPriority;
 import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
@@ -82,7 +83,8 @@ public class SyncServiceFactory {
     this.blockImporter = blockImporter;
     this.pendingBlocks = pendingBlocks;
     this.getStartupTargetPeerCount = getStartupTargetPeerCount;
-    this.signatureVerifier = signatureVerifier;
+    this.signatureVerifier =
+        signatureVerifier.withPriority(SignatureVerificationPriority.HISTORICAL_BLOCK);
     this.startupTimeout = startupTimeout;
     this.spec = spec;
   }
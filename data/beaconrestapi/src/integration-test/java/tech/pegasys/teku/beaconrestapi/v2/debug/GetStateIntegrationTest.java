@@ -21,6 +21,7 @@ import static tech.pegasys.teku.infrastructure.http.RestApiConstants.HEADER_CONS
 
 import java.io.IOException;
 import okhttp3.Response;
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.api.response.v2.debug.GetStateResponseV2;
 import tech.pegasys.teku.api.schema.Version;
@@ -63,6 +64,8 @@ public class GetStateIntegrationTest extends AbstractDataBackedRestAPIIntegratio
     final Response response = get("head", HEADER_ACCEPT_OCTET);
     assertThat(response.code()).isEqualTo(SC_OK);
     assertThat(response.header(HEADER_CONSENSUS_VERSION)).isEqualTo(Version.altair.name());
+    assertThat(Bytes.wrap(response.body().bytes()))
+        .isEqualTo(recentChainData.getBestState().orElseThrow().sszSerialize());
   }
 
   public Response get(final String stateIdIdString, final String contentType) throws IOException {
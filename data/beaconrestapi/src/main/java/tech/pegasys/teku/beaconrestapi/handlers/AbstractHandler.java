@@ -21,14 +21,19 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Throwables;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jetty.server.Response;
+import tech.pegasys.teku.api.response.SszResponse;
 import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
 
 public abstract class AbstractHandler implements Handler {
+  private static final Logger LOG = LogManager.getLogger();
   protected final JsonProvider jsonProvider;
 
   protected AbstractHandler(final JsonProvider jsonProvider) {
@@ -123,7 +128,11 @@ public abstract class AbstractHandler implements Handler {
                 ctx.header(
                     "Content-Disposition",
                     "filename=\"" + resultFilename.getFilename(result.get()) + "\"");
-                return resultProcessor.process(ctx, result.get()).orElse(null);
+                final Optional<SszResponse> response = resultProcessor.process(ctx, result.get());
+                if (response.isPresent()) {
+                  writeSszResponse(ctx, response.get());
+                }
+                return null;
               } else {
                 ctx.status(missingStatus);
                 return BadRequest.serialize(jsonProvider, missingStatus, "Not found");
@@ -131,6 +140,31 @@ public abstract class AbstractHandler implements Handler {
             }));
   }
 
+  /**
+   * Streams the SSZ straight into the response instead of buffering it. The Content-Length is set
+   * upfront, so a client can't mistake a cut short body for a complete one. If serialization fails
+   * before anything was sent the response is reset and the error is reported as usual, otherwise
+   * the response is aborted as the status and part of the body are already on the wire.
+   */
+  public static void writeSszResponse(final Context ctx, final SszResponse response)
+      throws IOException {
+    ctx.res.setContentLengthLong(response.sszSize);
+    try {
+      response.output.writeTo(ctx.res.getOutputStream());
+    } catch (final IOException | RuntimeException e) {
+      if (!ctx.res.isCommitted()) {
+        ctx.res.reset();
+        throw e;
+      }
+      LOG.warn("Failed to write SSZ response, aborting it", e);
+      if (ctx.res instanceof Response) {
+        ((Response) ctx.res).getHttpChannel().abort(e);
+      } else {
+        throw e;
+      }
+    }
+  }
+
   protected void handlePostDataResult(
       final Context ctx, final SafeFuture<Optional<PostDataFailureResponse>> result) {
     ctx.future(
@@ -166,8 +200,8 @@ public abstract class AbstractHandler implements Handler {
 
   @FunctionalInterface
   public interface ResultSszProcessor<T> {
-    // Process result, returning an optional Ssz byte stream response
-    Optional<ByteArrayInputStream> process(Context context, T result) throws Exception;
+    // Process result, returning an optional Ssz response to stream
+    Optional<SszResponse> process(Context context, T result) throws Exception;
   }
 
   @FunctionalInterface
@@ -14,6 +14,7 @@
 package tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon;
 
 import static tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler.routeWithBracedParameters;
+import static tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler.writeSszResponse;
 import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
 import static tech.pegasys.teku.infrastructure.http.RestApiConstants.CACHE_NONE;
 import static tech.pegasys.teku.infrastructure.http.RestApiConstants.PARAM_BLOCK_ID;
@@ -98,7 +99,8 @@ public class GetStateByBlockRoot implements Handler {
               ctx.header(
                   "Content-Disposition", "filename=\"" + sszResponse.abbreviatedHash + ".ssz\"");
               ctx.contentType("application/octet-stream");
-              return sszResponse.byteStream;
+              writeSszResponse(ctx, sszResponse);
+              return null;
             }));
   }
 }
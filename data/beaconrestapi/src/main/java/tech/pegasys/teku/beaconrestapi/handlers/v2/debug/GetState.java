@@ -36,7 +36,6 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
-import java.io.ByteArrayInputStream;
 import java.util.Map;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -107,10 +106,9 @@ public class GetState extends AbstractHandler implements Handler {
     return response.abbreviatedHash + ".ssz";
   }
 
-  private Optional<ByteArrayInputStream> handleSszResult(
-      final Context ctx, final SszResponse response) {
+  private Optional<SszResponse> handleSszResult(final Context ctx, final SszResponse response) {
     ctx.header(HEADER_CONSENSUS_VERSION, response.version.name());
-    return Optional.of(response.byteStream);
+    return Optional.of(response);
   }
 
   private Optional<String> handleJsonResult(Context ctx, final BeaconState response)
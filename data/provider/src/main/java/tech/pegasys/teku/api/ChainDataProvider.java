@@ -21,7 +21,7 @@ import static tech.pegasys.teku.spec.config.SpecConfig.FAR_FUTURE_EPOCH;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
-import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -141,7 +141,8 @@ public class ChainDataProvider {
                 maybeBlock.map(
                     block ->
                         new SszResponse(
-                            new ByteArrayInputStream(block.sszSerialize().toArrayUnsafe()),
+                            outputStream -> block.sszSerialize(Channels.newChannel(outputStream)),
+                            block.getSszSize(),
                             block.hashTreeRoot().toUnprefixedHexString(),
                             spec.atSlot(block.getSlot()).getMilestone())));
   }
@@ -201,7 +202,8 @@ public class ChainDataProvider {
                 maybeState.map(
                     state ->
                         new SszResponse(
-                            new ByteArrayInputStream(state.sszSerialize().toArrayUnsafe()),
+                            outputStream -> state.sszSerialize(Channels.newChannel(outputStream)),
+                            state.getSszSize(),
                             state.hashTreeRoot().toUnprefixedHexString(),
                             spec.atSlot(state.getSlot()).getMilestone())));
   }
@@ -237,7 +239,8 @@ public class ChainDataProvider {
                 maybeState.map(
                     state ->
                         new SszResponse(
-                            new ByteArrayInputStream(state.sszSerialize().toArrayUnsafe()),
+                            outputStream -> state.sszSerialize(Channels.newChannel(outputStream)),
+                            state.getSszSize(),
                             state.hashTreeRoot().toUnprefixedHexString(),
                             spec.atSlot(state.getSlot()).getMilestone())));
   }
@@ -13,21 +13,31 @@
 
 package tech.pegasys.teku.api.response;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import tech.pegasys.teku.api.schema.Version;
 import tech.pegasys.teku.spec.SpecMilestone;
 
 public class SszResponse {
-  public final ByteArrayInputStream byteStream;
+  public final SszOutput output;
+  public final long sszSize;
   public final Version version;
   public final String abbreviatedHash;
 
   public SszResponse(
-      final ByteArrayInputStream byteStream,
+      final SszOutput output,
+      final long sszSize,
       final String abbreviatedHash,
       final SpecMilestone specMilestone) {
-    this.byteStream = byteStream;
+    this.output = output;
+    this.sszSize = sszSize;
     this.abbreviatedHash = abbreviatedHash;
     this.version = Version.fromMilestone(specMilestone);
   }
+
+  /** Writes the SSZ bytes of the response, streaming them rather than buffering them all */
+  @FunctionalInterface
+  public interface SszOutput {
+    void writeTo(OutputStream outputStream) throws IOException;
+  }
 }
@@ -24,6 +24,7 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
 
 @State(Scope.Thread)
 public class Sha256Benchmark {
@@ -32,6 +33,11 @@ public class Sha256Benchmark {
   private byte[] dataArray = new byte[33];
   private int cnt = 0;
 
+  private final Bytes32 left = Bytes32.random();
+  private final Bytes32 right = Bytes32.random();
+  private final byte[] pairArray = Bytes.concatenate(left, right).toArray();
+  private final byte[] outArray = new byte[32];
+
   @Benchmark
   @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
   @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
@@ -51,4 +57,26 @@ public class Sha256Benchmark {
     byte[] hash = Hash.sha256(dataArray).toArrayUnsafe();
     bh.consume(hash);
   }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256ofPairMessageDigest(Blackhole bh) {
+    bh.consume(Hash.sha256((Bytes) left, right));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256ofPairHasher(Blackhole bh) {
+    bh.consume(Hash.sha256Pair(left, right));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256ofPairHasherToBuffer(Blackhole bh) {
+    Sha256PairHasher.getThreadLocal().hash64(pairArray, 0, outArray, 0);
+    bh.consume(outArray);
+  }
 }
@@ -60,4 +60,19 @@ public class ShuffleBenchmark {
     miscHelpers.shuffleList(indexes, seed);
     bh.consume(indexes);
   }
+
+  @Benchmark
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public void shuffledListMainnetBench(MainnetValidators validators, Blackhole bh) {
+    int[] indexes = IntStream.range(0, validators.activeValidatorCount).toArray();
+    miscHelpers.shuffleList(indexes, seed);
+    bh.consume(indexes);
+  }
+
+  @State(Scope.Thread)
+  public static class MainnetValidators {
+    @Param({"400000"})
+    int activeValidatorCount;
+  }
 }
@@ -81,7 +81,6 @@ public class TransitionCachesBenchmark {
       fullCache.getValidatorIndexCache().invalidateWithNewValue(publicKey, validatorIdx);
     }
 
-    fullCache.getBeaconProposerIndex().invalidateWithNewValue(UInt64.ONE, 0x777);
     fullCache.getTotalActiveBalance().invalidateWithNewValue(UInt64.ZERO, UInt64.ZERO);
     fullCache.getTotalActiveBalance().invalidateWithNewValue(UInt64.ONE, UInt64.ZERO);
     fullCache.getCommitteeShuffle().invalidateWithNewValue(Bytes32.random(), SOME_INT_LIST);
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks.util.backing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSTestUtil;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchema;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+/**
+ * Measures the SSZ tree operations which dominate state handling at mainnet validator counts:
+ * hashing after epoch-like mutations, committing list updates and (de)serializing the state.
+ *
+ * <p>Run with {@code -prof gc} to see the allocations per operation: {@code gc.alloc.rate.norm} of
+ * {@link #deserializeFromMappedFile} approximates the memory taken by a single loaded state
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {"-Xmx12g"})
+public class BeaconStateTreeBenchmark {
+
+  private static final BLSPublicKey PUBKEY = BLSTestUtil.randomPublicKey(0);
+
+  @Param({"300000", "1000000"})
+  int validatorsCount;
+
+  /** Share of validators touched by the mutation: 1 - every validator, 64 - every 64th one */
+  @Param({"1", "64"})
+  int updateStride;
+
+  private Spec spec;
+  private BeaconStateAltair state;
+  private Bytes stateSsz;
+  private Path stateFile;
+  private FileChannel stateFileChannel;
+  private ByteBuffer mappedStateSsz;
+
+  private SszSchema<?> balancesSchema;
+  private SszUInt64List balances;
+
+  @Setup(Level.Trial)
+  public void init() throws IOException {
+    spec = TestSpecFactory.createMainnetAltair();
+    final DataStructureUtil dataStructureUtil =
+        new DataStructureUtil(0, spec).withPubKeyGenerator(() -> PUBKEY);
+    state =
+        BeaconStateAltair.required(dataStructureUtil.randomBeaconState(validatorsCount))
+            .updatedAltair(
+                s -> {
+                  final SszMutableUInt64List mutableBalances = s.getBalances();
+                  final SszMutableUInt64List inactivityScores = s.getInactivityScores();
+                  inactivityScores.clear();
+                  for (int i = 0; i < validatorsCount; i++) {
+                    mutableBalances.setElement(i, UInt64.valueOf(32_000_000_000L + i));
+                    inactivityScores.appendElement(UInt64.ZERO);
+                  }
+                });
+    state.hashTreeRoot();
+
+    balances = state.getBalances();
+    balancesSchema = balances.getSchema();
+
+    stateSsz = state.sszSerialize();
+    stateFile = Files.createTempFile("state", ".ssz");
+    Files.write(stateFile, stateSsz.toArrayUnsafe());
+    stateFileChannel = FileChannel.open(stateFile, StandardOpenOption.READ);
+    mappedStateSsz = stateFileChannel.map(FileChannel.MapMode.READ_ONLY, 0, stateSsz.size());
+  }
+
+  @TearDown(Level.Trial)
+  public void dispose() throws IOException {
+    stateFileChannel.close();
+    Files.deleteIfExists(stateFile);
+  }
+
+  /**
+   * Applies balance and inactivity score changes similar to the rewards and penalties processing
+   */
+  private BeaconState applyEpochMutations() {
+    return state.updatedAltair(
+        s -> {
+          final SszMutableUInt64List mutableBalances = s.getBalances();
+          final SszMutableUInt64List inactivityScores = s.getInactivityScores();
+          for (int i = 0; i < validatorsCount; i += updateStride) {
+            mutableBalances.setElement(i, mutableBalances.getElement(i).plus(17));
+            inactivityScores.setElement(i, inactivityScores.getElement(i).plus(1));
+          }
+        });
+  }
+
+  @Benchmark
+  public void hashTreeRootAfterEpochMutations(Blackhole bh) {
+    bh.consume(applyEpochMutations().hashTreeRoot());
+  }
+
+  @Benchmark
+  public void parallelHashTreeRootAfterEpochMutations(Blackhole bh) {
+    bh.consume(applyEpochMutations().parallelHashTreeRoot());
+  }
+
+  @Benchmark
+  public void commitBalancesUpdates(Blackhole bh) {
+    final SszMutableUInt64List mutableBalances = balances.createWritableCopy();
+    for (int i = 0; i < validatorsCount; i += updateStride) {
+      mutableBalances.setElement(i, UInt64.valueOf(i));
+    }
+    bh.consume(mutableBalances.commitChanges());
+  }
+
+  @Benchmark
+  public void deserializeBalances(Blackhole bh) {
+    bh.consume(balancesSchema.sszDeserialize(balances.sszSerialize()));
+  }
+
+  @Benchmark
+  public void deserializeFromBytes(Blackhole bh) {
+    bh.consume(spec.deserializeBeaconState(stateSsz));
+  }
+
+  @Benchmark
+  public void deserializeFromMappedFile(Blackhole bh) {
+    bh.consume(spec.deserializeBeaconState(mappedStateSsz));
+  }
+
+  @Benchmark
+  public void serializeToBytes(Blackhole bh) {
+    bh.consume(state.sszSerialize());
+  }
+}
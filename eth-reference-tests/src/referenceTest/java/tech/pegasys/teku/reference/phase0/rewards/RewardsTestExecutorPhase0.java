@@ -63,40 +63,40 @@ public class RewardsTestExecutorPhase0 implements TestExecutor {
         "head_deltas.ssz_snappy",
         apply(
             calculator,
-            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+            (deltas, totalBalances, finalityDelay, validator, baseReward, index) ->
                 calculator.applyHeadDelta(
-                    validator, baseReward, totalBalances, finalityDelay, delta)));
+                    validator, baseReward, totalBalances, finalityDelay, deltas, index)));
     assertDeltas(
         testDefinition,
         "inactivity_penalty_deltas.ssz_snappy",
         apply(
             calculator,
-            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+            (deltas, totalBalances, finalityDelay, validator, baseReward, index) ->
                 calculator.applyInactivityPenaltyDelta(
-                    validator, baseReward, finalityDelay, delta)));
+                    validator, baseReward, finalityDelay, deltas, index)));
     assertDeltas(
         testDefinition,
         "inclusion_delay_deltas.ssz_snappy",
         apply(
             calculator,
-            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
-                calculator.applyInclusionDelayDelta(validator, baseReward, delta, deltas)));
+            (deltas, totalBalances, finalityDelay, validator, baseReward, index) ->
+                calculator.applyInclusionDelayDelta(validator, baseReward, deltas, index)));
     assertDeltas(
         testDefinition,
         "source_deltas.ssz_snappy",
         apply(
             calculator,
-            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+            (deltas, totalBalances, finalityDelay, validator, baseReward, index) ->
                 calculator.applySourceDelta(
-                    validator, baseReward, totalBalances, finalityDelay, delta)));
+                    validator, baseReward, totalBalances, finalityDelay, deltas, index)));
     assertDeltas(
         testDefinition,
         "target_deltas.ssz_snappy",
         apply(
             calculator,
-            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+            (deltas, totalBalances, finalityDelay, validator, baseReward, index) ->
                 calculator.applyTargetDelta(
-                    validator, baseReward, totalBalances, finalityDelay, delta)));
+                    validator, baseReward, totalBalances, finalityDelay, deltas, index)));
   }
 
   private Supplier<RewardAndPenaltyDeltas> apply(
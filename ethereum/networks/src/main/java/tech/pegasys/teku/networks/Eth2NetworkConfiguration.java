@@ -16,6 +16,7 @@ package tech.pegasys.teku.networks;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Arrays.asList;
+import static tech.pegasys.teku.spec.constants.NetworkConstants.DEFAULT_EPOCH_PROCESSING_PARALLELISM;
 import static tech.pegasys.teku.spec.constants.NetworkConstants.DEFAULT_SAFE_SLOTS_TO_IMPORT_OPTIMISTICALLY;
 import static tech.pegasys.teku.spec.networks.Eth2Network.KINTSUGI;
 import static tech.pegasys.teku.spec.networks.Eth2Network.LESS_SWIFT;
@@ -193,6 +194,7 @@ public class Eth2NetworkConfiguration {
     private Optional<UInt256> totalTerminalDifficultyOverride = Optional.empty();
     private Optional<UInt64> terminalBlockHashEpochOverride = Optional.empty();
     private int safeSlotsToImportOptimistically = DEFAULT_SAFE_SLOTS_TO_IMPORT_OPTIMISTICALLY;
+    private int epochProcessingParallelism = DEFAULT_EPOCH_PROCESSING_PARALLELISM;
     private Spec spec;
 
     public void spec(Spec spec) {
@@ -208,6 +210,7 @@ public class Eth2NetworkConfiguration {
             SpecFactory.create(
                 constants,
                 builder -> {
+                  builder.epochProcessingParallelism(epochProcessingParallelism);
                   altairForkEpoch.ifPresent(
                       forkEpoch ->
                           builder.altairBuilder(
@@ -336,6 +339,15 @@ public class Eth2NetworkConfiguration {
       return this;
     }
 
+    public Builder epochProcessingParallelism(final int epochProcessingParallelism) {
+      if (epochProcessingParallelism < 1) {
+        throw new InvalidConfigurationException(
+            String.format("Invalid epochProcessingParallelism: %d", epochProcessingParallelism));
+      }
+      this.epochProcessingParallelism = epochProcessingParallelism;
+      return this;
+    }
+
     public Builder totalTerminalDifficultyOverride(final UInt256 totalTerminalDifficultyOverride) {
       this.totalTerminalDifficultyOverride = Optional.of(totalTerminalDifficultyOverride);
       return this;
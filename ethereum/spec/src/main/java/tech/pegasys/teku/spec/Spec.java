@@ -15,13 +15,16 @@ package tech.pegasys.teku.spec;
 
 import com.google.common.base.Preconditions;
 import it.unimi.dsi.fastutil.ints.IntList;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.annotation.CheckReturnValue;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -29,6 +32,7 @@ import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszBitlist;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.infrastructure.ssz.type.Bytes4;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.cache.IndexedAttestationCache;
@@ -57,6 +61,10 @@ import tech.pegasys.teku.spec.datastructures.state.CommitteeAssignment;
 import tech.pegasys.teku.spec.datastructures.state.Fork;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.BeaconStateInvariants;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochContextCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ShufflingCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPubKeyIndex;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPubKeyTable;
 import tech.pegasys.teku.spec.datastructures.util.AttestationProcessingResult;
 import tech.pegasys.teku.spec.datastructures.util.ForkAndSpecMilestone;
 import tech.pegasys.teku.spec.genesis.GenesisGenerator;
@@ -64,6 +72,7 @@ import tech.pegasys.teku.spec.logic.StateTransition;
 import tech.pegasys.teku.spec.logic.common.block.BlockProcessor;
 import tech.pegasys.teku.spec.logic.common.operations.validation.OperationInvalidReason;
 import tech.pegasys.teku.spec.logic.common.statetransition.attestation.AttestationWorthinessChecker;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.EpochProcessingMetrics.PhaseDurationListener;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.BlockProcessingException;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.SlotProcessingException;
@@ -71,6 +80,7 @@ import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.StateTrans
 import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.spec.logic.common.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.logic.common.util.SyncCommitteeUtil;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
 import tech.pegasys.teku.spec.logic.versions.bellatrix.block.OptimisticExecutionPayloadExecutor;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitions;
 
@@ -131,6 +141,65 @@ public class Spec {
     return atSlot(latestSlot);
   }
 
+  /** Reports the duration of each epoch processing phase of every milestone to the listener */
+  public void setEpochProcessingPhaseListener(final PhaseDurationListener listener) {
+    specVersions
+        .values()
+        .forEach(version -> version.getEpochProcessor().setPhaseDurationListener(listener));
+  }
+
+  /**
+   * Splits the per validator epoch processing of every milestone across the pool. The caller keeps
+   * ownership of the pool and is responsible for shutting it down.
+   */
+  public void setEpochProcessingPool(final ForkJoinPool pool) {
+    specVersions
+        .values()
+        .forEach(version -> version.getEpochProcessor().setParallelExecutionPool(pool));
+  }
+
+  /** Looks validator indices of every milestone up in the node wide index */
+  public void setValidatorPubKeyIndex(final ValidatorPubKeyIndex validatorPubKeyIndex) {
+    specVersions
+        .values()
+        .forEach(
+            version -> version.getValidatorsUtil().setValidatorPubKeyIndex(validatorPubKeyIndex));
+  }
+
+  /** Looks validator public keys of every milestone up in the node wide table */
+  public void setValidatorPubKeyTable(final ValidatorPubKeyTable validatorPubKeyTable) {
+    specVersions
+        .values()
+        .forEach(
+            version ->
+                version.beaconStateAccessors().setValidatorPubKeyTable(validatorPubKeyTable));
+  }
+
+  /**
+   * Shares the cache of verified aggregate signatures with the block processing of every milestone
+   */
+  public void setVerifiedSignatureCache(final VerifiedSignatureCache verifiedSignatureCache) {
+    specVersions
+        .values()
+        .forEach(
+            version ->
+                version.getBlockProcessor().setVerifiedSignatureCache(verifiedSignatureCache));
+  }
+
+  /** Shares the epoch contexts computed by every milestone across all the states of the node */
+  public void setEpochContextCache(final EpochContextCache epochContextCache) {
+    specVersions
+        .values()
+        .forEach(version -> version.beaconStateAccessors().setEpochContextCache(epochContextCache));
+  }
+
+  /** The committee shuffling caches of all the milestones of this spec */
+  public List<ShufflingCache> getShufflingCaches() {
+    return specVersions.values().stream()
+        .map(version -> version.miscHelpers().getShufflingCache())
+        .collect(Collectors.toList());
+  }
+
   public SpecConfig getSpecConfig(final UInt64 epoch) {
     return atEpoch(epoch).getConfig();
   }
@@ -250,6 +319,21 @@ public class Spec {
         .sszDeserialize(serializedState);
   }
 
+  /**
+   * Deserializes the state reading the buffer sequentially, so the serialized state (e.g. a memory
+   * mapped file) doesn't need to be copied to heap as a whole. The buffer position is not modified
+   */
+  public BeaconState deserializeBeaconState(final ByteBuffer serializedState) {
+    final UInt64 slot =
+        BeaconStateInvariants.extractSlot(
+            Bytes.wrapByteBuffer(
+                serializedState, serializedState.position(), serializedState.remaining()));
+    return atSlot(slot)
+        .getSchemaDefinitions()
+        .getBeaconStateSchema()
+        .sszDeserialize(SszReader.fromByteBuffer(serializedState));
+  }
+
   public SignedBeaconBlock deserializeSignedBeaconBlock(final Bytes serializedState) {
     final UInt64 slot = BeaconBlockInvariants.extractSignedBeaconBlockSlot(serializedState);
     return atSlot(slot)
@@ -140,6 +140,13 @@ public interface SpecConfig {
 
   Bytes getDepositContractAddress();
 
+  /**
+   * The number of threads the node uses for the per validator computations of epoch processing. Not
+   * a spec constant, 1 processes epochs on the calling thread. The pool itself is owned by the node
+   * and installed with {@link tech.pegasys.teku.spec.Spec#setEpochProcessingPool}.
+   */
+  int getEpochProcessingParallelism();
+
   default Optional<SpecConfigAltair> toVersionAltair() {
     return Optional.empty();
   }
@@ -16,6 +16,7 @@ package tech.pegasys.teku.spec.config;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static tech.pegasys.teku.spec.config.SpecConfigFormatter.camelToSnakeCase;
+import static tech.pegasys.teku.spec.constants.NetworkConstants.DEFAULT_EPOCH_PROCESSING_PARALLELISM;
 import static tech.pegasys.teku.spec.constants.NetworkConstants.DEFAULT_SAFE_SLOTS_TO_IMPORT_OPTIMISTICALLY;
 
 import java.math.BigInteger;
@@ -102,6 +103,9 @@ public class SpecConfigBuilder {
   private Integer depositNetworkId;
   private Bytes depositContractAddress;
 
+  // Processing, not part of the spec
+  private int epochProcessingParallelism = DEFAULT_EPOCH_PROCESSING_PARALLELISM;
+
   // Altair
   private Optional<AltairBuilder> altairBuilder = Optional.empty();
 
@@ -161,7 +165,8 @@ public class SpecConfigBuilder {
             proposerScoreBoost,
             depositChainId,
             depositNetworkId,
-            depositContractAddress);
+            depositContractAddress,
+            epochProcessingParallelism);
 
     if (altairBuilder.isPresent()) {
       final SpecConfigAltair altairConfig = altairBuilder.get().build(config);
@@ -223,6 +228,10 @@ public class SpecConfigBuilder {
     validateConstant("depositChainId", depositChainId);
     validateConstant("depositNetworkId", depositNetworkId);
     validateConstant("depositContractAddress", depositContractAddress);
+    checkArgument(
+        epochProcessingParallelism > 0,
+        "Epoch processing parallelism must be positive but was %s",
+        epochProcessingParallelism);
 
     altairBuilder.ifPresent(AltairBuilder::validate);
     bellatrixBuilder
@@ -534,6 +543,12 @@ public class SpecConfigBuilder {
     return this;
   }
 
+  public SpecConfigBuilder epochProcessingParallelism(final Integer epochProcessingParallelism) {
+    checkNotNull(epochProcessingParallelism);
+    this.epochProcessingParallelism = epochProcessingParallelism;
+    return this;
+  }
+
   public SpecConfigBuilder depositChainId(final Integer depositChainId) {
     checkNotNull(depositChainId);
     this.depositChainId = depositChainId;
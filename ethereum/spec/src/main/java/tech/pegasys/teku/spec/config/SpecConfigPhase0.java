@@ -99,6 +99,9 @@ public class SpecConfigPhase0 implements SpecConfig {
   private final int depositNetworkId;
   private final Bytes depositContractAddress;
 
+  // Processing
+  private final int epochProcessingParallelism;
+
   public SpecConfigPhase0(
       final Map<String, Object> rawConfig,
       final UInt64 eth1FollowDistance,
@@ -149,7 +152,8 @@ public class SpecConfigPhase0 implements SpecConfig {
       final int proposerScoreBoost,
       final int depositChainId,
       final int depositNetworkId,
-      final Bytes depositContractAddress) {
+      final Bytes depositContractAddress,
+      final int epochProcessingParallelism) {
     this.rawConfig = rawConfig;
     this.eth1FollowDistance = eth1FollowDistance;
     this.maxCommitteesPerSlot = maxCommitteesPerSlot;
@@ -200,6 +204,7 @@ public class SpecConfigPhase0 implements SpecConfig {
     this.depositChainId = depositChainId;
     this.depositNetworkId = depositNetworkId;
     this.depositContractAddress = depositContractAddress;
+    this.epochProcessingParallelism = epochProcessingParallelism;
     this.squareRootSlotsPerEpoch = MathHelpers.integerSquareRoot(slotsPerEpoch);
   }
 
@@ -463,6 +468,11 @@ public class SpecConfigPhase0 implements SpecConfig {
     return proposerScoreBoost;
   }
 
+  @Override
+  public int getEpochProcessingParallelism() {
+    return epochProcessingParallelism;
+  }
+
   @Override
   public int getDepositChainId() {
     return depositChainId;
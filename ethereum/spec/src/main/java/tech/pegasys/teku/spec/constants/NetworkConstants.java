@@ -22,4 +22,5 @@ public class NetworkConstants {
   public static final int DEPOSIT_CONTRACT_TREE_DEPTH = 32;
   public static final int INTERVALS_PER_SLOT = 3;
   public static final int DEFAULT_SAFE_SLOTS_TO_IMPORT_OPTIMISTICALLY = 128;
+  public static final int DEFAULT_EPOCH_PROCESSING_PARALLELISM = 1;
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Immutable snapshot of everything which is fixed for the whole epoch once the state is in it: all
+ * beacon committees, all beacon proposers and the total active balance.
+ *
+ * <p>All of these depend only on the state at the start of the epoch, which is determined by the
+ * last block before the epoch (the dependent root). So a single instance is computed per (epoch,
+ * dependent root) and is shared by all the states having it, turning the lookups into plain array
+ * accesses.
+ *
+ * <p>The aggregate public keys of the committees are computed lazily on the first request as only
+ * the committees with many attesters benefit from them.
+ */
+public final class EpochContext {
+
+  private final UInt64 epoch;
+  private final Bytes32 dependentRoot;
+  private final UInt64 startSlot;
+  private final int committeeCountPerSlot;
+  private final IntList[] committees;
+  private final int[] proposerIndices;
+  private final UInt64 totalActiveBalance;
+  private final AtomicReferenceArray<BLSPublicKey> committeeAggregatePubKeys;
+
+  /**
+   * @param committees all the committees of the epoch ordered by slot and then by index
+   * @param proposerIndices the proposer indices of all the slots of the epoch or an empty array if
+   *     there are no active validators to select the proposers from
+   */
+  public EpochContext(
+      final UInt64 epoch,
+      final Bytes32 dependentRoot,
+      final UInt64 startSlot,
+      final int committeeCountPerSlot,
+      final IntList[] committees,
+      final int[] proposerIndices,
+      final UInt64 totalActiveBalance) {
+    this.epoch = epoch;
+    this.dependentRoot = dependentRoot;
+    this.startSlot = startSlot;
+    this.committeeCountPerSlot = committeeCountPerSlot;
+    this.committees = committees;
+    this.proposerIndices = proposerIndices;
+    this.totalActiveBalance = totalActiveBalance;
+    this.committeeAggregatePubKeys = new AtomicReferenceArray<>(committees.length);
+  }
+
+  public UInt64 getEpoch() {
+    return epoch;
+  }
+
+  public Bytes32 getDependentRoot() {
+    return dependentRoot;
+  }
+
+  public int getCommitteeCountPerSlot() {
+    return committeeCountPerSlot;
+  }
+
+  /** The total number of committees in the epoch */
+  public int getCommitteeCount() {
+    return committees.length;
+  }
+
+  /**
+   * Returns the committee by its index within the epoch, i.e. {@code slotOffset *
+   * committeeCountPerSlot + committeeIndex}
+   */
+  public IntList getCommittee(final int epochCommitteeIndex) {
+    return committees[epochCommitteeIndex];
+  }
+
+  /**
+   * Returns the aggregate of the public keys of all the members of the committee, aggregating them
+   * on the first request
+   *
+   * @param epochCommitteeIndex the index of the committee within the epoch
+   * @param pubKeyLookup returns the public key of a validator by its index
+   */
+  public BLSPublicKey getCommitteeAggregatePubKey(
+      final int epochCommitteeIndex, final IntFunction<BLSPublicKey> pubKeyLookup) {
+    BLSPublicKey aggregate = committeeAggregatePubKeys.get(epochCommitteeIndex);
+    if (aggregate == null) {
+      // Concurrent requests may aggregate the same keys, but the result is the same anyway
+      final IntList committee = committees[epochCommitteeIndex];
+      final List<BLSPublicKey> publicKeys = new ArrayList<>(committee.size());
+      for (int i = 0; i < committee.size(); i++) {
+        publicKeys.add(pubKeyLookup.apply(committee.getInt(i)));
+      }
+      aggregate = BLSPublicKey.aggregate(publicKeys);
+      committeeAggregatePubKeys.set(epochCommitteeIndex, aggregate);
+    }
+    return aggregate;
+  }
+
+  public int getBeaconProposerIndex(final UInt64 slot) {
+    checkArgument(
+        proposerIndices.length > 0, "No active validators to select a proposer from in %s", epoch);
+    checkArgument(
+        slot.isGreaterThanOrEqualTo(startSlot)
+            && slot.isLessThan(startSlot.plus(proposerIndices.length)),
+        "Slot %s is outside of epoch %s",
+        slot,
+        epoch);
+    return proposerIndices[slot.minus(startSlot).intValue()];
+  }
+
+  public UInt64 getTotalActiveBalance() {
+    return totalActiveBalance;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("epoch", epoch)
+        .add("dependentRoot", dependentRoot)
+        .add("committeeCount", committees.length)
+        .toString();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.collections.TekuPair;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * (epoch, dependent root) -> {@link EpochContext} cache shared by all the states of a node, unlike
+ * the per state lineage {@link TransitionCaches#getEpochContexts()}. States of competing forks
+ * building on the same block before the epoch, and states loaded from the database or regenerated
+ * for API requests, get the context computed for any of them.
+ *
+ * <p>The instance is owned by the node and injected with {@link
+ * tech.pegasys.teku.spec.Spec#setEpochContextCache(EpochContextCache)}. Contexts of epochs before
+ * the latest finalized epoch are dropped and the total number of contexts is bounded, dropping the
+ * ones of the oldest epochs first.
+ */
+public class EpochContextCache {
+
+  public static final int DEFAULT_MAX_SIZE = 8;
+
+  private final Map<TekuPair<UInt64, Bytes32>, EpochContext> contexts = new ConcurrentHashMap<>();
+  private final int maxSize;
+  private volatile UInt64 finalizedEpoch = UInt64.ZERO;
+
+  public EpochContextCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public EpochContextCache(final int maxSize) {
+    checkArgument(maxSize > 0, "Invalid max size: %s", maxSize);
+    this.maxSize = maxSize;
+  }
+
+  /** Returns the cached context of the epoch and dependent root or computes and caches a new one */
+  public EpochContext get(
+      final UInt64 epoch, final Bytes32 dependentRoot, final Supplier<EpochContext> computer) {
+    final TekuPair<UInt64, Bytes32> key = TekuPair.of(epoch, dependentRoot);
+    final EpochContext existing = contexts.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    final EpochContext context = computer.get();
+    if (epoch.isGreaterThanOrEqualTo(finalizedEpoch)) {
+      contexts.put(key, context);
+      evictOldest();
+    }
+    return context;
+  }
+
+  /** Returns the context of the epoch and dependent root if it was already computed */
+  public Optional<EpochContext> getCached(final UInt64 epoch, final Bytes32 dependentRoot) {
+    return Optional.ofNullable(contexts.get(TekuPair.of(epoch, dependentRoot)));
+  }
+
+  /** Drops the contexts which are not needed anymore once the epoch is finalized */
+  public void onFinalizedEpoch(final UInt64 epoch) {
+    finalizedEpoch = epoch;
+    contexts.keySet().removeIf(key -> key.getLeft().isLessThan(epoch));
+  }
+
+  private void evictOldest() {
+    while (contexts.size() > maxSize) {
+      contexts.keySet().stream()
+          .min(Comparator.comparing(TekuPair::getLeft))
+          .ifPresent(contexts::remove);
+    }
+  }
+
+  /** The current number of cached contexts */
+  public int size() {
+    return contexts.size();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import com.google.common.base.MoreObjects;
+import java.util.Arrays;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszByte;
+import tech.pegasys.teku.spec.constants.ParticipationFlags;
+
+/**
+ * Immutable number of validators having each participation flag set in an epoch participation list
+ * (Altair+) and the number of validators having any flag set.
+ *
+ * <p>An instance is computed once from the list and then kept up to date as attestations are
+ * processed (see {@link TransitionCaches#getCurrentEpochParticipationCounts()}), so the counts
+ * don't require a scan of all the validators.
+ */
+public final class EpochParticipationCounts {
+
+  private static final int FLAG_COUNT = ParticipationFlags.TIMELY_HEAD_FLAG_INDEX + 1;
+
+  /** The counts of a list without any flags set, e.g. right after the epoch transition */
+  public static final EpochParticipationCounts ZERO =
+      new EpochParticipationCounts(new int[FLAG_COUNT], 0);
+
+  private final int[] flagCounts;
+  private final int anyFlagCount;
+
+  private EpochParticipationCounts(final int[] flagCounts, final int anyFlagCount) {
+    this.flagCounts = flagCounts;
+    this.anyFlagCount = anyFlagCount;
+  }
+
+  public static EpochParticipationCounts count(final SszList<SszByte> epochParticipation) {
+    final Builder builder = ZERO.toBuilder();
+    for (SszByte participationFlags : epochParticipation) {
+      builder.updateFlags((byte) 0, participationFlags.get());
+    }
+    return builder.build();
+  }
+
+  /** The number of validators having the flag with the specified index set */
+  public int getFlagCount(final int flagIndex) {
+    return flagCounts[flagIndex];
+  }
+
+  /** The number of validators having at least one flag set */
+  public int getAnyFlagCount() {
+    return anyFlagCount;
+  }
+
+  public Builder toBuilder() {
+    return new Builder(flagCounts.clone(), anyFlagCount);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final EpochParticipationCounts that = (EpochParticipationCounts) o;
+    return anyFlagCount == that.anyFlagCount && Arrays.equals(flagCounts, that.flagCounts);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(flagCounts) + anyFlagCount;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("flagCounts", Arrays.toString(flagCounts))
+        .add("anyFlagCount", anyFlagCount)
+        .toString();
+  }
+
+  public static class Builder {
+    private final int[] flagCounts;
+    private int anyFlagCount;
+
+    private Builder(final int[] flagCounts, final int anyFlagCount) {
+      this.flagCounts = flagCounts;
+      this.anyFlagCount = anyFlagCount;
+    }
+
+    /** Accounts for the change of the flags of a single validator */
+    public Builder updateFlags(final byte oldFlags, final byte newFlags) {
+      for (int flagIndex = 0; flagIndex < FLAG_COUNT; flagIndex++) {
+        final int flag = ParticipationFlags.indexToFlag(flagIndex);
+        flagCounts[flagIndex] +=
+            ((newFlags & flag) != 0 ? 1 : 0) - ((oldFlags & flag) != 0 ? 1 : 0);
+      }
+      anyFlagCount +=
+          (ParticipationFlags.isAnyFlagSet(newFlags) ? 1 : 0)
+              - (ParticipationFlags.isAnyFlagSet(oldFlags) ? 1 : 0);
+      return this;
+    }
+
+    public EpochParticipationCounts build() {
+      return new EpochParticipationCounts(flagCounts.clone(), anyFlagCount);
+    }
+  }
+}
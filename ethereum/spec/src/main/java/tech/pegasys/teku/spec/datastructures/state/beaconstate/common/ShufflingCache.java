@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.collections.TekuPair;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * (epoch, seed) -> (committee shuffling) cache shared by all the states of a spec version, unlike
+ * the per state lineage {@link TransitionCaches#getCommitteeShuffle()}. States loaded from the
+ * database or regenerated for API requests and states of competing forks typically share the
+ * shuffling, so it is computed just once.
+ *
+ * <p>The shuffling also depends on the shuffle round count of the spec config, so each {@link
+ * tech.pegasys.teku.spec.logic.common.helpers.MiscHelpers} owns its own cache rather than sharing
+ * one with specs of other networks in the same JVM.
+ *
+ * <p>A shuffling is returned only if it was computed from the same active validator indices, so a
+ * seed collision can't result in a wrong shuffling. Shufflings of epochs before the latest
+ * finalized epoch are dropped and the total number of shufflings is bounded, dropping the ones of
+ * the oldest epochs first.
+ */
+public class ShufflingCache {
+
+  public static final int DEFAULT_MAX_SIZE = 8;
+
+  private static final Runnable NOOP = () -> {};
+
+  private final Map<TekuPair<UInt64, Bytes32>, Shuffling> shufflings = new ConcurrentHashMap<>();
+  private final int maxSize;
+  private volatile UInt64 finalizedEpoch = UInt64.ZERO;
+  private volatile Runnable hitListener = NOOP;
+  private volatile Runnable missListener = NOOP;
+
+  public ShufflingCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  @VisibleForTesting
+  ShufflingCache(final int maxSize) {
+    checkArgument(maxSize > 0, "Invalid max size: %s", maxSize);
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Installs the listeners notified whenever an already computed shuffling is reused and whenever a
+   * new shuffling has to be computed
+   */
+  public void setListeners(final Runnable hitListener, final Runnable missListener) {
+    this.hitListener = hitListener;
+    this.missListener = missListener;
+  }
+
+  /**
+   * Returns the cached shuffling of the active validator indices for the epoch and seed or computes
+   * and caches a new one
+   */
+  public IntList get(
+      final UInt64 epoch,
+      final Bytes32 seed,
+      final IntList activeValidatorIndices,
+      final Supplier<IntList> shuffler) {
+    final TekuPair<UInt64, Bytes32> key = TekuPair.of(epoch, seed);
+    final Shuffling existing = shufflings.get(key);
+    if (existing != null && existing.activeValidatorIndices.equals(activeValidatorIndices)) {
+      hitListener.run();
+      return existing.shuffling;
+    }
+    missListener.run();
+    final IntList shuffling = shuffler.get();
+    if (epoch.isGreaterThanOrEqualTo(finalizedEpoch)) {
+      shufflings.put(key, new Shuffling(activeValidatorIndices, shuffling));
+      evictOldest();
+    }
+    return shuffling;
+  }
+
+  /** Drops the shufflings which are not needed anymore once the epoch is finalized */
+  public void onFinalizedEpoch(final UInt64 epoch) {
+    finalizedEpoch = epoch;
+    shufflings.keySet().removeIf(key -> key.getLeft().isLessThan(epoch));
+  }
+
+  private void evictOldest() {
+    while (shufflings.size() > maxSize) {
+      shufflings.keySet().stream()
+          .min(Comparator.comparing(TekuPair::getLeft))
+          .ifPresent(shufflings::remove);
+    }
+  }
+
+  /** The current number of cached shufflings */
+  public int size() {
+    return shufflings.size();
+  }
+
+  private static class Shuffling {
+    private final IntList activeValidatorIndices;
+    private final IntList shuffling;
+
+    private Shuffling(final IntList activeValidatorIndices, final IntList shuffling) {
+      this.activeValidatorIndices = activeValidatorIndices;
+      this.shuffling = shuffling;
+    }
+  }
+}
@@ -31,7 +31,7 @@ import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBal
 public class TransitionCaches {
 
   private static final int MAX_ACTIVE_VALIDATORS_CACHE = 8;
-  private static final int MAX_BEACON_PROPOSER_INDEX_CACHE = 1;
+  private static final int MAX_EPOCH_CONTEXT_CACHE = 2;
   private static final int MAX_BEACON_COMMITTEE_CACHE = 64 * 64;
   private static final int MAX_TOTAL_ACTIVE_BALANCE_CACHE = 2;
   private static final int MAX_COMMITTEE_SHUFFLE_CACHE = 2;
@@ -57,6 +57,12 @@ public class TransitionCaches {
         public TransitionCaches copy() {
           return this;
         }
+
+        @Override
+        public void setPreviousEpochParticipationCounts(final EpochParticipationCounts counts) {}
+
+        @Override
+        public void setCurrentEpochParticipationCounts(final EpochParticipationCounts counts) {}
       };
 
   /** Creates new instance with clean caches */
@@ -70,7 +76,7 @@ public class TransitionCaches {
   }
 
   private final Cache<UInt64, IntList> activeValidators;
-  private final Cache<UInt64, Integer> beaconProposerIndex;
+  private final Cache<TekuPair<UInt64, Bytes32>, EpochContext> epochContexts;
   private final Cache<TekuPair<UInt64, UInt64>, IntList> beaconCommittee;
   private final Cache<UInt64, UInt64> attestersTotalBalance;
   private final Cache<UInt64, UInt64> totalActiveBalance;
@@ -83,10 +89,14 @@ public class TransitionCaches {
   private final Cache<UInt64, Map<UInt64, SyncSubcommitteeAssignments>> syncCommitteeCache;
 
   private volatile Optional<TotalBalances> latestTotalBalances = Optional.empty();
+  private volatile Optional<EpochParticipationCounts> previousEpochParticipationCounts =
+      Optional.empty();
+  private volatile Optional<EpochParticipationCounts> currentEpochParticipationCounts =
+      Optional.empty();
 
   private TransitionCaches() {
     activeValidators = LRUCache.create(MAX_ACTIVE_VALIDATORS_CACHE);
-    beaconProposerIndex = LRUCache.create(MAX_BEACON_PROPOSER_INDEX_CACHE);
+    epochContexts = LRUCache.create(MAX_EPOCH_CONTEXT_CACHE);
     beaconCommittee = LRUCache.create(MAX_BEACON_COMMITTEE_CACHE);
     attestersTotalBalance = LRUCache.create(MAX_BEACON_COMMITTEE_CACHE);
     totalActiveBalance = LRUCache.create(MAX_TOTAL_ACTIVE_BALANCE_CACHE);
@@ -100,7 +110,7 @@ public class TransitionCaches {
 
   private TransitionCaches(
       Cache<UInt64, IntList> activeValidators,
-      Cache<UInt64, Integer> beaconProposerIndex,
+      Cache<TekuPair<UInt64, Bytes32>, EpochContext> epochContexts,
       Cache<TekuPair<UInt64, UInt64>, IntList> beaconCommittee,
       Cache<UInt64, UInt64> attestersTotalBalance,
       Cache<UInt64, UInt64> totalActiveBalance,
@@ -111,7 +121,7 @@ public class TransitionCaches {
       Cache<UInt64, Map<UInt64, SyncSubcommitteeAssignments>> syncCommitteeCache,
       Cache<UInt64, UInt64> baseRewardPerIncrement) {
     this.activeValidators = activeValidators;
-    this.beaconProposerIndex = beaconProposerIndex;
+    this.epochContexts = epochContexts;
     this.beaconCommittee = beaconCommittee;
     this.attestersTotalBalance = attestersTotalBalance;
     this.totalActiveBalance = totalActiveBalance;
@@ -131,14 +141,47 @@ public class TransitionCaches {
     return latestTotalBalances;
   }
 
+  /**
+   * The counts of the previous epoch participation flags (Altair+), if they were computed for this
+   * state. When present, they must be updated together with the flags
+   */
+  public Optional<EpochParticipationCounts> getPreviousEpochParticipationCounts() {
+    return previousEpochParticipationCounts;
+  }
+
+  public void setPreviousEpochParticipationCounts(final EpochParticipationCounts counts) {
+    this.previousEpochParticipationCounts = Optional.of(counts);
+  }
+
+  /**
+   * The counts of the current epoch participation flags (Altair+), if they were computed for this
+   * state. When present, they must be updated together with the flags
+   */
+  public Optional<EpochParticipationCounts> getCurrentEpochParticipationCounts() {
+    return currentEpochParticipationCounts;
+  }
+
+  public void setCurrentEpochParticipationCounts(final EpochParticipationCounts counts) {
+    this.currentEpochParticipationCounts = Optional.of(counts);
+  }
+
+  /** Drops the participation counts which will be recomputed when needed */
+  public void clearParticipationCounts() {
+    this.previousEpochParticipationCounts = Optional.empty();
+    this.currentEpochParticipationCounts = Optional.empty();
+  }
+
   /** (epoch) -> (active validators) cache */
   public Cache<UInt64, IntList> getActiveValidators() {
     return activeValidators;
   }
 
-  /** (slot) -> (beacon proposer index) cache */
-  public Cache<UInt64, Integer> getBeaconProposerIndex() {
-    return beaconProposerIndex;
+  /**
+   * (epoch, dependent root) -> (epoch context) cache. The contexts are immutable so copies of this
+   * cache share the same instances
+   */
+  public Cache<TekuPair<UInt64, Bytes32>, EpochContext> getEpochContexts() {
+    return epochContexts;
   }
 
   /** (slot, committeeIndex) -> (committee) cache */
@@ -201,17 +244,22 @@ public class TransitionCaches {
    * returned caches shouldn't affect caches from this instance
    */
   public TransitionCaches copy() {
-    return new TransitionCaches(
-        activeValidators.copy(),
-        beaconProposerIndex.copy(),
-        beaconCommittee.copy(),
-        attestersTotalBalance.copy(),
-        totalActiveBalance.copy(),
-        validatorsPubKeys,
-        validatorIndexCache,
-        committeeShuffle.copy(),
-        effectiveBalances.copy(),
-        syncCommitteeCache.copy(),
-        baseRewardPerIncrement.copy());
+    final TransitionCaches copy =
+        new TransitionCaches(
+            activeValidators.copy(),
+            epochContexts.copy(),
+            beaconCommittee.copy(),
+            attestersTotalBalance.copy(),
+            totalActiveBalance.copy(),
+            validatorsPubKeys,
+            validatorIndexCache,
+            committeeShuffle.copy(),
+            effectiveBalances.copy(),
+            syncCommitteeCache.copy(),
+            baseRewardPerIncrement.copy());
+    // the counts are immutable so can be shared
+    copy.previousEpochParticipationCounts = previousEpochParticipationCounts;
+    copy.currentEpochParticipationCounts = currentEpochParticipationCounts;
+    return copy;
   }
 }
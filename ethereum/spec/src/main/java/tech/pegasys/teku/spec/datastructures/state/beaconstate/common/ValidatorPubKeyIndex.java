@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+
+/**
+ * Append only (public key) -> (validator index) map shared by all the states of a node. Validators
+ * are never removed from the registry and all the states of a chain share the registry prefix, so
+ * unlike the per state lineage {@link ValidatorIndexCache} the validators are indexed just once and
+ * a lookup of an unknown key doesn't scan the registry.
+ *
+ * <p>The map is extended with the validators appended to the registries it is queried with. It can
+ * only answer for a registry which starts with the indexed validators, otherwise (e.g. a state of
+ * another chain) the caller's fallback is used. The instance is owned by the node and injected with
+ * {@link tech.pegasys.teku.spec.Spec#setValidatorPubKeyIndex(ValidatorPubKeyIndex)}
+ */
+public class ValidatorPubKeyIndex {
+
+  private final Map<Bytes48, Integer> indices = new ConcurrentHashMap<>();
+  private volatile int indexedCount = 0;
+
+  /**
+   * Returns the index of the validator with the public key in the registry or the result of the
+   * fallback if the registry is inconsistent with the indexed validators. A returned index is
+   * always checked against the public key of the validator at that index in the registry
+   */
+  public Optional<Integer> getValidatorIndex(
+      final SszList<Validator> validators,
+      final Bytes48 publicKey,
+      final Supplier<Optional<Integer>> fallback) {
+    final Integer index = indices.get(publicKey);
+    if (index != null
+        && index < validators.size()
+        && validators.get(index).getPubkeyBytes().equals(publicKey)) {
+      return Optional.of(index);
+    }
+    if (!update(validators)) {
+      return fallback.get();
+    }
+    final Integer updatedIndex = indices.get(publicKey);
+    if (updatedIndex == null || updatedIndex >= validators.size()) {
+      return Optional.empty();
+    }
+    if (!validators.get(updatedIndex).getPubkeyBytes().equals(publicKey)) {
+      // The registry diverges from the indexed validators before the last one
+      return fallback.get();
+    }
+    return Optional.of(updatedIndex);
+  }
+
+  /**
+   * Indexes the validators appended to the registry since the last update
+   *
+   * @return false if the registry doesn't start with the indexed validators
+   */
+  public boolean update(final SszList<Validator> validators) {
+    final int count = indexedCount;
+    if (!isConsistent(validators, count)) {
+      return false;
+    }
+    if (validators.size() <= count) {
+      return true;
+    }
+    synchronized (this) {
+      if (!isConsistent(validators, indexedCount)) {
+        return false;
+      }
+      for (int i = indexedCount; i < validators.size(); i++) {
+        indices.putIfAbsent(validators.get(i).getPubkeyBytes(), i);
+      }
+      indexedCount = Math.max(indexedCount, validators.size());
+    }
+    return true;
+  }
+
+  /** The number of indexed validators */
+  public int size() {
+    return indexedCount;
+  }
+
+  /** Cheap check of the first and the last indexed validators of the registry */
+  private boolean isConsistent(final SszList<Validator> validators, final int count) {
+    final int lastIndex = Math.min(count, validators.size()) - 1;
+    if (lastIndex < 0) {
+      return true;
+    }
+    return isIndexedAt(validators, 0) && isIndexedAt(validators, lastIndex);
+  }
+
+  private boolean isIndexedAt(final SszList<Validator> validators, final int validatorIndex) {
+    final Integer index = indices.get(validators.get(validatorIndex).getPubkeyBytes());
+    return index != null && index == validatorIndex;
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+
+/**
+ * Append only (validator index) -> (public key) table shared by all the states of a node. A
+ * validator public key never changes once the validator is added to the registry, so the
+ * decompressed key can be reused by any state regardless of its fork, unlike the per state lineage
+ * {@link TransitionCaches#getValidatorsPubKeys()}.
+ *
+ * <p>Decompressing all the keys of a large registry takes a while, so at startup the table is
+ * populated in parallel on a dedicated executor and persisted in the uncompressed form which can be
+ * loaded much faster on the next start. An entry is returned only if it matches the public key
+ * bytes of the state, so a stale or corrupted file can't result in a wrong key.
+ *
+ * <p>The instance is owned by the node and injected with {@link
+ * tech.pegasys.teku.spec.Spec#setValidatorPubKeyTable(ValidatorPubKeyTable)}
+ */
+public class ValidatorPubKeyTable {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int COMPRESSED_SIZE = 48;
+  private static final int UNCOMPRESSED_SIZE = 96;
+  private static final int POPULATE_CHUNK_SIZE = 4096;
+
+  private volatile BLSPublicKey[] publicKeys = new BLSPublicKey[0];
+  private volatile int persistedCount = 0;
+
+  /**
+   * Returns the public key of the validator from the table if it matches the public key bytes or
+   * creates and adds to the table a new one
+   */
+  public BLSPublicKey getOrCreate(final int validatorIndex, final Bytes48 publicKeyBytes) {
+    final BLSPublicKey existing = find(publicKeys, validatorIndex, publicKeyBytes);
+    if (existing != null) {
+      return existing;
+    }
+    final BLSPublicKey publicKey = BLSPublicKey.fromBytesCompressed(publicKeyBytes);
+    put(validatorIndex, publicKey);
+    return publicKey;
+  }
+
+  /**
+   * Adds the public keys of all the validators to the table decompressing them in chunks on the
+   * executor and waits until all of them are done. Keys which are already in the table are not
+   * decompressed again
+   */
+  public void populate(final SszList<Validator> validators, final Executor executor) {
+    final int count = validators.size();
+    final Bytes48[] publicKeysBytes = new Bytes48[count];
+    for (int i = 0; i < count; i++) {
+      publicKeysBytes[i] = validators.get(i).getPubkeyBytes();
+    }
+    final BLSPublicKey[] current = publicKeys;
+    final BLSPublicKey[] populated = new BLSPublicKey[count];
+    final List<CompletableFuture<Void>> chunks = new ArrayList<>();
+    for (int chunkStart = 0; chunkStart < count; chunkStart += POPULATE_CHUNK_SIZE) {
+      final int fromIndex = chunkStart;
+      final int toIndex = Math.min(count, chunkStart + POPULATE_CHUNK_SIZE);
+      chunks.add(
+          CompletableFuture.runAsync(
+              () -> {
+                for (int i = fromIndex; i < toIndex; i++) {
+                  populated[i] = decompress(current, i, publicKeysBytes[i]);
+                }
+              },
+              executor));
+    }
+    CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+    synchronized (this) {
+      final BLSPublicKey[] updated = Arrays.copyOf(publicKeys, Math.max(publicKeys.length, count));
+      for (int i = 0; i < count; i++) {
+        if (populated[i] != null) {
+          updated[i] = populated[i];
+        }
+      }
+      publicKeys = updated;
+    }
+  }
+
+  /**
+   * Loads the public keys saved with {@link #saveTo(Path)}. A missing file is ignored, an invalid
+   * file is logged and ignored
+   */
+  public void loadFrom(final Path file) {
+    if (!Files.exists(file)) {
+      return;
+    }
+    final BLSPublicKey[] loaded;
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      final int count = in.readInt();
+      if (count < 0 || Files.size(file) != Integer.BYTES + recordsSize(count)) {
+        throw new IOException("Unexpected file size for " + count + " public keys");
+      }
+      loaded = new BLSPublicKey[count];
+      final byte[] compressed = new byte[COMPRESSED_SIZE];
+      final byte[] uncompressed = new byte[UNCOMPRESSED_SIZE];
+      for (int i = 0; i < count; i++) {
+        in.readFully(compressed);
+        in.readFully(uncompressed);
+        loaded[i] = BLSPublicKey.fromBytesUncompressed(Bytes.wrap(uncompressed.clone()));
+        if (!loaded[i].toBytesCompressed().equals(Bytes48.wrap(compressed))) {
+          throw new IOException("Public key mismatch at index " + i);
+        }
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.warn("Ignoring invalid validator public keys file {}: {}", file, e.getMessage());
+      return;
+    }
+    synchronized (this) {
+      final BLSPublicKey[] updated =
+          Arrays.copyOf(publicKeys, Math.max(publicKeys.length, loaded.length));
+      for (int i = 0; i < loaded.length; i++) {
+        if (updated[i] == null) {
+          updated[i] = loaded[i];
+        }
+      }
+      publicKeys = updated;
+      persistedCount = loaded.length;
+    }
+    LOG.debug("Loaded {} validator public keys from {}", loaded.length, file);
+  }
+
+  /**
+   * Saves the uncompressed public keys of the leading validators which are all in the table. The
+   * file is not rewritten if no new keys were added since it was loaded or saved
+   */
+  public synchronized void saveTo(final Path file) throws IOException {
+    final BLSPublicKey[] current = publicKeys;
+    int count = 0;
+    while (count < current.length && current[count] != null) {
+      count++;
+    }
+    if (count <= persistedCount) {
+      return;
+    }
+    final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      out.writeInt(count);
+      for (int i = 0; i < count; i++) {
+        out.write(current[i].toBytesCompressed().toArrayUnsafe());
+        out.write(current[i].toBytesUncompressed().toArrayUnsafe());
+      }
+    }
+    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    persistedCount = count;
+  }
+
+  /** The number of validators in the table */
+  public int size() {
+    return (int) Arrays.stream(publicKeys).filter(key -> key != null).count();
+  }
+
+  private static long recordsSize(final int count) {
+    return (long) count * (COMPRESSED_SIZE + UNCOMPRESSED_SIZE);
+  }
+
+  private static BLSPublicKey find(
+      final BLSPublicKey[] publicKeys, final int validatorIndex, final Bytes48 publicKeyBytes) {
+    if (validatorIndex >= publicKeys.length) {
+      return null;
+    }
+    final BLSPublicKey publicKey = publicKeys[validatorIndex];
+    return publicKey != null && publicKey.toBytesCompressed().equals(publicKeyBytes)
+        ? publicKey
+        : null;
+  }
+
+  private static BLSPublicKey decompress(
+      final BLSPublicKey[] publicKeys, final int validatorIndex, final Bytes48 publicKeyBytes) {
+    final BLSPublicKey existing = find(publicKeys, validatorIndex, publicKeyBytes);
+    if (existing != null) {
+      return existing;
+    }
+    try {
+      final BLSPublicKey publicKey = BLSPublicKey.fromBytesCompressed(publicKeyBytes);
+      // the key is parsed lazily, force the decompression now
+      publicKey.toBytesUncompressed();
+      return publicKey;
+    } catch (IllegalArgumentException e) {
+      LOG.debug("Invalid public key of validator {}: {}", validatorIndex, publicKeyBytes);
+      return null;
+    }
+  }
+
+  private synchronized void put(final int validatorIndex, final BLSPublicKey publicKey) {
+    BLSPublicKey[] updated = publicKeys;
+    if (validatorIndex >= updated.length) {
+      updated = Arrays.copyOf(updated, Math.max(validatorIndex + 1, updated.length * 2));
+    }
+    updated[validatorIndex] = publicKey;
+    publicKeys = updated;
+  }
+}
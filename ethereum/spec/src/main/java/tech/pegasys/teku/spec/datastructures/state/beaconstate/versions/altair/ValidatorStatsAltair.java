@@ -14,33 +14,46 @@
 package tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair;
 
 import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.teku.infrastructure.ssz.SszList;
-import tech.pegasys.teku.infrastructure.ssz.primitive.SszByte;
 import tech.pegasys.teku.spec.constants.ParticipationFlags;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochParticipationCounts;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.TransitionCaches;
 
 public interface ValidatorStatsAltair extends BeaconStateAltair {
   @Override
   default CorrectAndLiveValidators getValidatorStatsPreviousEpoch(final Bytes32 correctTargetRoot) {
-    return getValidatorStats(getPreviousEpochParticipation());
+    final TransitionCaches transitionCaches = BeaconStateCache.getTransitionCaches(this);
+    final EpochParticipationCounts counts =
+        transitionCaches
+            .getPreviousEpochParticipationCounts()
+            .orElseGet(
+                () -> {
+                  final EpochParticipationCounts computed =
+                      EpochParticipationCounts.count(getPreviousEpochParticipation());
+                  transitionCaches.setPreviousEpochParticipationCounts(computed);
+                  return computed;
+                });
+    return getValidatorStats(counts);
   }
 
   @Override
   default CorrectAndLiveValidators getValidatorStatsCurrentEpoch(final Bytes32 correctTargetRoot) {
-    return getValidatorStats(getCurrentEpochParticipation());
+    final TransitionCaches transitionCaches = BeaconStateCache.getTransitionCaches(this);
+    final EpochParticipationCounts counts =
+        transitionCaches
+            .getCurrentEpochParticipationCounts()
+            .orElseGet(
+                () -> {
+                  final EpochParticipationCounts computed =
+                      EpochParticipationCounts.count(getCurrentEpochParticipation());
+                  transitionCaches.setCurrentEpochParticipationCounts(computed);
+                  return computed;
+                });
+    return getValidatorStats(counts);
   }
 
-  private CorrectAndLiveValidators getValidatorStats(final SszList<SszByte> participationFlags) {
-    int numberOfCorrectValidators = 0;
-    int numberOfLiveValidators = 0;
-    for (SszByte participationFlag : participationFlags) {
-      final byte flag = participationFlag.get();
-      if (ParticipationFlags.isTimelyTarget(flag)) {
-        numberOfCorrectValidators++;
-      }
-      if (ParticipationFlags.isAnyFlagSet(flag)) {
-        numberOfLiveValidators++;
-      }
-    }
-    return new CorrectAndLiveValidators(numberOfCorrectValidators, numberOfLiveValidators);
+  private CorrectAndLiveValidators getValidatorStats(final EpochParticipationCounts counts) {
+    return new CorrectAndLiveValidators(
+        counts.getFlagCount(ParticipationFlags.TIMELY_TARGET_FLAG_INDEX), counts.getAnyFlagCount());
   }
 }
@@ -13,14 +13,25 @@
 
 package tech.pegasys.teku.spec.datastructures.util;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
 import tech.pegasys.teku.infrastructure.io.resource.ResourceLoader;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 
 public class ChainDataLoader {
   public static BeaconState loadState(final Spec spec, final String source) throws IOException {
+    final File file = new File(source);
+    if (file.isFile()) {
+      // map the file rather than reading it to heap, the state tree is then built as bytes are read
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        return spec.deserializeBeaconState(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+      }
+    }
     return spec.deserializeBeaconState(
         ResourceLoader.urlOrFile("application/octet-stream")
             .loadBytes(source)
@@ -21,6 +21,7 @@ import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
 
 public abstract class MerkleTree {
   protected final List<List<Bytes32>> tree;
@@ -43,9 +44,8 @@ public abstract class MerkleTree {
 
   protected static List<Bytes32> generateZeroHashes(int height) {
     List<Bytes32> zeroHashes = new ArrayList<>();
-    zeroHashes.add(Bytes32.ZERO);
-    for (int i = 1; i < height; i++) {
-      zeroHashes.add(i, Hash.sha256(zeroHashes.get(i - 1), zeroHashes.get(i - 1)));
+    for (int i = 0; i < height; i++) {
+      zeroHashes.add(TreeUtil.getZeroHash(i));
     }
     return zeroHashes;
   }
@@ -92,10 +92,10 @@ public abstract class MerkleTree {
     // Check if given the viewLimit at the leaf layer, is root in left or right subtree
     if ((viewLimit & (1 << depth)) != 0) {
       // For the right subtree
-      return Hash.sha256(tree.get(depth).get((viewLimit >> depth) - 1), deeperRoot);
+      return Hash.sha256Pair(tree.get(depth).get((viewLimit >> depth) - 1), deeperRoot);
     } else {
       // For the left subtree
-      return Hash.sha256(deeperRoot, zeroHashes.get(depth));
+      return Hash.sha256Pair(deeperRoot, zeroHashes.get(depth));
     }
   }
 
@@ -156,7 +156,7 @@ public abstract class MerkleTree {
   }
 
   public Bytes32 getRoot() {
-    return Hash.sha256(tree.get(treeDepth).get(0), calcMixInValue());
+    return Hash.sha256Pair(tree.get(treeDepth).get(0), calcMixInValue());
   }
 
   @Override
@@ -46,7 +46,7 @@ public class OptimizedMerkleTree extends MerkleTree {
         List<Bytes32> previousStage = tree.get(h - 1);
         int previousStageSize = previousStage.size();
         stage.add(
-            Hash.sha256(
+            Hash.sha256Pair(
                 previousStage.get(previousStageSize - 2),
                 previousStage.get(previousStageSize - 1)));
       }
@@ -22,6 +22,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.SpecVersion;
 import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockHeader;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.SlotProcessingException;
 
@@ -44,6 +45,9 @@ public class StateTransition {
           preState.getSlot(),
           slot);
       BeaconState state = preState;
+      // The state is heavily modified by block and epoch processing, but the states of
+      // consecutive empty slots differ just by a few roots
+      boolean isLargelyModified = true;
 
       SpecVersion currentSpec = specProvider.getSpec(state.getSlot());
       while (state.getSlot().compareTo(slot) < 0) {
@@ -52,16 +56,26 @@ public class StateTransition {
         final UInt64 newSlot = currentSlot.plus(1);
         final boolean isEpochTransition =
             newSlot.mod(currentSpec.getSlotsPerEpoch()).equals(UInt64.ZERO);
+        final Bytes32 previousStateRoot = computeStateRoot(state, isLargelyModified);
 
-        state = processSlot(currentSpec, state);
-        // Process epoch on the start slot of the next epoch
-        if (isEpochTransition) {
+        if (!isEpochTransition) {
+          // Empty slot within the epoch: cache the roots and advance the slot in a single update
+          final SpecVersion spec = currentSpec;
+          state =
+              state.updated(
+                  s -> {
+                    cacheRoots(spec, s, previousStateRoot);
+                    s.setSlot(newSlot);
+                  });
+          isLargelyModified = false;
+        } else {
+          state = processSlot(currentSpec, state, previousStateRoot);
+          // Process epoch on the start slot of the next epoch
           state = currentSpec.getEpochProcessor().processEpoch(state);
-        }
-        state = state.updated(s -> s.setSlot(newSlot));
+          state = state.updated(s -> s.setSlot(newSlot));
+          isLargelyModified = true;
 
-        // Update spec, perform state upgrades on epoch boundaries
-        if (isEpochTransition) {
+          // Update spec, perform state upgrades on epoch boundaries
           final SpecVersion newSpec = specProvider.getSpec(newSlot);
           if (!newSpec.getMilestone().equals(currentSpec.getMilestone())) {
             // We've just transition to a new milestone - upgrade the state if necessary
@@ -83,31 +97,41 @@ public class StateTransition {
     }
   }
 
-  private BeaconState processSlot(final SpecVersion spec, final BeaconState preState) {
+  /**
+   * {@link BeaconState#parallelHashTreeRoot()} pays off only when a lot of nodes were modified,
+   * otherwise the few modified nodes are hashed faster sequentially
+   */
+  private Bytes32 computeStateRoot(final BeaconState state, final boolean isLargelyModified) {
+    return isLargelyModified ? state.parallelHashTreeRoot() : state.hashTreeRoot();
+  }
+
+  private BeaconState processSlot(
+      final SpecVersion spec, final BeaconState preState, final Bytes32 previousStateRoot) {
+    return preState.updated(state -> cacheRoots(spec, state, previousStateRoot));
+  }
+
+  private void cacheRoots(
+      final SpecVersion spec, final MutableBeaconState state, final Bytes32 previous_state_root) {
     // Cache state root
-    Bytes32 previous_state_root = preState.hashTreeRoot();
-    return preState.updated(
-        state -> {
-          int index = state.getSlot().mod(spec.getSlotsPerHistoricalRoot()).intValue();
-          state.getState_roots().setElement(index, previous_state_root);
-
-          // Cache latest block header state root
-          BeaconBlockHeader latest_block_header = state.getLatest_block_header();
-          if (latest_block_header.getStateRoot().equals(Bytes32.ZERO)) {
-            BeaconBlockHeader latest_block_header_new =
-                new BeaconBlockHeader(
-                    latest_block_header.getSlot(),
-                    latest_block_header.getProposerIndex(),
-                    latest_block_header.getParentRoot(),
-                    previous_state_root,
-                    latest_block_header.getBodyRoot());
-            state.setLatest_block_header(latest_block_header_new);
-          }
+    int index = state.getSlot().mod(spec.getSlotsPerHistoricalRoot()).intValue();
+    state.getState_roots().setElement(index, previous_state_root);
+
+    // Cache latest block header state root
+    BeaconBlockHeader latest_block_header = state.getLatest_block_header();
+    if (latest_block_header.getStateRoot().equals(Bytes32.ZERO)) {
+      BeaconBlockHeader latest_block_header_new =
+          new BeaconBlockHeader(
+              latest_block_header.getSlot(),
+              latest_block_header.getProposerIndex(),
+              latest_block_header.getParentRoot(),
+              previous_state_root,
+              latest_block_header.getBodyRoot());
+      state.setLatest_block_header(latest_block_header_new);
+    }
 
-          // Cache block root
-          Bytes32 previous_block_root = state.getLatest_block_header().hashTreeRoot();
-          state.getBlock_roots().setElement(index, previous_block_root);
-        });
+    // Cache block root
+    Bytes32 previous_block_root = state.getLatest_block_header().hashTreeRoot();
+    state.getBlock_roots().setElement(index, previous_block_root);
   }
 
   public interface SpecProvider {
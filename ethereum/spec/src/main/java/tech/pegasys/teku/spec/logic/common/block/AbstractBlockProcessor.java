@@ -76,6 +76,7 @@ import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.StateTrans
 import tech.pegasys.teku.spec.logic.common.util.AttestationUtil;
 import tech.pegasys.teku.spec.logic.common.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.logic.common.util.ValidatorsUtil;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
 import tech.pegasys.teku.spec.logic.versions.bellatrix.block.OptimisticExecutionPayloadExecutor;
 
 public abstract class AbstractBlockProcessor implements BlockProcessor {
@@ -98,6 +99,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
   protected final AttestationUtil attestationUtil;
   protected final ValidatorsUtil validatorsUtil;
   private final OperationValidator operationValidator;
+  private volatile Optional<VerifiedSignatureCache> verifiedSignatureCache = Optional.empty();
 
   protected AbstractBlockProcessor(
       final SpecConfig specConfig,
@@ -122,6 +124,11 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     this.operationValidator = operationValidator;
   }
 
+  @Override
+  public void setVerifiedSignatureCache(final VerifiedSignatureCache verifiedSignatureCache) {
+    this.verifiedSignatureCache = Optional.of(verifiedSignatureCache);
+  }
+
   @Override
   public BeaconState processAndValidateBlock(
       final SignedBeaconBlock signedBlock,
@@ -129,7 +136,8 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       final IndexedAttestationCache indexedAttestationCache,
       final OptimisticExecutionPayloadExecutor payloadExecutor)
       throws StateTransitionException {
-    final BatchSignatureVerifier signatureVerifier = new BatchSignatureVerifier();
+    final BatchSignatureVerifier signatureVerifier =
+        new BatchSignatureVerifier(verifiedSignatureCache);
     final BeaconState result =
         processAndValidateBlock(
             signedBlock,
@@ -252,7 +260,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
   @CheckReturnValue
   private BlockValidationResult validatePostState(
       final BeaconState postState, final SignedBeaconBlock block) {
-    if (!block.getMessage().getStateRoot().equals(postState.hashTreeRoot())) {
+    if (!block.getMessage().getStateRoot().equals(postState.parallelHashTreeRoot())) {
       return BlockValidationResult.failed(
           "Block state root does NOT match the calculated state root!\n"
               + "Block state root: "
@@ -36,9 +36,13 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconStat
 import tech.pegasys.teku.spec.logic.common.operations.validation.OperationInvalidReason;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.BlockProcessingException;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.StateTransitionException;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
 import tech.pegasys.teku.spec.logic.versions.bellatrix.block.OptimisticExecutionPayloadExecutor;
 
 public interface BlockProcessor {
+  /** Skips aggregate signatures of blocks which are already in the cache */
+  void setVerifiedSignatureCache(VerifiedSignatureCache verifiedSignatureCache);
+
   Optional<OperationInvalidReason> validateAttestation(
       final BeaconState state, final AttestationData data);
 
@@ -18,8 +18,13 @@ import static tech.pegasys.teku.spec.config.SpecConfig.GENESIS_EPOCH;
 import static tech.pegasys.teku.spec.logic.common.helpers.MathHelpers.uint64ToBytes;
 
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -36,11 +41,16 @@ import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochContext;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochContextCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPubKeyTable;
 
 public abstract class BeaconStateAccessors {
   protected final SpecConfig config;
   protected final Predicates predicates;
   protected final MiscHelpers miscHelpers;
+  private volatile Optional<ValidatorPubKeyTable> validatorPubKeyTable = Optional.empty();
+  private volatile Optional<EpochContextCache> epochContextCache = Optional.empty();
 
   protected BeaconStateAccessors(
       final SpecConfig config, final Predicates predicates, final MiscHelpers miscHelpers) {
@@ -69,6 +79,16 @@ public abstract class BeaconStateAccessors {
         .max(UInt64.valueOf(activeValidatorCount / config.getChurnLimitQuotient()));
   }
 
+  /** Looks validator public keys up in the node wide table first when one is set */
+  public void setValidatorPubKeyTable(final ValidatorPubKeyTable validatorPubKeyTable) {
+    this.validatorPubKeyTable = Optional.of(validatorPubKeyTable);
+  }
+
+  /** Shares the epoch contexts with all the states of the node, not only the same lineage */
+  public void setEpochContextCache(final EpochContextCache epochContextCache) {
+    this.epochContextCache = Optional.of(epochContextCache);
+  }
+
   public Optional<BLSPublicKey> getValidatorPubKey(BeaconState state, UInt64 validatorIndex) {
     if (state.getValidators().size() <= validatorIndex.longValue()
         || validatorIndex.longValue() < 0) {
@@ -80,7 +100,11 @@ public abstract class BeaconStateAccessors {
             .get(
                 validatorIndex,
                 i -> {
-                  BLSPublicKey pubKey = state.getValidators().get(i.intValue()).getPublicKey();
+                  final Validator validator = state.getValidators().get(i.intValue());
+                  BLSPublicKey pubKey =
+                      validatorPubKeyTable
+                          .map(table -> table.getOrCreate(i.intValue(), validator.getPubkeyBytes()))
+                          .orElseGet(validator::getPublicKey);
 
                   // eagerly pre-cache pubKey => validatorIndex mapping
                   BeaconStateCache.getTransitionCaches(state)
@@ -136,11 +160,14 @@ public abstract class BeaconStateAccessors {
   }
 
   public UInt64 getTotalActiveBalance(BeaconState state) {
+    // Shares the cached value with the epoch context but doesn't need the committees and proposers
+    return computeTotalActiveBalance(state, getCurrentEpoch(state));
+  }
+
+  private UInt64 computeTotalActiveBalance(final BeaconState state, final UInt64 epoch) {
     return BeaconStateCache.getTransitionCaches(state)
         .getTotalActiveBalance()
-        .get(
-            getCurrentEpoch(state),
-            epoch -> getTotalBalance(state, getActiveValidatorIndices(state, epoch)));
+        .get(epoch, e -> getTotalBalance(state, getActiveValidatorIndices(state, e)));
   }
 
   public UInt64 getProposerBoostAmount(final BeaconState state) {
@@ -194,17 +221,95 @@ public abstract class BeaconStateAccessors {
 
   public int getBeaconProposerIndex(BeaconState state, UInt64 requestedSlot) {
     validateStateCanCalculateProposerIndexAtSlot(state, requestedSlot);
+    return getEpochContext(state).getBeaconProposerIndex(requestedSlot);
+  }
+
+  /**
+   * Returns the committees, proposers and total active balance of the current epoch of the state.
+   * The context is computed once per (epoch, dependent root) and then shared by all the states with
+   * the same dependent root through the {@link EpochContextCache}, or only by the states derived
+   * from the state it was computed for when no such cache is set.
+   */
+  public EpochContext getEpochContext(final BeaconState state) {
+    final UInt64 epoch = getCurrentEpoch(state);
+    final Bytes32 dependentRoot = getEpochContextDependentRoot(state, epoch);
+    final Supplier<EpochContext> computer = () -> computeEpochContext(state, epoch, dependentRoot);
     return BeaconStateCache.getTransitionCaches(state)
-        .getBeaconProposerIndex()
+        .getEpochContexts()
         .get(
-            requestedSlot,
-            slot -> {
-              UInt64 epoch = miscHelpers.computeEpochAtSlot(slot);
-              Bytes32 seed =
-                  Hash.sha256(getSeed(state, epoch, Domain.BEACON_PROPOSER), uint64ToBytes(slot));
-              IntList indices = getActiveValidatorIndices(state, epoch);
-              return miscHelpers.computeProposerIndex(state, indices, seed);
-            });
+            TekuPair.of(epoch, dependentRoot),
+            __ ->
+                epochContextCache
+                    .map(cache -> cache.get(epoch, dependentRoot, computer))
+                    .orElseGet(computer));
+  }
+
+  private Optional<EpochContext> findEpochContext(final BeaconState state, final UInt64 epoch) {
+    final UInt64 stateEpoch = getCurrentEpoch(state);
+    if (epoch.equals(stateEpoch)) {
+      return Optional.of(getEpochContext(state));
+    } else if (epoch.isLessThan(stateEpoch)) {
+      // Can't compute the context of a past epoch, but may still have it from an earlier state if
+      // its dependent root is still within the block roots of this state
+      if (!epoch.equals(GENESIS_EPOCH)
+          && !isBlockRootAvailableFromState(
+              state, miscHelpers.computeStartSlotAtEpoch(epoch).minus(1))) {
+        return Optional.empty();
+      }
+      final Bytes32 dependentRoot = getEpochContextDependentRoot(state, epoch);
+      return BeaconStateCache.getTransitionCaches(state)
+          .getEpochContexts()
+          .getCached(TekuPair.of(epoch, dependentRoot))
+          .or(() -> epochContextCache.flatMap(cache -> cache.getCached(epoch, dependentRoot)));
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * The root of the last block before the epoch. The genesis epoch has no such block, but all
+   * states in it derive from the same genesis state so a constant is used instead
+   */
+  private Bytes32 getEpochContextDependentRoot(final BeaconState state, final UInt64 epoch) {
+    return epoch.equals(GENESIS_EPOCH)
+        ? Bytes32.ZERO
+        : getBlockRootAtSlot(state, miscHelpers.computeStartSlotAtEpoch(epoch).minus(1));
+  }
+
+  protected EpochContext computeEpochContext(
+      final BeaconState state, final UInt64 epoch, final Bytes32 dependentRoot) {
+    final IntList activeValidatorIndices = getActiveValidatorIndices(state, epoch);
+    final int activeValidatorCount = activeValidatorIndices.size();
+    final int slotsPerEpoch = config.getSlotsPerEpoch();
+    final int committeeCountPerSlot = getCommitteeCountPerSlot(activeValidatorCount).intValue();
+    final int committeeCount = committeeCountPerSlot * slotsPerEpoch;
+
+    final IntList shuffle =
+        miscHelpers.computeShuffle(
+            state, epoch, activeValidatorIndices, getSeed(state, epoch, Domain.BEACON_ATTESTER));
+    final IntList[] committees = new IntList[committeeCount];
+    for (int i = 0; i < committeeCount; i++) {
+      final int start = (int) ((long) activeValidatorCount * i / committeeCount);
+      final int end = (int) ((long) activeValidatorCount * (i + 1) / committeeCount);
+      committees[i] = shuffle.subList(start, end);
+    }
+
+    final UInt64 startSlot = miscHelpers.computeStartSlotAtEpoch(epoch);
+    final Bytes32 proposerSeed = getSeed(state, epoch, Domain.BEACON_PROPOSER);
+    final int[] proposerIndices = new int[activeValidatorCount > 0 ? slotsPerEpoch : 0];
+    for (int i = 0; i < proposerIndices.length; i++) {
+      final Bytes32 seed = Hash.sha256(proposerSeed, uint64ToBytes(startSlot.plus(i)));
+      proposerIndices[i] = miscHelpers.computeProposerIndex(state, activeValidatorIndices, seed);
+    }
+
+    return new EpochContext(
+        epoch,
+        dependentRoot,
+        startSlot,
+        committeeCountPerSlot,
+        committees,
+        proposerIndices,
+        computeTotalActiveBalance(state, epoch));
   }
 
   public UInt64 getFinalityDelay(final BeaconState state) {
@@ -272,6 +377,17 @@ public abstract class BeaconStateAccessors {
     // Make sure state is within range of the slot being queried
     validateStateForCommitteeQuery(state, slot);
 
+    final Optional<EpochContext> epochContext =
+        findEpochContext(state, miscHelpers.computeEpochAtSlot(slot));
+    if (epochContext.isPresent()) {
+      final EpochContext context = epochContext.get();
+      final UInt64 epochCommitteeIndex =
+          slot.mod(config.getSlotsPerEpoch()).times(context.getCommitteeCountPerSlot()).plus(index);
+      if (epochCommitteeIndex.isLessThan(context.getCommitteeCount())) {
+        return context.getCommittee(epochCommitteeIndex.intValue());
+      }
+    }
+
     return BeaconStateCache.getTransitionCaches(state)
         .getBeaconCommittee()
         .get(
@@ -287,6 +403,7 @@ public abstract class BeaconStateAccessors {
               int count = committees_per_slot.times(config.getSlotsPerEpoch()).intValue();
               return miscHelpers.computeCommittee(
                   state,
+                  epoch,
                   getActiveValidatorIndices(state, epoch),
                   getSeed(state, epoch, Domain.BEACON_ATTESTER),
                   committeeIndex,
@@ -294,6 +411,73 @@ public abstract class BeaconStateAccessors {
             });
   }
 
+  /**
+   * Returns the aggregate public key of the specified committee members, computed by removing the
+   * keys of the other members from the cached aggregate of the whole committee. Returns empty when
+   * adding up the keys of the specified members is cheaper (i.e. they are not the majority of the
+   * committee), when any of them is not a member or when the committee isn't readily available, so
+   * that the caller can fall back to aggregating the keys itself.
+   *
+   * @param attestingIndices distinct validator indices of the committee members
+   */
+  public Optional<BLSPublicKey> getCommitteeMembersAggregatePubKey(
+      final BeaconState state,
+      final UInt64 slot,
+      final UInt64 index,
+      final List<UInt64> attestingIndices) {
+    final UInt64 epoch = miscHelpers.computeEpochAtSlot(slot);
+    final UInt64 stateEpoch = getCurrentEpoch(state);
+    if (epoch.plus(1).isLessThan(stateEpoch)) {
+      // The dependent root of an older epoch may not be available in the state anymore
+      return Optional.empty();
+    }
+    final Optional<EpochContext> maybeContext = findEpochContext(state, epoch);
+    if (maybeContext.isEmpty()
+        || index.isGreaterThanOrEqualTo(maybeContext.get().getCommitteeCountPerSlot())) {
+      return Optional.empty();
+    }
+    final EpochContext context = maybeContext.get();
+    final int epochCommitteeIndex =
+        slot.mod(config.getSlotsPerEpoch())
+            .times(context.getCommitteeCountPerSlot())
+            .plus(index)
+            .intValue();
+    final IntList committee = context.getCommittee(epochCommitteeIndex);
+    final int attesterCount = attestingIndices.size();
+    if (attesterCount * 2 <= committee.size() || attesterCount > committee.size()) {
+      return Optional.empty();
+    }
+
+    final IntSet attesters = new IntOpenHashSet(attesterCount);
+    attestingIndices.forEach(attester -> attesters.add(attester.intValue()));
+    final List<BLSPublicKey> absentPubKeys = new ArrayList<>(committee.size() - attesterCount);
+    for (int i = 0; i < committee.size(); i++) {
+      final int validatorIndex = committee.getInt(i);
+      if (!attesters.contains(validatorIndex)) {
+        absentPubKeys.add(getValidatorPubKeyByIndex(state, validatorIndex));
+      }
+    }
+    if (committee.size() - absentPubKeys.size() != attesterCount) {
+      // Some of the attesters are not members of the committee
+      return Optional.empty();
+    }
+
+    final BLSPublicKey committeeAggregate =
+        context.getCommitteeAggregatePubKey(
+            epochCommitteeIndex,
+            validatorIndex -> getValidatorPubKeyByIndex(state, validatorIndex));
+    if (!committeeAggregate.isValid()) {
+      return Optional.empty();
+    }
+    return Optional.of(BLSPublicKey.aggregateExcluding(committeeAggregate, absentPubKeys));
+  }
+
+  private BLSPublicKey getValidatorPubKeyByIndex(
+      final BeaconState state, final int validatorIndex) {
+    return getValidatorPubKey(state, UInt64.valueOf(validatorIndex))
+        .orElseThrow(() -> new IllegalStateException("Unknown committee member " + validatorIndex));
+  }
+
   public void validateStateForCommitteeQuery(BeaconState state, UInt64 slot) {
     final UInt64 oldestQueryableSlot =
         miscHelpers.getEarliestQueryableSlotForBeaconCommitteeAtTargetSlot(slot);
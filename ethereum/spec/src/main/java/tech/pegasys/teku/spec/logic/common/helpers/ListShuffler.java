@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.common.helpers;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.MessageDigestFactory;
+
+/**
+ * Applies the swap-or-not shuffle to a whole list at once, which is equivalent to replacing every
+ * element {@code i} with the element at {@code compute_shuffled_index(i)} but much cheaper.
+ *
+ * <p>Every round first generates the source bytes of all the positions the round looks at (one
+ * SHA-256 per 256 positions) into a flat array where the bit of {@code position} is at byte {@code
+ * position >> 3}, and then swaps the mirrored pairs on both sides of the pivot in two branch free
+ * loops. The digest and the hash input buffer are reused for the whole shuffle.
+ *
+ * <p>Instances are not thread-safe.
+ */
+class ListShuffler {
+
+  private static final int SEED_SIZE = Bytes32.SIZE;
+  private static final int ROUND_OFFSET = SEED_SIZE;
+  private static final int POSITION_OFFSET = ROUND_OFFSET + 1;
+  private static final int HASH_INPUT_SIZE = POSITION_OFFSET + Integer.BYTES;
+  private static final int HASH_SIZE = 32;
+  private static final int POSITIONS_PER_HASH = HASH_SIZE * Byte.SIZE;
+
+  private final MessageDigest digest = MessageDigestFactory.createSha256();
+  private final byte[] hashInput = new byte[HASH_INPUT_SIZE];
+  private final byte[] pivotHash = new byte[HASH_SIZE];
+  private final int roundCount;
+
+  ListShuffler(final int roundCount) {
+    this.roundCount = roundCount;
+  }
+
+  /** Shuffles the list in place */
+  void shuffle(final int[] input, final Bytes32 seed) {
+    final int listSize = input.length;
+    if (listSize <= 1) {
+      return;
+    }
+    System.arraycopy(seed.toArrayUnsafe(), 0, hashInput, 0, SEED_SIZE);
+    final byte[] source = new byte[chunkCount(listSize) * HASH_SIZE];
+
+    for (int round = roundCount - 1; round >= 0; round--) {
+      hashInput[ROUND_OFFSET] = (byte) round;
+      final int pivot = computePivot(listSize);
+      final int mirror1 = (pivot + 2) / 2;
+      final int mirror2 = (pivot + listSize) / 2;
+
+      // Positions [mirror1, pivot] decide the swaps below the pivot and positions
+      // [pivot + listSize - mirror2, listSize - 1] the swaps above it
+      if (mirror1 <= pivot) {
+        generateSource(source, mirror1, pivot);
+      }
+      if (pivot < mirror2) {
+        generateSource(source, pivot + listSize - mirror2, listSize - 1);
+      }
+
+      for (int i = mirror1; i <= pivot; i++) {
+        swapIfBitSet(input, source, i, pivot - i, i);
+      }
+      for (int i = pivot + 1; i <= mirror2; i++) {
+        final int flip = pivot + listSize - i;
+        swapIfBitSet(input, source, i, flip, flip);
+      }
+    }
+  }
+
+  private static void swapIfBitSet(
+      final int[] input, final byte[] source, final int i, final int flip, final int position) {
+    if (((source[position >>> 3] >> (position & 7)) & 1) != 0) {
+      final int tmp = input[i];
+      input[i] = input[flip];
+      input[flip] = tmp;
+    }
+  }
+
+  private int computePivot(final int listSize) {
+    digest.update(hashInput, 0, POSITION_OFFSET);
+    digestTo(pivotHash, 0);
+    long value = 0;
+    for (int i = Long.BYTES - 1; i >= 0; i--) {
+      value = (value << 8) | (pivotHash[i] & 0xFF);
+    }
+    // This needs to be unsigned modulo.
+    return (int) Long.remainderUnsigned(value, listSize);
+  }
+
+  /** Generates the source bytes for all the positions in {@code [fromPosition, toPosition]} */
+  private void generateSource(final byte[] source, final int fromPosition, final int toPosition) {
+    final int lastChunk = toPosition / POSITIONS_PER_HASH;
+    for (int chunk = fromPosition / POSITIONS_PER_HASH; chunk <= lastChunk; chunk++) {
+      hashInput[POSITION_OFFSET] = (byte) chunk;
+      hashInput[POSITION_OFFSET + 1] = (byte) (chunk >>> 8);
+      hashInput[POSITION_OFFSET + 2] = (byte) (chunk >>> 16);
+      hashInput[POSITION_OFFSET + 3] = (byte) (chunk >>> 24);
+      digest.update(hashInput, 0, HASH_INPUT_SIZE);
+      digestTo(source, chunk * HASH_SIZE);
+    }
+  }
+
+  private void digestTo(final byte[] out, final int offset) {
+    try {
+      digest.digest(out, offset, HASH_SIZE);
+    } catch (final DigestException e) {
+      // only thrown when the output buffer is too small
+      digest.reset();
+      throw new IllegalStateException("Invalid shuffle source buffer", e);
+    }
+  }
+
+  private static int chunkCount(final int listSize) {
+    return (listSize + POSITIONS_PER_HASH - 1) / POSITIONS_PER_HASH;
+  }
+}
@@ -33,14 +33,21 @@ import tech.pegasys.teku.spec.datastructures.state.ForkData;
 import tech.pegasys.teku.spec.datastructures.state.SigningData;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ShufflingCache;
 
 public class MiscHelpers {
   protected final SpecConfig specConfig;
+  private final ShufflingCache shufflingCache = new ShufflingCache();
 
   public MiscHelpers(final SpecConfig specConfig) {
     this.specConfig = specConfig;
   }
 
+  /** The cache of the committee shufflings computed with this spec config */
+  public ShufflingCache getShufflingCache() {
+    return shufflingCache;
+  }
+
   public int computeShuffledIndex(int index, int index_count, Bytes32 seed) {
     checkArgument(index < index_count, "CommitteeUtil.computeShuffledIndex1");
 
@@ -131,23 +138,31 @@ public class MiscHelpers {
   }
 
   public IntList computeCommittee(
-      BeaconState state, IntList indices, Bytes32 seed, int index, int count) {
+      BeaconState state, UInt64 epoch, IntList indices, Bytes32 seed, int index, int count) {
     int start = Math.floorDiv(indices.size() * index, count);
     int end = Math.floorDiv(indices.size() * (index + 1), count);
-    return computeCommitteeShuffle(state, indices, seed, start, end);
+    return computeCommitteeShuffle(state, epoch, indices, seed, start, end);
   }
 
   private IntList computeCommitteeShuffle(
-      BeaconState state, IntList indices, Bytes32 seed, int fromIndex, int toIndex) {
+      BeaconState state, UInt64 epoch, IntList indices, Bytes32 seed, int fromIndex, int toIndex) {
     if (fromIndex < toIndex) {
       int indexCount = indices.size();
       checkArgument(fromIndex < indexCount, "CommitteeUtil.getShuffledIndex1");
       checkArgument(toIndex <= indexCount, "CommitteeUtil.getShuffledIndex1");
     }
+    return computeShuffle(state, epoch, indices, seed).subList(fromIndex, toIndex);
+  }
+
+  /**
+   * Returns the whole shuffled list which the committees of the epoch are sliced from. Shufflings
+   * are looked up in the state caches first and then in the {@link ShufflingCache} of this spec
+   * version, so independently loaded or regenerated states don't recompute them
+   */
+  public IntList computeShuffle(BeaconState state, UInt64 epoch, IntList indices, Bytes32 seed) {
     return BeaconStateCache.getTransitionCaches(state)
         .getCommitteeShuffle()
-        .get(seed, s -> shuffleList(indices, s))
-        .subList(fromIndex, toIndex);
+        .get(seed, s -> shufflingCache.get(epoch, s, indices, () -> shuffleList(indices, s)));
   }
 
   IntList shuffleList(IntList input, Bytes32 seed) {
@@ -156,52 +171,12 @@ public class MiscHelpers {
     return IntList.of(indexes);
   }
 
+  /**
+   * Shuffles the list in place so that the element at index {@code i} becomes the element which was
+   * at {@link #computeShuffledIndex(int, int, Bytes32)} of {@code i}
+   */
   public void shuffleList(int[] input, Bytes32 seed) {
-
-    int listSize = input.length;
-    if (listSize == 0) {
-      return;
-    }
-
-    for (int round = specConfig.getShuffleRoundCount() - 1; round >= 0; round--) {
-
-      Bytes roundAsByte = Bytes.of((byte) round);
-
-      // This needs to be unsigned modulo.
-      int pivot =
-          bytesToUInt64(Hash.sha256(Bytes.wrap(seed, roundAsByte)).slice(0, 8))
-              .mod(listSize)
-              .intValue();
-
-      Bytes hashBytes = Bytes.EMPTY;
-      int mirror1 = (pivot + 2) / 2;
-      int mirror2 = (pivot + listSize) / 2;
-      for (int i = mirror1; i <= mirror2; i++) {
-
-        int flip, bitIndex;
-        if (i <= pivot) {
-          flip = pivot - i;
-          bitIndex = i & 0xff;
-          if (bitIndex == 0 || i == mirror1) {
-            hashBytes = Hash.sha256(seed, roundAsByte, uintToBytes(i / 256, 4));
-          }
-        } else {
-          flip = pivot + listSize - i;
-          bitIndex = flip & 0xff;
-          if (bitIndex == 0xff || i == pivot + 1) {
-            hashBytes = Hash.sha256(seed, roundAsByte, uintToBytes(flip / 256, 4));
-          }
-        }
-
-        int theByte = hashBytes.get(bitIndex / 8);
-        int theBit = (theByte >> (bitIndex & 0x07)) & 1;
-        if (theBit != 0) {
-          int tmp = input[i];
-          input[i] = input[flip];
-          input[flip] = tmp;
-        }
-      }
-    }
+    new ListShuffler(specConfig.getShuffleRoundCount()).shuffle(input, seed);
   }
 
   public Bytes computeSigningRoot(Merkleizable object, Bytes32 domain) {
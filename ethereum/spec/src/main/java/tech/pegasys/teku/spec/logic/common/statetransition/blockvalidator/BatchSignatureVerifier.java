@@ -18,13 +18,16 @@ import static com.google.common.base.Preconditions.checkArgument;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.bls.BatchSemiAggregate;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
 
 /**
  * Implementation which doesn't perform any actual validations on {@link #verify(List, Bytes,
@@ -34,6 +37,9 @@ import tech.pegasys.teku.bls.BatchSemiAggregate;
  * <p>Every instance of this class is disposable, i.e. it is intended for just a single batch and a
  * single {@link #batchVerify()} call.
  *
+ * <p>When a {@link VerifiedSignatureCache} is supplied, aggregate signatures found in it are not
+ * verified again and successfully verified ones are added to it.
+ *
  * <p>This is thread-safe class.
  */
 public class BatchSignatureVerifier implements BLSSignatureVerifier {
@@ -43,25 +49,46 @@ public class BatchSignatureVerifier implements BLSSignatureVerifier {
     final List<BLSPublicKey> publicKeys;
     final Bytes message;
     final BLSSignature signature;
+    final Optional<Bytes32> cacheKey;
 
-    public Job(int idx, List<BLSPublicKey> publicKeys, Bytes message, BLSSignature signature) {
+    public Job(
+        int idx,
+        List<BLSPublicKey> publicKeys,
+        Bytes message,
+        BLSSignature signature,
+        Optional<Bytes32> cacheKey) {
       this.idx = idx;
       this.publicKeys = publicKeys;
       this.message = message;
       this.signature = signature;
+      this.cacheKey = cacheKey;
     }
   }
 
   @VisibleForTesting final List<Job> toVerify = new ArrayList<>();
+  private final Optional<VerifiedSignatureCache> verifiedSignatureCache;
   private boolean complete = false;
 
+  public BatchSignatureVerifier() {
+    this(Optional.empty());
+  }
+
+  public BatchSignatureVerifier(final Optional<VerifiedSignatureCache> verifiedSignatureCache) {
+    this.verifiedSignatureCache = verifiedSignatureCache;
+  }
+
   @Override
   public synchronized boolean verify(
       List<BLSPublicKey> publicKeys, Bytes message, BLSSignature signature) {
     if (complete) throw new IllegalStateException("Reuse of disposable instance");
 
     checkArgument(!publicKeys.isEmpty(), "No public keys supplied for verify");
-    toVerify.add(new Job(toVerify.size(), publicKeys, message, signature));
+    final Optional<Bytes32> cacheKey =
+        verifiedSignatureCache.flatMap(cache -> cache.computeKey(publicKeys, message, signature));
+    if (verifiedSignatureCache.map(cache -> cache.isVerified(cacheKey)).orElse(false)) {
+      return true;
+    }
+    toVerify.add(new Job(toVerify.size(), publicKeys, message, signature, cacheKey));
     return true;
   }
 
@@ -96,6 +123,11 @@ public class BatchSignatureVerifier implements BLSSignatureVerifier {
     if (batchSemiAggregates.isEmpty()) {
       return true;
     }
-    return BLS.completeBatchVerify(batchSemiAggregates);
+    final boolean isValid = BLS.completeBatchVerify(batchSemiAggregates);
+    if (isValid) {
+      verifiedSignatureCache.ifPresent(
+          cache -> toVerify.forEach(job -> cache.addVerified(job.cacheKey)));
+    }
+    return isValid;
   }
 }
@@ -14,6 +14,7 @@
 package tech.pegasys.teku.spec.logic.common.statetransition.epoch;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import tech.pegasys.teku.infrastructure.ssz.SszList;
@@ -31,7 +32,8 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconStat
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateAccessors;
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateMutators;
 import tech.pegasys.teku.spec.logic.common.helpers.MiscHelpers;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.EpochProcessingMetrics.PhaseDurationListener;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.EpochProcessingMetrics.PhaseTimer;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatusFactory;
@@ -50,6 +52,7 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
   private final SchemaDefinitions schemaDefinitions;
   protected final BeaconStateAccessors beaconStateAccessors;
   protected final BeaconStateMutators beaconStateMutators;
+  private volatile PhaseDurationListener phaseDurationListener = PhaseDurationListener.NOOP;
 
   protected AbstractEpochProcessor(
       final SpecConfig specConfig,
@@ -70,6 +73,20 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
     this.schemaDefinitions = schemaDefinitions;
   }
 
+  @Override
+  public void setPhaseDurationListener(final PhaseDurationListener listener) {
+    this.phaseDurationListener = listener;
+  }
+
+  @Override
+  public void setParallelExecutionPool(final ForkJoinPool pool) {
+    // Phase 0 epoch processing always runs on the calling thread
+  }
+
+  protected PhaseTimer startPhaseTimer() {
+    return EpochProcessingMetrics.startTimer(phaseDurationListener);
+  }
+
   /**
    * Processes epoch
    *
@@ -83,20 +100,29 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
 
   protected void processEpoch(final BeaconState preState, final MutableBeaconState state)
       throws EpochProcessingException {
+    final PhaseTimer timer = startPhaseTimer();
     final ValidatorStatuses validatorStatuses =
         validatorStatusFactory.createValidatorStatuses(preState);
+    timer.phaseCompleted("validator_statuses");
     processJustificationAndFinalization(state, validatorStatuses.getTotalBalances());
+    timer.phaseCompleted("justification_and_finalization");
     processInactivityUpdates(state, validatorStatuses);
+    timer.phaseCompleted("inactivity_updates");
     processRewardsAndPenalties(state, validatorStatuses);
+    timer.phaseCompleted("rewards_and_penalties");
     processRegistryUpdates(state, validatorStatuses.getStatuses());
+    timer.phaseCompleted("registry_updates");
     processSlashings(state, validatorStatuses.getTotalBalances().getCurrentEpochActiveValidators());
+    timer.phaseCompleted("slashings");
     processEth1DataReset(state);
     processEffectiveBalanceUpdates(state);
+    timer.phaseCompleted("effective_balance_updates");
     processSlashingsReset(state);
     processRandaoMixesReset(state);
     processHistoricalRootsUpdate(state);
     processParticipationUpdates(state);
     processSyncCommitteeUpdates(state);
+    timer.phaseCompleted("final_updates");
   }
 
   /** Processes justification and finalization */
@@ -204,12 +230,14 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
   protected void applyDeltas(
       final MutableBeaconState state, final RewardAndPenaltyDeltas attestationDeltas) {
     final SszMutableUInt64List balances = state.getBalances();
-    // To optimize performance, calculate validator size once outside of the loop
-    int validatorsCount = state.getValidators().size();
+    // To optimize performance, read all balances at once and only update the changed ones
+    final long[] currentBalances = balances.toLongArray();
+    final int validatorsCount = state.getValidators().size();
     for (int i = 0; i < validatorsCount; i++) {
-      final RewardAndPenalty delta = attestationDeltas.getDelta(i);
-      balances.setElement(
-          i, balances.getElement(i).plus(delta.getReward()).minusMinZero(delta.getPenalty()));
+      final long newBalance = attestationDeltas.applyTo(i, currentBalances[i]);
+      if (newBalance != currentBalances[i]) {
+        balances.setElement(i, UInt64.fromLongBits(newBalance));
+      }
     }
   }
 
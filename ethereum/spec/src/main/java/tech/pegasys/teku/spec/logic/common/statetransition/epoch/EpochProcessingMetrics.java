@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.common.statetransition.epoch;
+
+/**
+ * Records how long each phase of the epoch processing takes. The spec doesn't depend on the metrics
+ * system, so this does nothing until the node installs a {@link PhaseDurationListener} on the
+ * {@link EpochProcessor}.
+ */
+public class EpochProcessingMetrics {
+
+  private EpochProcessingMetrics() {}
+
+  /** Starts timing the first phase of an epoch processing */
+  public static PhaseTimer startTimer(final PhaseDurationListener listener) {
+    return new PhaseTimer(listener);
+  }
+
+  /** Times the consecutive phases of a single epoch processing */
+  public static class PhaseTimer {
+    private final PhaseDurationListener listener;
+    private long phaseStart = System.nanoTime();
+
+    private PhaseTimer(final PhaseDurationListener listener) {
+      this.listener = listener;
+    }
+
+    /** Reports the time since the previous phase completed and starts timing the next one */
+    public void phaseCompleted(final String phase) {
+      if (listener == PhaseDurationListener.NOOP) {
+        return;
+      }
+      final long now = System.nanoTime();
+      listener.onPhaseCompleted(phase, now - phaseStart);
+      phaseStart = now;
+    }
+  }
+
+  public interface PhaseDurationListener {
+    PhaseDurationListener NOOP = (phase, durationNanos) -> {};
+
+    void onPhaseCompleted(String phase, long durationNanos);
+  }
+}
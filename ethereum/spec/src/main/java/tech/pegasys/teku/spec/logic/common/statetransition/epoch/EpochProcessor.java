@@ -14,9 +14,11 @@
 package tech.pegasys.teku.spec.logic.common.statetransition.epoch;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.EpochProcessingMetrics.PhaseDurationListener;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
@@ -54,4 +56,13 @@ public interface EpochProcessor {
   void processHistoricalRootsUpdate(MutableBeaconState state);
 
   void processSyncCommitteeUpdates(MutableBeaconState state);
+
+  /** Reports the duration of each phase of {@link #processEpoch(BeaconState)} to the listener */
+  void setPhaseDurationListener(PhaseDurationListener listener);
+
+  /**
+   * Splits the per validator computations which support it across the pool. The pool remains owned
+   * by the caller and processing falls back to the calling thread once it is shut down.
+   */
+  void setParallelExecutionPool(ForkJoinPool pool);
 }
@@ -14,53 +14,128 @@
 package tech.pegasys.teku.spec.logic.common.statetransition.epoch;
 
 import com.google.common.base.MoreObjects;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * Accumulates the rewards and penalties of all validators. The amounts are held as unsigned longs
+ * in two primitive arrays rather than as an object per validator since an instance is created for
+ * every epoch transition of every state.
+ */
 public class RewardAndPenaltyDeltas {
-  private final List<RewardAndPenalty> deltas;
+  private final long[] rewards;
+  private final long[] penalties;
 
   public RewardAndPenaltyDeltas(final int validatorCount) {
-    this.deltas = new ArrayList<>(validatorCount);
-    for (int i = 0; i < validatorCount; i++) {
-      deltas.add(new RewardAndPenalty());
-    }
+    this.rewards = new long[validatorCount];
+    this.penalties = new long[validatorCount];
+  }
+
+  public int getValidatorCount() {
+    return rewards.length;
   }
 
+  /**
+   * Returns a view of the deltas of the specified validator. The view doesn't hold any state so
+   * it's preferable to use {@link #reward(int, UInt64)} and {@link #penalize(int, UInt64)} directly
+   * in tight loops
+   */
   public RewardAndPenalty getDelta(final int validatorIndex) {
-    return deltas.get(validatorIndex);
+    Objects.checkIndex(validatorIndex, rewards.length);
+    return new RewardAndPenalty(validatorIndex);
+  }
+
+  public void reward(final int validatorIndex, final UInt64 amount) {
+    rewards[validatorIndex] = plus(rewards[validatorIndex], amount.longValue());
+  }
+
+  public void penalize(final int validatorIndex, final UInt64 amount) {
+    penalties[validatorIndex] = plus(penalties[validatorIndex], amount.longValue());
+  }
+
+  public UInt64 getReward(final int validatorIndex) {
+    return UInt64.fromLongBits(rewards[validatorIndex]);
+  }
+
+  public UInt64 getPenalty(final int validatorIndex) {
+    return UInt64.fromLongBits(penalties[validatorIndex]);
+  }
+
+  /**
+   * Applies the deltas to the balance of the specified validator
+   *
+   * @param validatorIndex the validator index
+   * @param balance the current balance as unsigned long bits
+   * @return the new balance as unsigned long bits
+   * @throws ArithmeticException if the balance overflows uint64
+   */
+  public long applyTo(final int validatorIndex, final long balance) {
+    final long increased = plus(balance, rewards[validatorIndex]);
+    final long penalty = penalties[validatorIndex];
+    return Long.compareUnsigned(increased, penalty) > 0 ? increased - penalty : 0;
+  }
+
+  private static long plus(final long longBits1, final long longBits2) {
+    if (Long.compareUnsigned(longBits2, -1L - longBits1) > 0) {
+      throw new ArithmeticException("uint64 overflow");
+    }
+    return longBits1 + longBits2;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final RewardAndPenaltyDeltas that = (RewardAndPenaltyDeltas) o;
+    return Arrays.equals(rewards, that.rewards) && Arrays.equals(penalties, that.penalties);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(rewards) + Arrays.hashCode(penalties);
   }
 
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this).add("deltas", deltas).toString();
+    final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
+    for (int i = 0; i < rewards.length; i++) {
+      helper.add(Integer.toString(i), getDelta(i));
+    }
+    return helper.toString();
   }
 
-  public static class RewardAndPenalty {
-    private UInt64 reward = UInt64.ZERO;
-    private UInt64 penalty = UInt64.ZERO;
+  /** The deltas of a single validator backed by the arrays of the enclosing instance */
+  public class RewardAndPenalty {
+    private final int validatorIndex;
+
+    private RewardAndPenalty(final int validatorIndex) {
+      this.validatorIndex = validatorIndex;
+    }
 
     public void reward(final UInt64 amount) {
-      reward = reward.plus(amount);
+      RewardAndPenaltyDeltas.this.reward(validatorIndex, amount);
     }
 
     public void penalize(final UInt64 amount) {
-      penalty = penalty.plus(amount);
+      RewardAndPenaltyDeltas.this.penalize(validatorIndex, amount);
     }
 
     public void add(final RewardAndPenalty other) {
-      reward(other.reward);
-      penalize(other.penalty);
+      reward(other.getReward());
+      penalize(other.getPenalty());
     }
 
     public UInt64 getReward() {
-      return reward;
+      return RewardAndPenaltyDeltas.this.getReward(validatorIndex);
     }
 
     public UInt64 getPenalty() {
-      return penalty;
+      return RewardAndPenaltyDeltas.this.getPenalty(validatorIndex);
     }
 
     @Override
@@ -72,19 +147,20 @@ public class RewardAndPenaltyDeltas {
         return false;
       }
       final RewardAndPenalty delta = (RewardAndPenalty) o;
-      return Objects.equals(reward, delta.reward) && Objects.equals(penalty, delta.penalty);
+      return Objects.equals(getReward(), delta.getReward())
+          && Objects.equals(getPenalty(), delta.getPenalty());
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(reward, penalty);
+      return Objects.hash(getReward(), getPenalty());
     }
 
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
-          .add("reward", reward)
-          .add("penalty", penalty)
+          .add("reward", getReward())
+          .add("penalty", getPenalty())
           .toString();
     }
   }
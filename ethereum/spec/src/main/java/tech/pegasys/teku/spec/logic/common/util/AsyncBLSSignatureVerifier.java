@@ -20,6 +20,7 @@ import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public interface AsyncBLSSignatureVerifier {
   static AsyncBLSSignatureVerifier wrap(BLSSignatureVerifier syncVerifier) {
@@ -63,4 +64,13 @@ public interface AsyncBLSSignatureVerifier {
       final List<List<BLSPublicKey>> publicKeys,
       final List<Bytes> messages,
       final List<BLSSignature> signatures);
+
+  /**
+   * Returns a verifier for the signatures of objects from the specified slot, which may skip the
+   * verification once the slot is too old for the result to be useful. By default the slot is
+   * ignored
+   */
+  default AsyncBLSSignatureVerifier forSlot(final UInt64 slot) {
+    return this;
+  }
 }
@@ -15,7 +15,9 @@ package tech.pegasys.teku.spec.logic.common.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.bls.BLSSignatureVerifier;
@@ -27,19 +29,33 @@ public class AsyncBatchBLSSignatureVerifier implements BLSSignatureVerifier {
   private final List<List<BLSPublicKey>> publicKeys = new ArrayList<>();
   private final List<Bytes> messages = new ArrayList<>();
   private final List<BLSSignature> signatures = new ArrayList<>();
+  private final List<Optional<Bytes32>> cacheKeys = new ArrayList<>();
 
   private final AsyncBLSSignatureVerifier delegate;
+  private final Optional<VerifiedSignatureCache> verifiedSignatureCache;
 
   public AsyncBatchBLSSignatureVerifier(final AsyncBLSSignatureVerifier delegate) {
+    this(delegate, Optional.empty());
+  }
+
+  public AsyncBatchBLSSignatureVerifier(
+      final AsyncBLSSignatureVerifier delegate,
+      final Optional<VerifiedSignatureCache> verifiedSignatureCache) {
     this.delegate = delegate;
+    this.verifiedSignatureCache = verifiedSignatureCache;
   }
 
   @Override
   public boolean verify(
       final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    final Optional<Bytes32> cacheKey = computeCacheKey(publicKeys, message, signature);
+    if (verifiedSignatureCache.map(cache -> cache.isVerified(cacheKey)).orElse(false)) {
+      return true;
+    }
     this.publicKeys.add(publicKeys);
     this.messages.add(message);
     this.signatures.add(signature);
+    this.cacheKeys.add(cacheKey);
     return true;
   }
 
@@ -51,11 +67,34 @@ public class AsyncBatchBLSSignatureVerifier implements BLSSignatureVerifier {
     this.publicKeys.addAll(publicKeys);
     this.messages.addAll(messages);
     this.signatures.addAll(signatures);
+    for (int i = 0; i < publicKeys.size(); i++) {
+      cacheKeys.add(computeCacheKey(publicKeys.get(i), messages.get(i), signatures.get(i)));
+    }
     return true;
   }
 
+  private Optional<Bytes32> computeCacheKey(
+      final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    return verifiedSignatureCache.flatMap(
+        cache -> cache.computeKey(publicKeys, message, signature));
+  }
+
   public SafeFuture<Boolean> batchVerify() {
-    return delegate.verify(publicKeys, messages, signatures);
+    if (publicKeys.isEmpty()) {
+      return TRUE;
+    }
+    final SafeFuture<Boolean> result = delegate.verify(publicKeys, messages, signatures);
+    verifiedSignatureCache.ifPresent(
+        cache ->
+            result.finish(
+                isValid -> {
+                  if (isValid) {
+                    cacheKeys.forEach(cache::addVerified);
+                  }
+                },
+                // Failures are reported to the caller through the returned future
+                error -> {}));
+    return result;
   }
 
   public AsyncBLSSignatureVerifier asAsyncBSLSSignatureVerifier() {
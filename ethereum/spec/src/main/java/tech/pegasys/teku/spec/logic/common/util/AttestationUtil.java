@@ -29,6 +29,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.bls.BLSSignatureVerifier;
+import tech.pegasys.teku.bls.PreAggregatedPublicKeys;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszBitlist;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
@@ -235,6 +236,17 @@ public class AttestationUtil {
           AttestationProcessingResult.invalid("Attesting indices include non-existent validator"));
     }
 
+    // Large aggregates are cheaper to verify against the committee aggregate minus the absentees
+    final List<BLSPublicKey> signingPubkeys =
+        beaconStateAccessors
+            .getCommitteeMembersAggregatePubKey(
+                state,
+                indexed_attestation.getData().getSlot(),
+                indexed_attestation.getData().getIndex(),
+                indices.asListUnboxed())
+            .<List<BLSPublicKey>>map(aggregate -> new PreAggregatedPublicKeys(pubkeys, aggregate))
+            .orElse(pubkeys);
+
     BLSSignature signature = indexed_attestation.getSignature();
     Bytes32 domain =
         beaconStateAccessors.getDomain(
@@ -245,7 +257,7 @@ public class AttestationUtil {
     Bytes signing_root = miscHelpers.computeSigningRoot(indexed_attestation.getData(), domain);
 
     return signatureVerifier
-        .verify(pubkeys, signing_root, signature)
+        .verify(signingPubkeys, signing_root, signature)
         .thenApply(
             isValidSignature -> {
               if (isValidSignature) {
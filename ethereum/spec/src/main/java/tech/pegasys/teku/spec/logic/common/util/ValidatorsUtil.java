@@ -18,6 +18,7 @@ import static tech.pegasys.teku.spec.logic.common.helpers.MathHelpers.bytesToUIn
 
 import it.unimi.dsi.fastutil.ints.IntList;
 import java.util.Optional;
+import java.util.function.Supplier;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.infrastructure.crypto.Hash;
@@ -28,6 +29,7 @@ import tech.pegasys.teku.spec.datastructures.state.CommitteeAssignment;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPubKeyIndex;
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateAccessors;
 import tech.pegasys.teku.spec.logic.common.helpers.MiscHelpers;
 
@@ -36,6 +38,7 @@ public class ValidatorsUtil {
   private final SpecConfig specConfig;
   private final MiscHelpers miscHelpers;
   private final BeaconStateAccessors beaconStateAccessors;
+  private volatile Optional<ValidatorPubKeyIndex> validatorPubKeyIndex = Optional.empty();
 
   public ValidatorsUtil(
       final SpecConfig specConfig,
@@ -61,10 +64,23 @@ public class ValidatorsUtil {
         && validator.getActivation_epoch().equals(SpecConfig.FAR_FUTURE_EPOCH);
   }
 
+  /** Looks validator indices up in the node wide index first when one is set */
+  public void setValidatorPubKeyIndex(final ValidatorPubKeyIndex validatorPubKeyIndex) {
+    this.validatorPubKeyIndex = Optional.of(validatorPubKeyIndex);
+  }
+
   public Optional<Integer> getValidatorIndex(BeaconState state, BLSPublicKey publicKey) {
-    return BeaconStateCache.getTransitionCaches(state)
-        .getValidatorIndexCache()
-        .getValidatorIndex(state, publicKey);
+    final Supplier<Optional<Integer>> stateCacheLookup =
+        () ->
+            BeaconStateCache.getTransitionCaches(state)
+                .getValidatorIndexCache()
+                .getValidatorIndex(state, publicKey);
+    return validatorPubKeyIndex
+        .map(
+            index ->
+                index.getValidatorIndex(
+                    state.getValidators(), publicKey.toBytesCompressed(), stateCacheLookup))
+        .orElseGet(stateCacheLookup);
   }
 
   /**
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.common.util;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.collections.LimitedSet;
+import tech.pegasys.teku.infrastructure.crypto.MessageDigestFactory;
+
+/**
+ * Bounded cache of the aggregate signatures which were already successfully verified, so that the
+ * same aggregate (e.g. an aggregate attestation received from gossip and later included in a block)
+ * doesn't need to be verified again.
+ *
+ * <p>Only signatures over more than one public key are cached: single signatures are too numerous
+ * and rarely verified twice. An entry is identified by the digest of the signature, the message and
+ * all the public keys, so any difference in the signers gives a different entry. The key is
+ * computed once per signature with {@link #computeKey(List, Bytes, BLSSignature)} and reused for
+ * the lookup and the insertion.
+ *
+ * <p>The instance is owned by the node and shared by the block and gossip signature verifiers.
+ */
+public class VerifiedSignatureCache {
+
+  public static final int DEFAULT_MAX_SIZE = 8192;
+
+  private final Set<Bytes32> verifiedSignatures;
+
+  public VerifiedSignatureCache(final int maxSize) {
+    this.verifiedSignatures = LimitedSet.create(maxSize);
+  }
+
+  /**
+   * Computes the key identifying the signature over the message by the public keys
+   *
+   * @return the key or empty if signatures by that number of keys aren't cached
+   */
+  public Optional<Bytes32> computeKey(
+      final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    if (publicKeys.size() <= 1) {
+      return Optional.empty();
+    }
+    final MessageDigest digest = MessageDigestFactory.createSha256();
+    signature.toBytesCompressed().update(digest);
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(message.size()).array());
+    message.update(digest);
+    for (BLSPublicKey publicKey : publicKeys) {
+      publicKey.toBytesCompressed().update(digest);
+    }
+    return Optional.of(Bytes32.wrap(digest.digest()));
+  }
+
+  /** Returns true if the signature with the key was already successfully verified */
+  public boolean isVerified(final Optional<Bytes32> key) {
+    return key.map(verifiedSignatures::contains).orElse(false);
+  }
+
+  /** Records the signature with the key as successfully verified */
+  public void addVerified(final Optional<Bytes32> key) {
+    key.ifPresent(verifiedSignatures::add);
+  }
+
+  public int size() {
+    return verifiedSignatures.size();
+  }
+}
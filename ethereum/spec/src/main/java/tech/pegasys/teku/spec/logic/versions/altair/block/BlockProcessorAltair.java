@@ -20,6 +20,7 @@ import static tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAl
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
@@ -39,7 +40,10 @@ import tech.pegasys.teku.spec.datastructures.execution.ExecutionPayload;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
 import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
 import tech.pegasys.teku.spec.datastructures.operations.Deposit;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochParticipationCounts;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.TransitionCaches;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.MutableBeaconStateAltair;
 import tech.pegasys.teku.spec.logic.common.block.AbstractBlockProcessor;
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateMutators;
@@ -119,11 +123,23 @@ public class BlockProcessorAltair extends AbstractBlockProcessor {
             state, data, state.getSlot().minus(data.getSlot()));
 
     // Update epoch participation flags
+    final TransitionCaches transitionCaches = BeaconStateCache.getTransitionCaches(state);
+    final boolean isCurrentEpoch =
+        data.getTarget().getEpoch().equals(beaconStateAccessors.getCurrentEpoch(state));
     final SszMutableList<SszByte> epochParticipation;
-    if (data.getTarget().getEpoch().equals(beaconStateAccessors.getCurrentEpoch(state))) {
+    final Optional<EpochParticipationCounts.Builder> participationCounts;
+    if (isCurrentEpoch) {
       epochParticipation = state.getCurrentEpochParticipation();
+      participationCounts =
+          transitionCaches
+              .getCurrentEpochParticipationCounts()
+              .map(EpochParticipationCounts::toBuilder);
     } else {
       epochParticipation = state.getPreviousEpochParticipation();
+      participationCounts =
+          transitionCaches
+              .getPreviousEpochParticipationCounts()
+              .map(EpochParticipationCounts::toBuilder);
     }
 
     UInt64 proposerRewardNumerator = UInt64.ZERO;
@@ -131,7 +147,8 @@ public class BlockProcessorAltair extends AbstractBlockProcessor {
         indexedAttestationProvider.getIndexedAttestation(attestation).getAttesting_indices();
     for (SszUInt64 attestingIndex : attestingIndices) {
       final int index = attestingIndex.get().intValue();
-      byte participationFlags = epochParticipation.get(index).get();
+      final byte oldParticipationFlags = epochParticipation.get(index).get();
+      byte participationFlags = oldParticipationFlags;
       final UInt64 baseReward = beaconStateAccessorsAltair.getBaseReward(state, index);
       boolean shouldUpdate = false;
       for (int flagIndex = 0; flagIndex < PARTICIPATION_FLAG_WEIGHTS.size(); flagIndex++) {
@@ -147,8 +164,19 @@ public class BlockProcessorAltair extends AbstractBlockProcessor {
 
       if (shouldUpdate) {
         epochParticipation.set(index, SszByte.of(participationFlags));
+        final byte newParticipationFlags = participationFlags;
+        participationCounts.ifPresent(
+            counts -> counts.updateFlags(oldParticipationFlags, newParticipationFlags));
       }
     }
+    participationCounts.ifPresent(
+        counts -> {
+          if (isCurrentEpoch) {
+            transitionCaches.setCurrentEpochParticipationCounts(counts.build());
+          } else {
+            transitionCaches.setPreviousEpochParticipationCounts(counts.build());
+          }
+        });
 
     if (!proposerRewardNumerator.isZero()) {
       final int proposerIndex = beaconStateAccessors.getBeaconProposerIndex(state);
@@ -13,22 +13,39 @@
 
 package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
 
+import static tech.pegasys.teku.spec.constants.IncentivizationWeights.WEIGHT_DENOMINATOR;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_HEAD_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_TARGET_FLAG_INDEX;
+import static tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAltair.PARTICIPATION_FLAG_WEIGHTS;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import tech.pegasys.teku.infrastructure.ssz.SszMutableList;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszByte;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.config.SpecConfigAltair;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochParticipationCounts;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.TransitionCaches;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.MutableBeaconStateAltair;
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateMutators;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.AbstractEpochProcessor;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.EpochProcessingMetrics.PhaseTimer;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatusFactory;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.logic.common.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.logic.common.util.ValidatorsUtil;
 import tech.pegasys.teku.spec.logic.versions.altair.helpers.BeaconStateAccessorsAltair;
@@ -40,6 +57,7 @@ public class EpochProcessorAltair extends AbstractEpochProcessor {
   private final SpecConfigAltair specConfigAltair;
   protected final MiscHelpersAltair miscHelpersAltair;
   protected final BeaconStateAccessorsAltair beaconStateAccessorsAltair;
+  private volatile ValidatorRangeExecutor rangeExecutor = ValidatorRangeExecutor.SEQUENTIAL;
 
   public EpochProcessorAltair(
       final SpecConfigAltair specConfig,
@@ -64,6 +82,338 @@ public class EpochProcessorAltair extends AbstractEpochProcessor {
     this.beaconStateAccessorsAltair = beaconStateAccessors;
   }
 
+  @Override
+  public void setParallelExecutionPool(final ForkJoinPool pool) {
+    this.rangeExecutor = ValidatorRangeExecutor.create(pool);
+  }
+
+  /**
+   * Processes the epoch over {@link ValidatorColumns} extracted from the pre-state once instead of
+   * re-reading the validators from the state tree in every phase. Inactivity updates and rewards
+   * and penalties are computed in a single fused loop, and registry updates, slashings and
+   * effective balance updates only touch the state for the validators which actually change.
+   * Balances and inactivity scores are written back in bulk.
+   *
+   * <p>The per validator computations of inactivity updates, rewards and penalties and effective
+   * balance updates are split across the threads of the pool set by {@link
+   * #setParallelExecutionPool(ForkJoinPool)}.
+   *
+   * <p>The result is identical to applying the individual {@code process*} phases in order.
+   */
+  @Override
+  protected void processEpoch(final BeaconState preState, final MutableBeaconState genericState)
+      throws EpochProcessingException {
+    final PhaseTimer timer = startPhaseTimer();
+    final MutableBeaconStateAltair state = MutableBeaconStateAltair.required(genericState);
+    final UInt64 currentEpoch = beaconStateAccessors.getCurrentEpoch(preState);
+    final ValidatorColumns columns =
+        ValidatorColumns.create(
+            BeaconStateAltair.required(preState),
+            beaconStateAccessors.getPreviousEpoch(preState),
+            currentEpoch);
+    final TotalBalances totalBalances = columns.createTotalBalances(specConfig);
+    BeaconStateCache.getTransitionCaches(preState).setLatestTotalBalances(totalBalances);
+    BeaconStateCache.getTransitionCaches(preState)
+        .getTotalActiveBalance()
+        .get(currentEpoch, __ -> totalBalances.getCurrentEpochActiveValidators());
+    timer.phaseCompleted("validator_statuses");
+
+    processJustificationAndFinalization(state, totalBalances);
+    timer.phaseCompleted("justification_and_finalization");
+    processInactivityUpdatesAndRewardsAndPenalties(state, columns, totalBalances);
+    timer.phaseCompleted("rewards_and_penalties");
+    processRegistryUpdates(state, columns);
+    timer.phaseCompleted("registry_updates");
+    processSlashings(state, columns, totalBalances.getCurrentEpochActiveValidators());
+    columns.writeBalances(state.getBalances());
+    timer.phaseCompleted("slashings");
+    processEth1DataReset(state);
+    processEffectiveBalanceUpdates(state, columns);
+    timer.phaseCompleted("effective_balance_updates");
+    processSlashingsReset(state);
+    processRandaoMixesReset(state);
+    processHistoricalRootsUpdate(state);
+    processParticipationUpdates(state);
+    processSyncCommitteeUpdates(state);
+    timer.phaseCompleted("final_updates");
+  }
+
+  /**
+   * Fused {@link #processInactivityUpdates} and {@link #processRewardsAndPenalties}: the new
+   * inactivity score of a validator is used for its inactivity penalty in the same iteration.
+   * Updated balances are left in the columns. Validators are processed in parallel as each only
+   * updates its own balance and inactivity score.
+   */
+  protected void processInactivityUpdatesAndRewardsAndPenalties(
+      final MutableBeaconStateAltair state,
+      final ValidatorColumns columns,
+      final TotalBalances totalBalances)
+      throws EpochProcessingException {
+    if (beaconStateAccessors.getCurrentEpoch(state).equals(SpecConfig.GENESIS_EPOCH)) {
+      return;
+    }
+    try {
+      final boolean isInInactivityLeak = beaconStateAccessors.isInactivityLeak(state);
+      final long inactivityScoreBias = specConfigAltair.getInactivityScoreBias().longValue();
+      final long inactivityScoreRecoveryRate =
+          specConfigAltair.getInactivityScoreRecoveryRate().longValue();
+      final long inactivityPenaltyDenominator =
+          specConfigAltair
+              .getInactivityScoreBias()
+              .times(getInactivityPenaltyQuotient())
+              .longValue();
+
+      final UInt64 effectiveBalanceIncrement = specConfig.getEffectiveBalanceIncrement();
+      final long increment = effectiveBalanceIncrement.longValue();
+      final long baseRewardPerIncrement =
+          beaconStateAccessorsAltair.getBaseRewardPerIncrement(state).longValue();
+      final long rewardDenominator =
+          totalBalances
+              .getCurrentEpochActiveValidators()
+              .dividedBy(effectiveBalanceIncrement)
+              .times(WEIGHT_DENOMINATOR)
+              .longValue();
+      final long weightDenominator = WEIGHT_DENOMINATOR.longValue();
+      final int flagCount = PARTICIPATION_FLAG_WEIGHTS.size();
+      final long[] flagWeights = new long[flagCount];
+      final long[] unslashedParticipatingIncrements = new long[flagCount];
+      for (int flagIndex = 0; flagIndex < flagCount; flagIndex++) {
+        flagWeights[flagIndex] = PARTICIPATION_FLAG_WEIGHTS.get(flagIndex).longValue();
+        unslashedParticipatingIncrements[flagIndex] =
+            getPrevEpochTotalParticipatingBalance(totalBalances, flagIndex)
+                .dividedBy(effectiveBalanceIncrement)
+                .longValue();
+      }
+
+      rangeExecutor.forEachRange(
+          columns.getValidatorCount(),
+          (fromIndex, toIndex) -> {
+            for (int i = fromIndex; i < toIndex; i++) {
+              if (!columns.isEligibleValidator(i)) {
+                continue;
+              }
+              final boolean slashed = columns.isSlashed(i);
+              final boolean unslashedTargetAttester =
+                  !slashed && columns.hasPreviousEpochFlag(i, TIMELY_TARGET_FLAG_INDEX);
+              final long effectiveBalance = columns.getEffectiveBalance(i);
+
+              // Inactivity updates
+              final long currentScore = columns.getInactivityScore(i);
+              long newScore =
+                  unslashedTargetAttester
+                      ? minusMinZero(currentScore, 1)
+                      : Math.addExact(currentScore, inactivityScoreBias);
+              if (!isInInactivityLeak) {
+                newScore = minusMinZero(newScore, inactivityScoreRecoveryRate);
+              }
+              columns.setInactivityScore(i, newScore);
+
+              // Flag index deltas
+              final long baseReward =
+                  Math.multiplyExact(effectiveBalance / increment, baseRewardPerIncrement);
+              long reward = 0;
+              long penalty = 0;
+              for (int flagIndex = 0; flagIndex < flagCount; flagIndex++) {
+                if (!slashed && columns.hasPreviousEpochFlag(i, flagIndex)) {
+                  if (!isInInactivityLeak) {
+                    final long rewardNumerator =
+                        Math.multiplyExact(
+                            Math.multiplyExact(baseReward, flagWeights[flagIndex]),
+                            unslashedParticipatingIncrements[flagIndex]);
+                    reward = Math.addExact(reward, rewardNumerator / rewardDenominator);
+                  }
+                } else if (flagIndex != TIMELY_HEAD_FLAG_INDEX) {
+                  penalty =
+                      Math.addExact(
+                          penalty,
+                          Math.multiplyExact(baseReward, flagWeights[flagIndex])
+                              / weightDenominator);
+                }
+              }
+
+              // Inactivity penalty deltas
+              if (!unslashedTargetAttester) {
+                penalty =
+                    Math.addExact(
+                        penalty,
+                        Math.multiplyExact(effectiveBalance, newScore)
+                            / inactivityPenaltyDenominator);
+              }
+
+              columns.setBalance(
+                  i, minusMinZero(Math.addExact(columns.getBalance(i), reward), penalty));
+            }
+          });
+      columns.writeInactivityScores(state.getInactivityScores());
+    } catch (IllegalArgumentException e) {
+      throw new EpochProcessingException(e);
+    }
+  }
+
+  /** Columnar version of {@link #processRegistryUpdates(MutableBeaconState, List)} */
+  protected void processRegistryUpdates(
+      final MutableBeaconState state, final ValidatorColumns columns)
+      throws EpochProcessingException {
+    try {
+      final SszMutableList<Validator> validators = state.getValidators();
+      final UInt64 currentEpoch = beaconStateAccessors.getCurrentEpoch(state);
+      final long maxEffectiveBalance = specConfig.getMaxEffectiveBalance().longValue();
+      final long ejectionBalance = specConfig.getEjectionBalance().longValue();
+      final long farFutureEpoch = SpecConfig.FAR_FUTURE_EPOCH.longValue();
+
+      // Process activation eligibility and ejections
+      for (int index = 0; index < columns.getValidatorCount(); index++) {
+        if (!columns.isActiveInCurrentEpoch(index)) {
+          if (columns.getEffectiveBalance(index) == maxEffectiveBalance
+              && columns.getActivationEligibilityEpoch(index) == farFutureEpoch) {
+            final Validator validator =
+                validators
+                    .get(index)
+                    .withActivation_eligibility_epoch(currentEpoch.plus(UInt64.ONE));
+            validators.set(index, validator);
+            columns.updateValidator(index, validator);
+          }
+        } else if (columns.getEffectiveBalance(index) <= ejectionBalance) {
+          beaconStateMutators.initiateValidatorExit(state, index);
+          columns.updateValidator(index, validators.get(index));
+        }
+      }
+
+      // Queue validators eligible for activation and not yet dequeued for activation
+      final long finalizedEpoch = state.getFinalized_checkpoint().getEpoch().longValue();
+      final List<Integer> activationQueue = new ArrayList<>();
+      for (int index = 0; index < columns.getValidatorCount(); index++) {
+        if (!columns.isActiveInCurrentEpoch(index)
+            && Long.compareUnsigned(columns.getActivationEligibilityEpoch(index), finalizedEpoch)
+                <= 0
+            && columns.getActivationEpoch(index) == farFutureEpoch) {
+          activationQueue.add(index);
+        }
+      }
+      activationQueue.sort(
+          (index1, index2) -> {
+            final int comparisonResult =
+                Long.compareUnsigned(
+                    columns.getActivationEligibilityEpoch(index1),
+                    columns.getActivationEligibilityEpoch(index2));
+            return comparisonResult != 0 ? comparisonResult : index1.compareTo(index2);
+          });
+
+      // Dequeued validators for activation up to churn limit (without resetting activation epoch)
+      final int churnLimit = beaconStateAccessors.getValidatorChurnLimit(state).intValue();
+      final int sublistSize = Math.min(churnLimit, activationQueue.size());
+      final UInt64 activationEpoch = miscHelpers.computeActivationExitEpoch(currentEpoch);
+      for (Integer index : activationQueue.subList(0, sublistSize)) {
+        final Validator validator = validators.get(index).withActivation_epoch(activationEpoch);
+        validators.set(index, validator);
+        columns.updateValidator(index, validator);
+      }
+    } catch (IllegalArgumentException e) {
+      throw new EpochProcessingException(e);
+    }
+  }
+
+  /**
+   * Columnar version of {@link #processSlashings(MutableBeaconState, UInt64)}. Updated balances are
+   * left in the columns.
+   */
+  protected void processSlashings(
+      final MutableBeaconState state, final ValidatorColumns columns, final UInt64 totalBalance) {
+    final UInt64 epoch = beaconStateAccessors.getCurrentEpoch(state);
+    final UInt64 adjustedTotalSlashingBalance =
+        state
+            .getSlashings()
+            .streamUnboxed()
+            .reduce(UInt64.ZERO, UInt64::plus)
+            .times(getProportionalSlashingMultiplier())
+            .min(totalBalance);
+    final long withdrawableEpoch =
+        epoch.plus(specConfig.getEpochsPerSlashingsVector() / 2).longValue();
+    final UInt64 increment = specConfig.getEffectiveBalanceIncrement();
+
+    for (int index = 0; index < columns.getValidatorCount(); index++) {
+      if (columns.isSlashed(index) && columns.getWithdrawableEpoch(index) == withdrawableEpoch) {
+        final UInt64 penaltyNumerator =
+            UInt64.valueOf(columns.getEffectiveBalance(index))
+                .dividedBy(increment)
+                .times(adjustedTotalSlashingBalance);
+        final UInt64 penalty = penaltyNumerator.dividedBy(totalBalance).times(increment);
+        columns.setBalance(
+            index, UInt64.valueOf(columns.getBalance(index)).minusMinZero(penalty).longValue());
+      }
+    }
+  }
+
+  /**
+   * Columnar version of {@link #processEffectiveBalanceUpdates(MutableBeaconState)} reading the
+   * balances from the columns. Only the validators whose effective balance changes are updated in
+   * the state.
+   */
+  protected void processEffectiveBalanceUpdates(
+      final MutableBeaconState state, final ValidatorColumns columns) {
+    final SszMutableList<Validator> validators = state.getValidators();
+    final long effectiveBalanceIncrement = specConfig.getEffectiveBalanceIncrement().longValue();
+    final long maxEffectiveBalance = specConfig.getMaxEffectiveBalance().longValue();
+    final UInt64 hysteresisIncrement =
+        specConfig.getEffectiveBalanceIncrement().dividedBy(specConfig.getHysteresisQuotient());
+    final long downwardThreshold =
+        hysteresisIncrement.times(specConfig.getHysteresisDownwardMultiplier()).longValue();
+    final long upwardThreshold =
+        hysteresisIncrement.times(specConfig.getHysteresisUpwardMultiplier()).longValue();
+
+    // Computed in parallel, then applied to the (not thread safe) state in index order
+    final long[] newEffectiveBalances = new long[columns.getValidatorCount()];
+    rangeExecutor.forEachRange(
+        columns.getValidatorCount(),
+        (fromIndex, toIndex) -> {
+          for (int index = fromIndex; index < toIndex; index++) {
+            final long balance = columns.getBalance(index);
+            final long currentEffectiveBalance = columns.getEffectiveBalance(index);
+            // Same as the phase by phase version, validators at the maximum are not increased
+            if (Math.addExact(balance, downwardThreshold) < currentEffectiveBalance
+                || (currentEffectiveBalance != maxEffectiveBalance
+                    && Math.addExact(currentEffectiveBalance, upwardThreshold) < balance)) {
+              newEffectiveBalances[index] =
+                  Math.min(balance - balance % effectiveBalanceIncrement, maxEffectiveBalance);
+            } else {
+              newEffectiveBalances[index] = currentEffectiveBalance;
+            }
+          }
+        });
+
+    for (int index = 0; index < newEffectiveBalances.length; index++) {
+      if (newEffectiveBalances[index] != columns.getEffectiveBalance(index)) {
+        validators.set(
+            index,
+            validators
+                .get(index)
+                .withEffective_balance(UInt64.valueOf(newEffectiveBalances[index])));
+      }
+    }
+  }
+
+  private static long minusMinZero(final long value, final long subtrahend) {
+    return value > subtrahend ? value - subtrahend : 0;
+  }
+
+  private static UInt64 getPrevEpochTotalParticipatingBalance(
+      final TotalBalances totalBalances, final int flagIndex) {
+    switch (flagIndex) {
+      case TIMELY_HEAD_FLAG_INDEX:
+        return totalBalances.getPreviousEpochHeadAttesters();
+      case TIMELY_TARGET_FLAG_INDEX:
+        return totalBalances.getPreviousEpochTargetAttesters();
+      case TIMELY_SOURCE_FLAG_INDEX:
+        return totalBalances.getPreviousEpochSourceAttesters();
+      default:
+        throw new IllegalArgumentException("Unable to process unknown flag index:" + flagIndex);
+    }
+  }
+
+  protected UInt64 getInactivityPenaltyQuotient() {
+    return specConfigAltair.getInactivityPenaltyQuotientAltair();
+  }
+
   @Override
   public RewardAndPenaltyDeltas getRewardAndPenaltyDeltas(
       final BeaconState genericState, final ValidatorStatuses validatorStatuses) {
@@ -96,6 +446,14 @@ public class EpochProcessorAltair extends AbstractEpochProcessor {
     // Reset current epoch participation flags
     state.getCurrentEpochParticipation().clear();
     state.getCurrentEpochParticipation().setAll(SszByte.ZERO, state.getValidators().size());
+
+    // The counts move along with the flags
+    final TransitionCaches transitionCaches = BeaconStateCache.getTransitionCaches(state);
+    final Optional<EpochParticipationCounts> currentCounts =
+        transitionCaches.getCurrentEpochParticipationCounts();
+    transitionCaches.clearParticipationCounts();
+    currentCounts.ifPresent(transitionCaches::setPreviousEpochParticipationCounts);
+    transitionCaches.setCurrentEpochParticipationCounts(EpochParticipationCounts.ZERO);
   }
 
   @Override
@@ -20,12 +20,12 @@ import static tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAl
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfigAltair;
 import tech.pegasys.teku.spec.constants.ParticipationFlags;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardsAndPenaltiesCalculator;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
@@ -91,24 +91,22 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
     final UInt64 weight = PARTICIPATION_FLAG_WEIGHTS.get(flagIndex);
     final UInt64 activeIncrements =
         totalBalances.getCurrentEpochActiveValidators().dividedBy(effectiveBalanceIncrement);
+    final boolean isInactivityLeak = isInactivityLeak();
 
     for (int i = 0; i < statusList.size(); i++) {
       final ValidatorStatus validator = statusList.get(i);
       if (!validator.isEligibleValidator()) {
         continue;
       }
-      final RewardAndPenalty validatorDeltas = deltas.getDelta(i);
-
       final UInt64 baseReward = getBaseReward(i);
       if (isUnslashedPrevEpochParticipatingIndex(validator, flagIndex)) {
-        if (!isInactivityLeak()) {
+        if (!isInactivityLeak) {
           final UInt64 rewardNumerator =
               baseReward.times(weight).times(unslashedParticipatingIncrements);
-          validatorDeltas.reward(
-              rewardNumerator.dividedBy(activeIncrements.times(WEIGHT_DENOMINATOR)));
+          deltas.reward(i, rewardNumerator.dividedBy(activeIncrements.times(WEIGHT_DENOMINATOR)));
         }
       } else if (flagIndex != TIMELY_HEAD_FLAG_INDEX) {
-        validatorDeltas.penalize(baseReward.times(weight).dividedBy(WEIGHT_DENOMINATOR));
+        deltas.penalize(i, baseReward.times(weight).dividedBy(WEIGHT_DENOMINATOR));
       }
     }
   }
@@ -123,6 +121,9 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
    */
   public void processInactivityPenaltyDeltas(final RewardAndPenaltyDeltas deltas) {
     final List<ValidatorStatus> statusList = validatorStatuses.getStatuses();
+    final SszUInt64List inactivityScores = stateAltair.getInactivityScores();
+    final UInt64 penaltyDenominator =
+        specConfigAltair.getInactivityScoreBias().times(getInactivityPenaltyQuotient());
     for (int i = 0; i < statusList.size(); i++) {
       final ValidatorStatus validator = statusList.get(i);
       if (!validator.isEligibleValidator()) {
@@ -133,13 +134,9 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
       }
 
       final UInt64 penaltyNumerator =
-          validator
-              .getCurrentEpochEffectiveBalance()
-              .times(stateAltair.getInactivityScores().get(i).get());
-      final UInt64 penaltyDenominator =
-          specConfigAltair.getInactivityScoreBias().times(getInactivityPenaltyQuotient());
+          validator.getCurrentEpochEffectiveBalance().times(inactivityScores.getElement(i));
       final UInt64 penalty = penaltyNumerator.dividedBy(penaltyDenominator);
-      deltas.getDelta(i).penalize(penalty);
+      deltas.penalize(i, penalty);
     }
   }
 
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
+
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_HEAD_FLAG;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_SOURCE_FLAG;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_TARGET_FLAG;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.indexToFlag;
+
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.config.SpecConfig;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
+
+/**
+ * Validator fields used by the epoch processing, extracted from the state once into primitive
+ * arrays (columns) indexed by validator index. All the per-validator computations can then run in
+ * tight loops without traversing the state tree and boxing values, and the results are written back
+ * to the state in bulk.
+ *
+ * <p>Epochs and balances are stored as raw {@link UInt64} long bits, so epochs must be compared
+ * unsigned ({@link SpecConfig#FAR_FUTURE_EPOCH} is {@code -1L}). Balances and inactivity scores
+ * always fit into a signed long.
+ *
+ * <p>Setters of different validator indices may be called concurrently, as long as every index is
+ * updated by a single thread.
+ */
+public class ValidatorColumns {
+
+  private final int validatorCount;
+  private final long currentEpoch;
+
+  private final long[] effectiveBalances;
+  private final boolean[] slashed;
+  private final long[] activationEligibilityEpochs;
+  private final long[] activationEpochs;
+  private final long[] exitEpochs;
+  private final long[] withdrawableEpochs;
+  private final boolean[] activeInCurrentEpoch;
+  private final boolean[] activeInPreviousEpoch;
+  private final byte[] previousEpochParticipation;
+  private final byte[] currentEpochParticipation;
+
+  private final long[] balances;
+  private final boolean[] updatedBalances;
+  private final long[] inactivityScores;
+  private final boolean[] updatedInactivityScores;
+
+  private ValidatorColumns(final int validatorCount, final long currentEpoch) {
+    this.validatorCount = validatorCount;
+    this.currentEpoch = currentEpoch;
+    this.effectiveBalances = new long[validatorCount];
+    this.slashed = new boolean[validatorCount];
+    this.activationEligibilityEpochs = new long[validatorCount];
+    this.activationEpochs = new long[validatorCount];
+    this.exitEpochs = new long[validatorCount];
+    this.withdrawableEpochs = new long[validatorCount];
+    this.activeInCurrentEpoch = new boolean[validatorCount];
+    this.activeInPreviousEpoch = new boolean[validatorCount];
+    this.previousEpochParticipation = new byte[validatorCount];
+    this.currentEpochParticipation = new byte[validatorCount];
+    this.balances = new long[validatorCount];
+    this.updatedBalances = new boolean[validatorCount];
+    this.inactivityScores = new long[validatorCount];
+    this.updatedInactivityScores = new boolean[validatorCount];
+  }
+
+  /**
+   * Extracts the columns from the state in a single pass over the validators
+   *
+   * @param state the state prior to the epoch processing
+   * @param previousEpoch the previous epoch of the state
+   * @param currentEpoch the current epoch of the state
+   */
+  public static ValidatorColumns create(
+      final BeaconStateAltair state, final UInt64 previousEpoch, final UInt64 currentEpoch) {
+    final SszList<Validator> validators = state.getValidators();
+    final ValidatorColumns columns =
+        new ValidatorColumns(validators.size(), currentEpoch.longValue());
+
+    int index = 0;
+    for (Validator validator : validators) {
+      columns.effectiveBalances[index] = validator.getEffective_balance().longValue();
+      columns.slashed[index] = validator.isSlashed();
+      columns.activationEligibilityEpochs[index] =
+          validator.getActivation_eligibility_epoch().longValue();
+      columns.activationEpochs[index] = validator.getActivation_epoch().longValue();
+      columns.exitEpochs[index] = validator.getExit_epoch().longValue();
+      columns.withdrawableEpochs[index] = validator.getWithdrawable_epoch().longValue();
+      columns.activeInCurrentEpoch[index] = columns.isActive(index, currentEpoch.longValue());
+      columns.activeInPreviousEpoch[index] = columns.isActive(index, previousEpoch.longValue());
+      index++;
+    }
+
+    // Participation flags only count for the epochs the validator was active in
+    final byte[] previousParticipation =
+        state.getPreviousEpochParticipation().sszSerialize().toArrayUnsafe();
+    final byte[] currentParticipation =
+        state.getCurrentEpochParticipation().sszSerialize().toArrayUnsafe();
+    for (int i = 0; i < columns.validatorCount; i++) {
+      if (columns.activeInPreviousEpoch[i]) {
+        columns.previousEpochParticipation[i] = previousParticipation[i];
+      }
+      if (columns.activeInCurrentEpoch[i]) {
+        columns.currentEpochParticipation[i] = currentParticipation[i];
+      }
+    }
+
+    final long[] balances = state.getBalances().toLongArray();
+    System.arraycopy(balances, 0, columns.balances, 0, columns.validatorCount);
+    final long[] inactivityScores = state.getInactivityScores().toLongArray();
+    System.arraycopy(inactivityScores, 0, columns.inactivityScores, 0, columns.validatorCount);
+    return columns;
+  }
+
+  private boolean isActive(final int index, final long epoch) {
+    return Long.compareUnsigned(activationEpochs[index], epoch) <= 0
+        && Long.compareUnsigned(epoch, exitEpochs[index]) < 0;
+  }
+
+  public int getValidatorCount() {
+    return validatorCount;
+  }
+
+  public long getEffectiveBalance(final int index) {
+    return effectiveBalances[index];
+  }
+
+  public boolean isSlashed(final int index) {
+    return slashed[index];
+  }
+
+  public long getActivationEligibilityEpoch(final int index) {
+    return activationEligibilityEpochs[index];
+  }
+
+  public long getActivationEpoch(final int index) {
+    return activationEpochs[index];
+  }
+
+  public long getWithdrawableEpoch(final int index) {
+    return withdrawableEpochs[index];
+  }
+
+  public boolean isActiveInCurrentEpoch(final int index) {
+    return activeInCurrentEpoch[index];
+  }
+
+  public boolean isActiveInPreviousEpoch(final int index) {
+    return activeInPreviousEpoch[index];
+  }
+
+  /** Corresponds to the validator selection of {@code get_eligible_validator_indices} */
+  public boolean isEligibleValidator(final int index) {
+    return activeInPreviousEpoch[index]
+        || (slashed[index] && Long.compareUnsigned(currentEpoch, withdrawableEpochs[index]) < 0);
+  }
+
+  /**
+   * @return true if the validator was active in the previous epoch and has the specified
+   *     participation flag set
+   */
+  public boolean hasPreviousEpochFlag(final int index, final int flagIndex) {
+    final int flag = indexToFlag(flagIndex);
+    return (previousEpochParticipation[index] & flag) == flag;
+  }
+
+  /**
+   * @return the previous epoch participation flags of the validator or 0 if the validator wasn't
+   *     active in the previous epoch
+   */
+  public byte getPreviousEpochParticipation(final int index) {
+    return previousEpochParticipation[index];
+  }
+
+  /**
+   * @return the current epoch participation flags of the validator or 0 if the validator isn't
+   *     active in the current epoch
+   */
+  public byte getCurrentEpochParticipation(final int index) {
+    return currentEpochParticipation[index];
+  }
+
+  public long getBalance(final int index) {
+    return balances[index];
+  }
+
+  public void setBalance(final int index, final long balance) {
+    if (balances[index] != balance) {
+      balances[index] = balance;
+      updatedBalances[index] = true;
+    }
+  }
+
+  public long getInactivityScore(final int index) {
+    return inactivityScores[index];
+  }
+
+  public void setInactivityScore(final int index, final long inactivityScore) {
+    if (inactivityScores[index] != inactivityScore) {
+      inactivityScores[index] = inactivityScore;
+      updatedInactivityScores[index] = true;
+    }
+  }
+
+  /** Refreshes the epochs of the validator which was updated in the state */
+  public void updateValidator(final int index, final Validator validator) {
+    activationEligibilityEpochs[index] = validator.getActivation_eligibility_epoch().longValue();
+    activationEpochs[index] = validator.getActivation_epoch().longValue();
+    exitEpochs[index] = validator.getExit_epoch().longValue();
+    withdrawableEpochs[index] = validator.getWithdrawable_epoch().longValue();
+  }
+
+  /** Writes the updated balances to the state list */
+  public void writeBalances(final SszMutableUInt64List stateBalances) {
+    writeUpdated(balances, updatedBalances, stateBalances);
+  }
+
+  /** Writes the updated inactivity scores to the state list */
+  public void writeInactivityScores(final SszMutableUInt64List stateInactivityScores) {
+    writeUpdated(inactivityScores, updatedInactivityScores, stateInactivityScores);
+  }
+
+  private static void writeUpdated(
+      final long[] values, final boolean[] updated, final SszMutableUInt64List list) {
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i]) {
+        list.setElement(i, UInt64.fromLongBits(values[i]));
+        updated[i] = false;
+      }
+    }
+  }
+
+  /** Sums effective balances the same way as the {@code ValidatorStatusFactory} does */
+  public TotalBalances createTotalBalances(final SpecConfig specConfig) {
+    long currentEpochActiveValidators = 0;
+    long previousEpochActiveValidators = 0;
+    long currentEpochSourceAttesters = 0;
+    long currentEpochTargetAttesters = 0;
+    long previousEpochSourceAttesters = 0;
+    long previousEpochTargetAttesters = 0;
+    long previousEpochHeadAttesters = 0;
+
+    for (int i = 0; i < validatorCount; i++) {
+      final long balance = effectiveBalances[i];
+      if (activeInCurrentEpoch[i]) {
+        currentEpochActiveValidators = Math.addExact(currentEpochActiveValidators, balance);
+      }
+      if (activeInPreviousEpoch[i]) {
+        previousEpochActiveValidators = Math.addExact(previousEpochActiveValidators, balance);
+      }
+
+      if (slashed[i]) {
+        continue;
+      }
+      final int currentFlags = currentEpochParticipation[i];
+      if ((currentFlags & TIMELY_SOURCE_FLAG) != 0) {
+        currentEpochSourceAttesters = Math.addExact(currentEpochSourceAttesters, balance);
+      }
+      if ((currentFlags & TIMELY_TARGET_FLAG) != 0) {
+        currentEpochTargetAttesters = Math.addExact(currentEpochTargetAttesters, balance);
+      }
+
+      final int previousFlags = previousEpochParticipation[i];
+      if ((previousFlags & TIMELY_SOURCE_FLAG) != 0) {
+        previousEpochSourceAttesters = Math.addExact(previousEpochSourceAttesters, balance);
+      }
+      if ((previousFlags & TIMELY_TARGET_FLAG) != 0) {
+        previousEpochTargetAttesters = Math.addExact(previousEpochTargetAttesters, balance);
+      }
+      if ((previousFlags & TIMELY_HEAD_FLAG) != 0) {
+        previousEpochHeadAttesters = Math.addExact(previousEpochHeadAttesters, balance);
+      }
+    }
+    return new TotalBalances(
+        specConfig,
+        UInt64.valueOf(currentEpochActiveValidators),
+        UInt64.valueOf(previousEpochActiveValidators),
+        UInt64.valueOf(currentEpochSourceAttesters),
+        UInt64.valueOf(currentEpochTargetAttesters),
+        UInt64.valueOf(previousEpochSourceAttesters),
+        UInt64.valueOf(previousEpochTargetAttesters),
+        UInt64.valueOf(previousEpochHeadAttesters));
+  }
+}
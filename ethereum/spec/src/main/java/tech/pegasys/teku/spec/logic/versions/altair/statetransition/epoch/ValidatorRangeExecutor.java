@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs per validator computations over the validator index range either on the calling thread or
+ * split into contiguous sub-ranges across a {@link ForkJoinPool}. Every index is processed by
+ * exactly one task, so computations which only write to their own indices produce the same result
+ * regardless of the scheduling. Anything which needs to be combined across validators should be
+ * merged by the caller in index order afterwards.
+ *
+ * <p>The pool is owned by the caller which supplied it. Once it is shut down, ranges are processed
+ * on the calling thread again.
+ */
+public class ValidatorRangeExecutor {
+
+  static final int DEFAULT_MIN_RANGE_SIZE = 8192;
+
+  public static final ValidatorRangeExecutor SEQUENTIAL =
+      new ValidatorRangeExecutor(Optional.empty(), DEFAULT_MIN_RANGE_SIZE);
+
+  private final Optional<ForkJoinPool> pool;
+  private final int minRangeSize;
+
+  ValidatorRangeExecutor(final Optional<ForkJoinPool> pool, final int minRangeSize) {
+    checkArgument(minRangeSize > 0, "Min range size must be positive but was %s", minRangeSize);
+    this.pool = pool;
+    this.minRangeSize = minRangeSize;
+  }
+
+  /** Creates an executor which splits the work across {@code pool} */
+  public static ValidatorRangeExecutor create(final ForkJoinPool pool) {
+    return new ValidatorRangeExecutor(Optional.of(pool), DEFAULT_MIN_RANGE_SIZE);
+  }
+
+  /**
+   * Creates a pool suitable for {@link #create(ForkJoinPool)} with named worker threads. The caller
+   * is responsible for shutting it down.
+   */
+  public static ForkJoinPool createPool(final int parallelism) {
+    checkArgument(parallelism > 0, "Parallelism must be positive but was %s", parallelism);
+    final AtomicInteger threadCount = new AtomicInteger();
+    return new ForkJoinPool(
+        parallelism,
+        forkJoinPool -> {
+          final ForkJoinWorkerThread thread =
+              ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+          thread.setName("epoch-processing-" + threadCount.getAndIncrement());
+          return thread;
+        },
+        null,
+        false);
+  }
+
+  public boolean isParallel() {
+    return pool.map(p -> p.getParallelism() > 1 && !p.isShutdown()).orElse(false);
+  }
+
+  /**
+   * Processes the index range {@code [0, validatorCount)} and returns once all the sub-ranges are
+   * done. A runtime exception thrown by any sub-range is rethrown to the caller.
+   */
+  public void forEachRange(final int validatorCount, final RangeProcessor processor) {
+    if (!isParallel() || validatorCount <= minRangeSize) {
+      processor.process(0, validatorCount);
+      return;
+    }
+    final ForkJoinPool forkJoinPool = pool.orElseThrow();
+    // A few ranges per thread to balance uneven work (e.g. exited validators are skipped quickly)
+    final int rangeSize =
+        Math.max(minRangeSize, validatorCount / (forkJoinPool.getParallelism() * 4));
+    final RangeTask task = new RangeTask(processor, 0, validatorCount, rangeSize);
+    try {
+      forkJoinPool.execute(task);
+    } catch (final RejectedExecutionException e) {
+      // The pool was shut down concurrently, nothing has been processed yet
+      processor.process(0, validatorCount);
+      return;
+    }
+    task.join();
+  }
+
+  @FunctionalInterface
+  public interface RangeProcessor {
+    /**
+     * Processes the validators from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive)
+     */
+    void process(int fromIndex, int toIndex);
+  }
+
+  private static class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient RangeProcessor processor;
+    private final int fromIndex;
+    private final int toIndex;
+    private final int rangeSize;
+
+    private RangeTask(
+        final RangeProcessor processor,
+        final int fromIndex,
+        final int toIndex,
+        final int rangeSize) {
+      this.processor = processor;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.rangeSize = rangeSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (toIndex - fromIndex <= rangeSize) {
+        processor.process(fromIndex, toIndex);
+        return;
+      }
+      final int middle = (fromIndex + toIndex) >>> 1;
+      invokeAll(
+          new RangeTask(processor, fromIndex, middle, rangeSize),
+          new RangeTask(processor, middle, toIndex, rangeSize));
+    }
+  }
+}
@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.spec.logic.versions.bellatrix.statetransition.epoch;
 
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfigBellatrix;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.bellatrix.BeaconStateBellatrix;
@@ -67,6 +68,11 @@ public class EpochProcessorBellatrix extends EpochProcessorAltair {
     return calculator.getDeltas();
   }
 
+  @Override
+  protected UInt64 getInactivityPenaltyQuotient() {
+    return specConfigBellatrix.getInactivityPenaltyQuotientBellatrix();
+  }
+
   @Override
   protected int getProportionalSlashingMultiplier() {
     return specConfigBellatrix.getProportionalSlashingMultiplierBellatrix();
@@ -21,7 +21,6 @@ import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateAccessors;
 import tech.pegasys.teku.spec.logic.common.helpers.MathHelpers;
 import tech.pegasys.teku.spec.logic.common.helpers.MiscHelpers;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardsAndPenaltiesCalculator;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.InclusionInfo;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
@@ -67,8 +66,7 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
       }
 
       final UInt64 baseReward = getBaseReward(validator, totalActiveBalanceSquareRoot);
-      final RewardAndPenalty delta = deltas.getDelta(index);
-      step.apply(deltas, totalBalances, finalityDelay, validator, baseReward, delta);
+      step.apply(deltas, totalBalances, finalityDelay, validator, baseReward, index);
     }
     return deltas;
   }
@@ -79,12 +77,12 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
       final UInt64 finalityDelay,
       final ValidatorStatus validator,
       final UInt64 baseReward,
-      final RewardAndPenalty delta) {
-    applySourceDelta(validator, baseReward, totalBalances, finalityDelay, delta);
-    applyTargetDelta(validator, baseReward, totalBalances, finalityDelay, delta);
-    applyHeadDelta(validator, baseReward, totalBalances, finalityDelay, delta);
-    applyInclusionDelayDelta(validator, baseReward, delta, deltas);
-    applyInactivityPenaltyDelta(validator, baseReward, finalityDelay, delta);
+      final int validatorIndex) {
+    applySourceDelta(validator, baseReward, totalBalances, finalityDelay, deltas, validatorIndex);
+    applyTargetDelta(validator, baseReward, totalBalances, finalityDelay, deltas, validatorIndex);
+    applyHeadDelta(validator, baseReward, totalBalances, finalityDelay, deltas, validatorIndex);
+    applyInclusionDelayDelta(validator, baseReward, deltas, validatorIndex);
+    applyInactivityPenaltyDelta(validator, baseReward, finalityDelay, deltas, validatorIndex);
   }
 
   public void applySourceDelta(
@@ -92,14 +90,16 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
       final UInt64 baseReward,
       final TotalBalances totalBalances,
       final UInt64 finalityDelay,
-      final RewardAndPenalty delta) {
+      final RewardAndPenaltyDeltas deltas,
+      final int validatorIndex) {
     applyAttestationComponentDelta(
         validator.isPreviousEpochSourceAttester() && !validator.isSlashed(),
         totalBalances.getPreviousEpochSourceAttesters(),
         totalBalances,
         baseReward,
         finalityDelay,
-        delta);
+        deltas,
+        validatorIndex);
   }
 
   public void applyTargetDelta(
@@ -107,14 +107,16 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
       final UInt64 baseReward,
       final TotalBalances totalBalances,
       final UInt64 finalityDelay,
-      final RewardAndPenalty delta) {
+      final RewardAndPenaltyDeltas deltas,
+      final int validatorIndex) {
     applyAttestationComponentDelta(
         validator.isPreviousEpochTargetAttester() && !validator.isSlashed(),
         totalBalances.getPreviousEpochTargetAttesters(),
         totalBalances,
         baseReward,
         finalityDelay,
-        delta);
+        deltas,
+        validatorIndex);
   }
 
   public void applyHeadDelta(
@@ -122,21 +124,23 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
       final UInt64 baseReward,
       final TotalBalances totalBalances,
       final UInt64 finalityDelay,
-      final RewardAndPenalty delta) {
+      final RewardAndPenaltyDeltas deltas,
+      final int validatorIndex) {
     applyAttestationComponentDelta(
         validator.isPreviousEpochHeadAttester() && !validator.isSlashed(),
         totalBalances.getPreviousEpochHeadAttesters(),
         totalBalances,
         baseReward,
         finalityDelay,
-        delta);
+        deltas,
+        validatorIndex);
   }
 
   public void applyInclusionDelayDelta(
       final ValidatorStatus validator,
       final UInt64 baseReward,
-      final RewardAndPenalty delta,
-      final RewardAndPenaltyDeltas deltas) {
+      final RewardAndPenaltyDeltas deltas,
+      final int validatorIndex) {
     if (validator.isPreviousEpochSourceAttester() && !validator.isSlashed()) {
       final InclusionInfo inclusionInfo =
           validator
@@ -147,9 +151,9 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
                           "Validator was active in previous epoch but has no inclusion information."));
       final UInt64 proposerReward = getProposerReward(baseReward);
       final UInt64 maxAttesterReward = baseReward.minus(proposerReward);
-      delta.reward(maxAttesterReward.dividedBy(inclusionInfo.getDelay()));
+      deltas.reward(validatorIndex, maxAttesterReward.dividedBy(inclusionInfo.getDelay()));
 
-      deltas.getDelta(inclusionInfo.getProposerIndex()).reward(getProposerReward(baseReward));
+      deltas.reward(inclusionInfo.getProposerIndex(), proposerReward);
     }
   }
 
@@ -157,18 +161,21 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
       final ValidatorStatus validator,
       final UInt64 baseReward,
       final UInt64 finalityDelay,
-      final RewardAndPenalty delta) {
+      final RewardAndPenaltyDeltas deltas,
+      final int validatorIndex) {
 
     if (isInactivityLeak(finalityDelay)) {
       // If validator is performing optimally this cancels all rewards for a neutral balance
-      delta.penalize(
+      deltas.penalize(
+          validatorIndex,
           specConfig
               .getBaseRewardsPerEpoch()
               .times(baseReward)
               .minus(getProposerReward(baseReward)));
 
       if (validator.isSlashed() || !validator.isPreviousEpochTargetAttester()) {
-        delta.penalize(
+        deltas.penalize(
+            validatorIndex,
             validator
                 .getCurrentEpochEffectiveBalance()
                 .times(finalityDelay)
@@ -187,22 +194,24 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
       final TotalBalances totalBalances,
       final UInt64 baseReward,
       final UInt64 finalityDelay,
-      final RewardAndPenalty delta) {
+      final RewardAndPenaltyDeltas deltas,
+      final int validatorIndex) {
     final UInt64 totalBalance = totalBalances.getCurrentEpochActiveValidators();
     if (indexInUnslashedAttestingIndices) {
       if (finalityDelay.isGreaterThan(specConfig.getMinEpochsToInactivityPenalty())) {
         // Since full base reward will be canceled out by inactivity penalty deltas,
         // optimal participation receives full base reward compensation here.
-        delta.reward(baseReward);
+        deltas.reward(validatorIndex, baseReward);
       } else {
         final UInt64 rewardNumerator =
             baseReward.times(attestingBalance.dividedBy(specConfig.getEffectiveBalanceIncrement()));
-        delta.reward(
+        deltas.reward(
+            validatorIndex,
             rewardNumerator.dividedBy(
                 totalBalance.dividedBy(specConfig.getEffectiveBalanceIncrement())));
       }
     } else {
-      delta.penalize(baseReward);
+      deltas.penalize(validatorIndex, baseReward);
     }
   }
 
@@ -231,6 +240,6 @@ public class RewardsAndPenaltiesCalculatorPhase0 extends RewardsAndPenaltiesCalc
         final UInt64 finalityDelay,
         final ValidatorStatus validator,
         final UInt64 baseReward,
-        final RewardAndPenalty delta);
+        final int validatorIndex);
   }
 }
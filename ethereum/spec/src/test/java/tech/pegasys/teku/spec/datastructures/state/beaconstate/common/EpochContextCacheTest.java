@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+public class EpochContextCacheTest {
+
+  private static final Bytes32 ROOT = Bytes32.fromHexStringLenient("0x01");
+
+  private final AtomicInteger computeCount = new AtomicInteger();
+  private final EpochContextCache cache = new EpochContextCache(2);
+
+  @Test
+  void get_shouldReuseContextForSameEpochAndDependentRoot() {
+    final EpochContext context = get(1, ROOT);
+
+    assertThat(get(1, ROOT)).isSameAs(context);
+    assertThat(cache.getCached(UInt64.ONE, ROOT)).containsSame(context);
+    assertThat(computeCount).hasValue(1);
+  }
+
+  @Test
+  void get_shouldComputeNewContextForDifferentDependentRoot() {
+    get(1, ROOT);
+    get(1, Bytes32.fromHexStringLenient("0x02"));
+
+    assertThat(computeCount).hasValue(2);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void get_shouldEvictOldestEpochWhenFull() {
+    get(3, ROOT);
+    get(1, ROOT);
+    get(2, ROOT);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getCached(UInt64.ONE, ROOT)).isEmpty();
+
+    get(3, ROOT);
+    get(2, ROOT);
+    assertThat(computeCount).hasValue(3);
+  }
+
+  @Test
+  void onFinalizedEpoch_shouldDropContextsBeforeFinalizedEpoch() {
+    get(1, ROOT);
+    get(2, ROOT);
+
+    cache.onFinalizedEpoch(UInt64.valueOf(2));
+    assertThat(cache.size()).isEqualTo(1);
+
+    // Contexts of finalized epochs are not cached anymore
+    get(1, ROOT);
+    assertThat(cache.size()).isEqualTo(1);
+    get(2, ROOT);
+    assertThat(computeCount).hasValue(3);
+  }
+
+  private EpochContext get(final long epoch, final Bytes32 dependentRoot) {
+    final UInt64 epochValue = UInt64.valueOf(epoch);
+    return cache.get(
+        epochValue,
+        dependentRoot,
+        () -> {
+          computeCount.incrementAndGet();
+          return new EpochContext(
+              epochValue,
+              dependentRoot,
+              epochValue.times(8),
+              1,
+              new IntList[] {IntList.of(0)},
+              new int[0],
+              UInt64.ZERO);
+        });
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_HEAD_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_TARGET_FLAG_INDEX;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszByte;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class EpochParticipationCountsTest {
+
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(TestSpecFactory.createMinimalAltair());
+
+  @Test
+  void count_shouldCountFlags() {
+    final SszList<SszByte> participation =
+        BeaconStateAltair.required(dataStructureUtil.randomBeaconState(64))
+            .getCurrentEpochParticipation();
+
+    int sourceCount = 0;
+    int targetCount = 0;
+    int headCount = 0;
+    int anyCount = 0;
+    for (SszByte flags : participation) {
+      final byte value = flags.get();
+      sourceCount += value & 1;
+      targetCount += (value >> 1) & 1;
+      headCount += (value >> 2) & 1;
+      anyCount += (value & 7) != 0 ? 1 : 0;
+    }
+
+    final EpochParticipationCounts counts = EpochParticipationCounts.count(participation);
+    assertThat(counts.getFlagCount(TIMELY_SOURCE_FLAG_INDEX)).isEqualTo(sourceCount);
+    assertThat(counts.getFlagCount(TIMELY_TARGET_FLAG_INDEX)).isEqualTo(targetCount);
+    assertThat(counts.getFlagCount(TIMELY_HEAD_FLAG_INDEX)).isEqualTo(headCount);
+    assertThat(counts.getAnyFlagCount()).isEqualTo(anyCount);
+  }
+
+  @Test
+  void updateFlags_shouldCountOnlyNewlySetFlags() {
+    final EpochParticipationCounts counts =
+        EpochParticipationCounts.ZERO.toBuilder()
+            .updateFlags((byte) 0, (byte) 0b011)
+            .updateFlags((byte) 0b001, (byte) 0b111)
+            .updateFlags((byte) 0b010, (byte) 0b010)
+            .build();
+
+    assertThat(counts.getFlagCount(TIMELY_SOURCE_FLAG_INDEX)).isEqualTo(1);
+    assertThat(counts.getFlagCount(TIMELY_TARGET_FLAG_INDEX)).isEqualTo(2);
+    assertThat(counts.getFlagCount(TIMELY_HEAD_FLAG_INDEX)).isEqualTo(1);
+    assertThat(counts.getAnyFlagCount()).isEqualTo(1);
+    assertThat(EpochParticipationCounts.ZERO.getAnyFlagCount()).isZero();
+  }
+}
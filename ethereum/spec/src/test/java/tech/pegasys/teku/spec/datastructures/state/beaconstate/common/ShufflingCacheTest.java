@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+public class ShufflingCacheTest {
+
+  private static final IntList INDICES = IntList.of(0, 1, 2, 3);
+  private static final IntList SHUFFLING = IntList.of(2, 0, 3, 1);
+  private static final Bytes32 SEED = Bytes32.fromHexStringLenient("0x01");
+
+  private final AtomicInteger shuffleCount = new AtomicInteger();
+  private final Supplier<IntList> shuffler =
+      () -> {
+        shuffleCount.incrementAndGet();
+        return SHUFFLING;
+      };
+
+  private final AtomicInteger hitCount = new AtomicInteger();
+  private final AtomicInteger missCount = new AtomicInteger();
+  private final ShufflingCache cache = new ShufflingCache(2);
+
+  @BeforeEach
+  void setUp() {
+    cache.setListeners(hitCount::incrementAndGet, missCount::incrementAndGet);
+  }
+
+  @Test
+  void get_shouldReuseShufflingForSameEpochSeedAndIndices() {
+    assertThat((Object) get(1, SEED, INDICES)).isSameAs(SHUFFLING);
+    assertThat((Object) get(1, SEED, IntList.of(0, 1, 2, 3))).isSameAs(SHUFFLING);
+
+    assertThat(shuffleCount).hasValue(1);
+    assertThat(hitCount).hasValue(1);
+    assertThat(missCount).hasValue(1);
+  }
+
+  @Test
+  void get_shouldRecomputeWhenIndicesDiffer() {
+    get(1, SEED, INDICES);
+    get(1, SEED, IntList.of(0, 1, 2));
+
+    assertThat(shuffleCount).hasValue(2);
+    assertThat(hitCount).hasValue(0);
+  }
+
+  @Test
+  void get_shouldEvictOldestEpochWhenFull() {
+    get(3, SEED, INDICES);
+    get(1, SEED, INDICES);
+    get(2, SEED, INDICES);
+    assertThat(cache.size()).isEqualTo(2);
+
+    get(3, SEED, INDICES);
+    get(2, SEED, INDICES);
+    assertThat(shuffleCount).hasValue(3);
+
+    get(1, SEED, INDICES);
+    assertThat(shuffleCount).hasValue(4);
+  }
+
+  @Test
+  void onFinalizedEpoch_shouldDropShufflingsBeforeFinalizedEpoch() {
+    get(1, SEED, INDICES);
+    get(2, SEED, INDICES);
+
+    cache.onFinalizedEpoch(UInt64.valueOf(2));
+    assertThat(cache.size()).isEqualTo(1);
+
+    // Shufflings of finalized epochs are not cached anymore
+    get(1, SEED, INDICES);
+    assertThat(cache.size()).isEqualTo(1);
+    get(2, SEED, INDICES);
+    assertThat(shuffleCount).hasValue(3);
+  }
+
+  private IntList get(final long epoch, final Bytes32 seed, final IntList indices) {
+    return cache.get(UInt64.valueOf(epoch), seed, indices, shuffler);
+  }
+}
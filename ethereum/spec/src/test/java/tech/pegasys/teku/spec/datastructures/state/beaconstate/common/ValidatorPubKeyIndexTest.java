@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class ValidatorPubKeyIndexTest {
+
+  private static final Supplier<Optional<Integer>> FALLBACK = () -> Optional.of(-1);
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final SszList<Validator> validators =
+      dataStructureUtil.randomBeaconState(16).getValidators();
+  private final ValidatorPubKeyIndex index = new ValidatorPubKeyIndex();
+
+  @Test
+  void getValidatorIndex_shouldIndexValidatorsOfRegistry() {
+    assertThat(index.getValidatorIndex(validators, validators.get(10).getPubkeyBytes(), FALLBACK))
+        .contains(10);
+    assertThat(index.size()).isEqualTo(16);
+    assertThat(
+            index.getValidatorIndex(validators, dataStructureUtil.randomPublicKeyBytes(), FALLBACK))
+        .isEmpty();
+  }
+
+  @Test
+  void getValidatorIndex_shouldIndexAppendedValidators() {
+    final SszList<Validator> prefix =
+        validators.getSchema().createFromElements(validators.asList().subList(0, 8));
+    assertThat(index.update(prefix)).isTrue();
+    assertThat(index.size()).isEqualTo(8);
+
+    assertThat(index.getValidatorIndex(prefix, validators.get(12).getPubkeyBytes(), FALLBACK))
+        .isEmpty();
+    assertThat(index.getValidatorIndex(validators, validators.get(12).getPubkeyBytes(), FALLBACK))
+        .contains(12);
+    assertThat(index.size()).isEqualTo(16);
+  }
+
+  @Test
+  void getValidatorIndex_shouldUseFallbackForInconsistentRegistry() {
+    assertThat(index.update(validators)).isTrue();
+
+    final SszList<Validator> otherValidators =
+        dataStructureUtil.randomBeaconState(16).getValidators();
+    assertThat(index.update(otherValidators)).isFalse();
+    assertThat(
+            index.getValidatorIndex(
+                otherValidators, otherValidators.get(3).getPubkeyBytes(), FALLBACK))
+        .contains(-1);
+  }
+
+  @Test
+  void getValidatorIndex_shouldUseFallbackWhenKeyAtIndexDiffers() {
+    assertThat(index.update(validators)).isTrue();
+
+    final List<Validator> otherValidatorList = new ArrayList<>(validators.asList());
+    otherValidatorList.set(5, dataStructureUtil.randomValidator());
+    final SszList<Validator> otherValidators =
+        validators.getSchema().createFromElements(otherValidatorList);
+    assertThat(
+            index.getValidatorIndex(otherValidators, validators.get(5).getPubkeyBytes(), FALLBACK))
+        .contains(-1);
+  }
+
+  @Test
+  void update_shouldRejectRegistryWithDifferentFirstValidator() {
+    assertThat(index.update(validators)).isTrue();
+
+    final List<Validator> otherValidatorList = new ArrayList<>(validators.asList());
+    otherValidatorList.set(0, dataStructureUtil.randomValidator());
+    assertThat(index.update(validators.getSchema().createFromElements(otherValidatorList)))
+        .isFalse();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tuweni.bytes.Bytes48;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class ValidatorPubKeyTableTest {
+
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(TestSpecFactory.createMinimalPhase0());
+  private final ValidatorPubKeyTable table = new ValidatorPubKeyTable();
+
+  @Test
+  void getOrCreate_shouldReuseKeyWithSameBytes() {
+    final Bytes48 publicKeyBytes = dataStructureUtil.randomPublicKeyBytes();
+
+    final BLSPublicKey publicKey = table.getOrCreate(3, publicKeyBytes);
+    assertThat(publicKey.toBytesCompressed()).isEqualTo(publicKeyBytes);
+    assertThat(table.getOrCreate(3, publicKeyBytes)).isSameAs(publicKey);
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  void getOrCreate_shouldReplaceKeyWithDifferentBytes() {
+    final Bytes48 publicKeyBytes1 = dataStructureUtil.randomPublicKeyBytes();
+    final Bytes48 publicKeyBytes2 = dataStructureUtil.randomPublicKeyBytes();
+
+    final BLSPublicKey publicKey1 = table.getOrCreate(0, publicKeyBytes1);
+    final BLSPublicKey publicKey2 = table.getOrCreate(0, publicKeyBytes2);
+    assertThat(publicKey2.toBytesCompressed()).isEqualTo(publicKeyBytes2);
+    assertThat(table.getOrCreate(0, publicKeyBytes2)).isSameAs(publicKey2);
+    assertThat(table.getOrCreate(0, publicKeyBytes1)).isNotSameAs(publicKey1);
+  }
+
+  @Test
+  void populate_shouldDecompressAllKeysOnExecutor() {
+    final SszList<Validator> validators = dataStructureUtil.randomBeaconState(5).getValidators();
+    final AtomicInteger taskCount = new AtomicInteger();
+
+    table.populate(
+        validators,
+        task -> {
+          taskCount.incrementAndGet();
+          task.run();
+        });
+
+    assertThat(taskCount).hasPositiveValue();
+    assertThat(table.size()).isEqualTo(validators.size());
+    for (int i = 0; i < validators.size(); i++) {
+      final Bytes48 publicKeyBytes = validators.get(i).getPubkeyBytes();
+      assertThat(table.getOrCreate(i, publicKeyBytes).toBytesCompressed())
+          .isEqualTo(publicKeyBytes);
+    }
+  }
+
+  @Test
+  void loadFrom_shouldIgnoreMissingAndInvalidFiles(@TempDir final Path tempDir) throws Exception {
+    table.loadFrom(tempDir.resolve("missing.dat"));
+
+    final Path invalidFile = tempDir.resolve("invalid.dat");
+    Files.write(invalidFile, new byte[] {0, 0, 0, 2, 1, 2, 3});
+    table.loadFrom(invalidFile);
+
+    assertThat(table.size()).isZero();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.SpecVersion;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockHeader;
+import tech.pegasys.teku.spec.datastructures.interop.MockStartBeaconStateGenerator;
+import tech.pegasys.teku.spec.datastructures.interop.MockStartDepositGenerator;
+import tech.pegasys.teku.spec.datastructures.interop.MockStartValidatorKeyPairFactory;
+import tech.pegasys.teku.spec.datastructures.operations.DepositData;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.util.DepositGenerator;
+
+public class StateTransitionTest {
+  private static final List<BLSKeyPair> VALIDATOR_KEYS =
+      new MockStartValidatorKeyPairFactory().generateKeyPairs(0, 4);
+
+  private final Spec spec = TestSpecFactory.createMinimalAltair();
+  private final StateTransition stateTransition = new StateTransition(spec::atSlot);
+
+  @Test
+  void processSlots_shouldMatchSlotBySlotSpecProcessing() throws Exception {
+    final BeaconState genesis = createGenesis();
+    final UInt64 targetSlot = spec.computeStartSlotAtEpoch(UInt64.valueOf(2)).plus(3);
+
+    final BeaconState result = stateTransition.processSlots(genesis, targetSlot);
+
+    BeaconState expected = genesis;
+    while (expected.getSlot().isLessThan(targetSlot)) {
+      expected = processSlotAsSpecified(expected);
+    }
+    assertThat(result.getSlot()).isEqualTo(targetSlot);
+    assertThat(result).isEqualTo(expected);
+    assertThat(result.hashTreeRoot()).isEqualTo(expected.hashTreeRoot());
+  }
+
+  private BeaconState processSlotAsSpecified(final BeaconState preState) throws Exception {
+    final SpecVersion specVersion = spec.atSlot(preState.getSlot());
+    final Bytes32 previousStateRoot = preState.hashTreeRoot();
+    BeaconState state =
+        preState.updated(
+            s -> {
+              final int index = s.getSlot().mod(specVersion.getSlotsPerHistoricalRoot()).intValue();
+              s.getState_roots().setElement(index, previousStateRoot);
+              final BeaconBlockHeader header = s.getLatest_block_header();
+              if (header.getStateRoot().isZero()) {
+                s.setLatest_block_header(
+                    new BeaconBlockHeader(
+                        header.getSlot(),
+                        header.getProposerIndex(),
+                        header.getParentRoot(),
+                        previousStateRoot,
+                        header.getBodyRoot()));
+              }
+              s.getBlock_roots().setElement(index, s.getLatest_block_header().hashTreeRoot());
+            });
+    final UInt64 newSlot = state.getSlot().plus(1);
+    if (newSlot.mod(specVersion.getSlotsPerEpoch()).isZero()) {
+      state = specVersion.getEpochProcessor().processEpoch(state);
+    }
+    return state.updated(s -> s.setSlot(newSlot));
+  }
+
+  private BeaconState createGenesis() {
+    final List<DepositData> initialDepositData =
+        new MockStartDepositGenerator(spec, new DepositGenerator(spec, true))
+            .createDeposits(VALIDATOR_KEYS, spec.getGenesisSpecConfig().getMaxEffectiveBalance());
+    return new MockStartBeaconStateGenerator(spec)
+        .createInitialBeaconState(UInt64.ZERO, initialDepositData, Optional.empty());
+  }
+}
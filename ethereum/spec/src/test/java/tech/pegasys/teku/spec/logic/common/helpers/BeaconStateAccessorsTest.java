@@ -13,6 +13,8 @@
 
 package tech.pegasys.teku.spec.logic.common.helpers;
 
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -21,15 +23,24 @@ import static tech.pegasys.teku.spec.config.SpecConfig.GENESIS_EPOCH;
 import static tech.pegasys.teku.spec.config.SpecConfig.GENESIS_SLOT;
 
 import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.SpecVersion;
 import tech.pegasys.teku.spec.TestSpecFactory;
 import tech.pegasys.teku.spec.config.SpecConfig;
+import tech.pegasys.teku.spec.constants.Domain;
 import tech.pegasys.teku.spec.datastructures.state.BeaconStateTestBuilder;
 import tech.pegasys.teku.spec.datastructures.state.Committee;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochContext;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochContextCache;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 
 public class BeaconStateAccessorsTest {
@@ -129,6 +140,173 @@ public class BeaconStateAccessorsTest {
     assertDoesNotThrow(() -> beaconStateAccessors.getBeaconCommittee(state, oldSlot, ONE));
   }
 
+  @Test
+  public void getEpochContext_shouldMatchDirectComputation() {
+    final UInt64 epoch = UInt64.valueOf(3);
+    final UInt64 startSlot = spec.computeStartSlotAtEpoch(epoch);
+    final BeaconState state = createActiveBeaconState(startSlot.plus(2));
+
+    final EpochContext context = beaconStateAccessors.getEpochContext(state);
+
+    final MiscHelpers miscHelpers = genesisSpec.miscHelpers();
+    final IntList activeValidatorIndices =
+        beaconStateAccessors.getActiveValidatorIndices(state, epoch);
+    final Bytes32 attesterSeed = beaconStateAccessors.getSeed(state, epoch, Domain.BEACON_ATTESTER);
+    final int committeeCount =
+        beaconStateAccessors.getCommitteeCountPerSlot(state, epoch).intValue()
+            * specConfig.getSlotsPerEpoch();
+    assertThat(context.getEpoch()).isEqualTo(epoch);
+    assertThat(context.getCommitteeCount()).isEqualTo(committeeCount);
+    for (int i = 0; i < committeeCount; i++) {
+      assertThat((Iterable<Integer>) context.getCommittee(i))
+          .containsExactlyElementsOf(
+              miscHelpers.computeCommittee(
+                  state, epoch, activeValidatorIndices, attesterSeed, i, committeeCount));
+    }
+
+    final Bytes32 proposerSeed = beaconStateAccessors.getSeed(state, epoch, Domain.BEACON_PROPOSER);
+    for (int i = 0; i < specConfig.getSlotsPerEpoch(); i++) {
+      final UInt64 slot = startSlot.plus(i);
+      assertThat(context.getBeaconProposerIndex(slot))
+          .isEqualTo(
+              miscHelpers.computeProposerIndex(
+                  state,
+                  activeValidatorIndices,
+                  Hash.sha256(proposerSeed, MathHelpers.uint64ToBytes(slot))));
+    }
+
+    assertThat(context.getTotalActiveBalance())
+        .isEqualTo(beaconStateAccessors.getTotalBalance(state, activeValidatorIndices));
+  }
+
+  @Test
+  public void getBeaconCommittee_shouldComputeCommitteeWhenDependentRootIsNoLongerInState() {
+    final UInt64 epoch = ONE;
+    final UInt64 startSlot = spec.computeStartSlotAtEpoch(epoch);
+    final UInt64 stateSlot =
+        startSlot.plus(specConfig.getSlotsPerHistoricalRoot()).plus(specConfig.getSlotsPerEpoch());
+    final BeaconState state = createActiveBeaconState(stateSlot);
+
+    final IntList committee =
+        beaconStateAccessors.getBeaconCommittee(state, startSlot, UInt64.ZERO);
+
+    final int committeeCount =
+        beaconStateAccessors.getCommitteeCountPerSlot(state, epoch).intValue()
+            * specConfig.getSlotsPerEpoch();
+    assertThat((Iterable<Integer>) committee)
+        .containsExactlyElementsOf(
+            genesisSpec
+                .miscHelpers()
+                .computeCommittee(
+                    state,
+                    epoch,
+                    beaconStateAccessors.getActiveValidatorIndices(state, epoch),
+                    beaconStateAccessors.getSeed(state, epoch, Domain.BEACON_ATTESTER),
+                    0,
+                    committeeCount));
+  }
+
+  @Test
+  public void getTotalActiveBalance_shouldNotComputeEpochContext() {
+    final BeaconState state = createActiveBeaconState(spec.computeStartSlotAtEpoch(ONE));
+
+    final UInt64 totalActiveBalance = beaconStateAccessors.getTotalActiveBalance(state);
+
+    assertThat(BeaconStateCache.getTransitionCaches(state).getEpochContexts().size()).isZero();
+    assertThat(totalActiveBalance)
+        .isEqualTo(beaconStateAccessors.getEpochContext(state).getTotalActiveBalance());
+  }
+
+  @Test
+  public void getEpochContext_shouldBeSharedWithDerivedStates() {
+    final UInt64 epoch = UInt64.valueOf(3);
+    final UInt64 startSlot = spec.computeStartSlotAtEpoch(epoch);
+    final BeaconState state = createActiveBeaconState(startSlot);
+    final EpochContext context = beaconStateAccessors.getEpochContext(state);
+
+    final BeaconState sameEpochState = state.updated(s -> s.setSlot(startSlot.plus(1)));
+    assertThat(beaconStateAccessors.getEpochContext(sameEpochState)).isSameAs(context);
+
+    // The next epoch state still serves the previous epoch committees from the context
+    final UInt64 nextEpochStartSlot = spec.computeStartSlotAtEpoch(epoch.plus(1));
+    final BeaconState nextEpochState = state.updated(s -> s.setSlot(nextEpochStartSlot));
+    final IntList committee =
+        beaconStateAccessors.getBeaconCommittee(nextEpochState, startSlot, UInt64.ZERO);
+    assertThat((Object) committee).isSameAs(context.getCommittee(0));
+    assertThat(beaconStateAccessors.getEpochContext(nextEpochState).getEpoch())
+        .isEqualTo(epoch.plus(1));
+  }
+
+  @Test
+  public void getEpochContext_shouldBeSharedAcrossLineagesWithEpochContextCache() {
+    final EpochContextCache epochContextCache = new EpochContextCache();
+    spec.setEpochContextCache(epochContextCache);
+    final UInt64 startSlot = spec.computeStartSlotAtEpoch(UInt64.valueOf(3));
+    final BeaconState state = createActiveBeaconState(startSlot);
+    final EpochContext context = beaconStateAccessors.getEpochContext(state);
+
+    // A deserialized state starts with empty caches but has the same dependent root
+    final BeaconState unrelatedState = spec.deserializeBeaconState(state.sszSerialize());
+    assertThat(BeaconStateCache.getTransitionCaches(unrelatedState).getEpochContexts().size())
+        .isZero();
+    assertThat(beaconStateAccessors.getEpochContext(unrelatedState)).isSameAs(context);
+    assertThat(epochContextCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void getCommitteeMembersAggregatePubKey_shouldMatchAggregateOfMembers() {
+    final UInt64 slot = spec.computeStartSlotAtEpoch(UInt64.valueOf(3)).plus(2);
+    final BeaconState state = createActiveBeaconState(slot);
+    final IntList committee = beaconStateAccessors.getBeaconCommittee(state, slot, UInt64.ZERO);
+    assertThat(committee.size()).isGreaterThan(2);
+    final List<UInt64> attesters =
+        committee.intStream().skip(1).sorted().mapToObj(UInt64::valueOf).collect(toList());
+
+    assertThat(
+            beaconStateAccessors.getCommitteeMembersAggregatePubKey(
+                state, slot, UInt64.ZERO, attesters))
+        .contains(
+            BLSPublicKey.aggregate(
+                attesters.stream()
+                    .map(i -> beaconStateAccessors.getValidatorPubKey(state, i).orElseThrow())
+                    .collect(toList())));
+  }
+
+  @Test
+  public void getCommitteeMembersAggregatePubKey_shouldBeEmptyForMinorityOrNonMembers() {
+    final UInt64 slot = spec.computeStartSlotAtEpoch(UInt64.valueOf(3)).plus(2);
+    final BeaconState state = createActiveBeaconState(slot);
+    final IntList committee = beaconStateAccessors.getBeaconCommittee(state, slot, UInt64.ZERO);
+    final List<UInt64> attesters =
+        committee.intStream().sorted().mapToObj(UInt64::valueOf).collect(toList());
+
+    assertThat(
+            beaconStateAccessors.getCommitteeMembersAggregatePubKey(
+                state, slot, UInt64.ZERO, attesters.subList(0, 1)))
+        .isEmpty();
+
+    final List<UInt64> withNonMember = new ArrayList<>(attesters);
+    withNonMember.set(
+        0,
+        UInt64.valueOf(
+            beaconStateAccessors.getBeaconCommittee(state, slot.plus(1), UInt64.ZERO).getInt(0)));
+    assertThat(
+            beaconStateAccessors.getCommitteeMembersAggregatePubKey(
+                state, slot, UInt64.ZERO, withNonMember))
+        .isEmpty();
+  }
+
+  private BeaconState createActiveBeaconState(final UInt64 slot) {
+    return dataStructureUtil
+        .randomBeaconState(slot)
+        .updated(
+            state -> {
+              for (int i = 0; i < state.getValidators().size(); i++) {
+                state.getValidators().update(i, v -> v.withActivation_epoch(GENESIS_EPOCH));
+              }
+            });
+  }
+
   private BeaconState createBeaconState() {
     return new BeaconStateTestBuilder(dataStructureUtil)
         .forkVersion(specConfig.getGenesisForkVersion())
@@ -24,11 +24,14 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.config.SpecConfigLoader;
@@ -74,6 +77,26 @@ class MiscHelpersTest {
                 .toArray());
   }
 
+  @ParameterizedTest(name = "indexCount={0}")
+  @ValueSource(ints = {1, 2, 3, 255, 256, 257, 511, 512, 513, 1000, 4096})
+  void shuffleList_shouldMatchShuffledIndexForAllPivots(final int indexCount) {
+    final SpecConfig specConfig = mock(SpecConfig.class);
+    final MiscHelpers miscHelpers = new MiscHelpers(specConfig);
+    when(specConfig.getShuffleRoundCount()).thenReturn(90);
+
+    for (int seedIndex = 0; seedIndex < 4; seedIndex++) {
+      final Bytes32 seed = Hash.sha256(Bytes.ofUnsignedInt(seedIndex));
+      final int[] indexes = IntStream.range(0, indexCount).toArray();
+
+      miscHelpers.shuffleList(indexes, seed);
+      assertThat(indexes)
+          .isEqualTo(
+              IntStream.range(0, indexCount)
+                  .map(i -> miscHelpers.computeShuffledIndex(i, indexCount, seed))
+                  .toArray());
+    }
+  }
+
   @Test
   void shuffleList_compareListAndArrayVersions() {
     final SpecConfig specConfig = mock(SpecConfig.class);
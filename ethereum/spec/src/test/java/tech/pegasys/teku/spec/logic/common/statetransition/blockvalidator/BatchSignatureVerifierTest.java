@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -30,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.bls.BLSTestUtil;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
 
 public class BatchSignatureVerifierTest {
 
@@ -95,6 +97,23 @@ public class BatchSignatureVerifierTest {
     assertThat(verifier.toVerify).doesNotContainNull();
   }
 
+  @Test
+  void shouldSkipAggregatesWhichWereAlreadyVerified() {
+    final VerifiedSignatureCache verifiedSignatureCache = new VerifiedSignatureCache(10);
+    final BatchSignatureVerifier verifier =
+        new BatchSignatureVerifier(Optional.of(verifiedSignatureCache));
+    final List<BLSPublicKey> publicKeys =
+        List.of(BLSTestUtil.randomPublicKey(1), BLSTestUtil.randomPublicKey(2));
+    final Bytes message = Bytes.wrap("Hello, world!".getBytes(UTF_8));
+    final BLSSignature signature = BLSTestUtil.randomSignature(1);
+    verifiedSignatureCache.addVerified(
+        verifiedSignatureCache.computeKey(publicKeys, message, signature));
+
+    assertThat(verifier.verify(publicKeys, message, signature)).isTrue();
+    assertThat(verifier.toVerify).isEmpty();
+    assertThat(verifier.batchVerify()).isTrue();
+  }
+
   @Test
   void shouldBeValidWhenNothingVerified() {
     final BatchSignatureVerifier verifier = new BatchSignatureVerifier();
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.common.statetransition.epoch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
+
+class RewardAndPenaltyDeltasTest {
+
+  private final RewardAndPenaltyDeltas deltas = new RewardAndPenaltyDeltas(3);
+
+  @Test
+  void shouldAccumulateRewardsAndPenalties() {
+    deltas.reward(0, UInt64.valueOf(5));
+    deltas.getDelta(0).reward(UInt64.valueOf(7));
+    deltas.penalize(0, UInt64.valueOf(3));
+    deltas.getDelta(2).penalize(UInt64.valueOf(11));
+
+    final RewardAndPenalty delta = deltas.getDelta(0);
+    assertThat(delta.getReward()).isEqualTo(UInt64.valueOf(12));
+    assertThat(delta.getPenalty()).isEqualTo(UInt64.valueOf(3));
+    assertThat(deltas.getReward(1)).isEqualTo(UInt64.ZERO);
+    assertThat(deltas.getPenalty(1)).isEqualTo(UInt64.ZERO);
+    assertThat(deltas.getReward(2)).isEqualTo(UInt64.ZERO);
+    assertThat(deltas.getPenalty(2)).isEqualTo(UInt64.valueOf(11));
+  }
+
+  @Test
+  void applyTo_shouldAddRewardAndSubtractPenaltyWithMinZero() {
+    deltas.reward(0, UInt64.valueOf(10));
+    deltas.penalize(0, UInt64.valueOf(4));
+    deltas.penalize(1, UInt64.valueOf(100));
+    deltas.reward(2, UInt64.MAX_VALUE.minus(10));
+
+    assertThat(deltas.applyTo(0, 1)).isEqualTo(7);
+    assertThat(deltas.applyTo(1, 99)).isZero();
+    assertThat(deltas.applyTo(1, 100)).isZero();
+    assertThat(deltas.applyTo(2, 10)).isEqualTo(UInt64.MAX_VALUE.longValue());
+  }
+
+  @Test
+  void shouldFailOnOverflow() {
+    deltas.reward(0, UInt64.MAX_VALUE);
+    deltas.penalize(1, UInt64.MAX_VALUE.minus(1));
+
+    assertThatThrownBy(() -> deltas.reward(0, UInt64.ONE)).isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> deltas.applyTo(0, 1)).isInstanceOf(ArithmeticException.class);
+    deltas.penalize(1, UInt64.ONE);
+    assertThatThrownBy(() -> deltas.penalize(1, UInt64.ONE))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void equals_shouldCompareAllDeltas() {
+    final RewardAndPenaltyDeltas other = new RewardAndPenaltyDeltas(3);
+    deltas.reward(1, UInt64.ONE);
+    assertThat(deltas).isNotEqualTo(other);
+    other.getDelta(1).reward(UInt64.ONE);
+    assertThat(deltas).isEqualTo(other);
+    assertThat(deltas.hashCode()).isEqualTo(other.hashCode());
+  }
+}
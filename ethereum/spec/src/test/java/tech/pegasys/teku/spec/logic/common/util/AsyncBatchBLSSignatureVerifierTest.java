@@ -16,12 +16,14 @@ package tech.pegasys.teku.spec.logic.common.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,8 +41,10 @@ class AsyncBatchBLSSignatureVerifierTest {
   private final AsyncBLSSignatureVerifier delegate = mock(AsyncBLSSignatureVerifier.class);
   private final SafeFuture<Boolean> delegateVerifyResult = new SafeFuture<>();
 
+  private final VerifiedSignatureCache verifiedSignatureCache = new VerifiedSignatureCache(10);
+
   private final AsyncBatchBLSSignatureVerifier verifier =
-      new AsyncBatchBLSSignatureVerifier(delegate);
+      new AsyncBatchBLSSignatureVerifier(delegate, Optional.of(verifiedSignatureCache));
 
   @BeforeEach
   void setUp() {
@@ -175,6 +179,56 @@ class AsyncBatchBLSSignatureVerifierTest {
             concat(List.of(signature1), signatures2, List.of(signature3)));
   }
 
+  @Test
+  void shouldNotVerifyAggregatesAgainOnceVerified() {
+    final List<BLSPublicKey> publicKeys1 =
+        List.of(dataStructureUtil.randomPublicKey(), dataStructureUtil.randomPublicKey());
+    final Bytes32 message1 = dataStructureUtil.randomBytes32();
+    final BLSSignature signature1 = dataStructureUtil.randomSignature();
+
+    final BLSPublicKey publicKey2 = dataStructureUtil.randomPublicKey();
+    final Bytes32 message2 = dataStructureUtil.randomBytes32();
+    final BLSSignature signature2 = dataStructureUtil.randomSignature();
+
+    assertThat(verifier.verify(publicKeys1, message1, signature1)).isTrue();
+    assertThat(verifier.verify(publicKey2, message2, signature2)).isTrue();
+    final SafeFuture<Boolean> result = verifier.batchVerify();
+    assertThat(
+            verifiedSignatureCache.isVerified(
+                verifiedSignatureCache.computeKey(publicKeys1, message1, signature1)))
+        .isFalse();
+    delegateVerifyResult.complete(true);
+    assertThat(result).isCompletedWithValue(true);
+    assertThat(
+            verifiedSignatureCache.isVerified(
+                verifiedSignatureCache.computeKey(publicKeys1, message1, signature1)))
+        .isTrue();
+
+    final AsyncBatchBLSSignatureVerifier secondVerifier =
+        new AsyncBatchBLSSignatureVerifier(delegate, Optional.of(verifiedSignatureCache));
+    assertThat(secondVerifier.verify(publicKeys1, message1, signature1)).isTrue();
+    assertThat(secondVerifier.batchVerify()).isCompletedWithValue(true);
+    verify(delegate, times(1)).verify(anyList(), anyList(), anyList());
+  }
+
+  @Test
+  void shouldNotCacheAggregatesWhenVerificationFails() {
+    final List<BLSPublicKey> publicKeys =
+        List.of(dataStructureUtil.randomPublicKey(), dataStructureUtil.randomPublicKey());
+    final Bytes32 message = dataStructureUtil.randomBytes32();
+    final BLSSignature signature = dataStructureUtil.randomSignature();
+
+    assertThat(verifier.verify(publicKeys, message, signature)).isTrue();
+    final SafeFuture<Boolean> result = verifier.batchVerify();
+    delegateVerifyResult.complete(false);
+
+    assertThat(result).isCompletedWithValue(false);
+    assertThat(
+            verifiedSignatureCache.isVerified(
+                verifiedSignatureCache.computeKey(publicKeys, message, signature)))
+        .isFalse();
+  }
+
   @SafeVarargs
   private <T> List<T> concat(final List<T>... lists) {
     final List<T> result = new ArrayList<>();
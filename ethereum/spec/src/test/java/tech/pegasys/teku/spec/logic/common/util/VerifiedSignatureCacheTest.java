@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class VerifiedSignatureCacheTest {
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(TestSpecFactory.createDefault());
+
+  private final VerifiedSignatureCache cache = new VerifiedSignatureCache(2);
+
+  private final BLSPublicKey publicKey1 = dataStructureUtil.randomPublicKey();
+  private final BLSPublicKey publicKey2 = dataStructureUtil.randomPublicKey();
+  private final Bytes32 message = dataStructureUtil.randomBytes32();
+  private final BLSSignature signature = dataStructureUtil.randomSignature();
+
+  @Test
+  void shouldOnlyReportSameSignatureMessageAndKeysAsVerified() {
+    final List<BLSPublicKey> publicKeys = List.of(publicKey1, publicKey2);
+    assertThat(isVerified(publicKeys, message, signature)).isFalse();
+
+    addVerified(publicKeys, message, signature);
+
+    assertThat(isVerified(List.of(publicKey1, publicKey2), message, signature)).isTrue();
+    assertThat(isVerified(List.of(publicKey2, publicKey1), message, signature)).isFalse();
+    assertThat(
+            isVerified(
+                List.of(publicKey1, publicKey2, dataStructureUtil.randomPublicKey()),
+                message,
+                signature))
+        .isFalse();
+    assertThat(isVerified(publicKeys, dataStructureUtil.randomBytes32(), signature)).isFalse();
+    assertThat(isVerified(publicKeys, message, dataStructureUtil.randomSignature())).isFalse();
+  }
+
+  @Test
+  void shouldNotCacheSingleKeySignatures() {
+    addVerified(List.of(publicKey1), message, signature);
+
+    assertThat(cache.computeKey(List.of(publicKey1), message, signature)).isEmpty();
+    assertThat(isVerified(List.of(publicKey1), message, signature)).isFalse();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void shouldEvictOldestEntriesWhenFull() {
+    final List<BLSPublicKey> publicKeys = List.of(publicKey1, publicKey2);
+    final Bytes32 message2 = dataStructureUtil.randomBytes32();
+    final Bytes32 message3 = dataStructureUtil.randomBytes32();
+
+    addVerified(publicKeys, message, signature);
+    addVerified(publicKeys, message2, signature);
+    addVerified(publicKeys, message3, signature);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(isVerified(publicKeys, message, signature)).isFalse();
+    assertThat(isVerified(publicKeys, message2, signature)).isTrue();
+    assertThat(isVerified(publicKeys, message3, signature)).isTrue();
+  }
+
+  private boolean isVerified(
+      final List<BLSPublicKey> publicKeys, final Bytes32 message, final BLSSignature signature) {
+    return cache.isVerified(cache.computeKey(publicKeys, message, signature));
+  }
+
+  private void addVerified(
+      final List<BLSPublicKey> publicKeys, final Bytes32 message, final BLSSignature signature) {
+    cache.addVerified(cache.computeKey(publicKeys, message, signature));
+  }
+}
@@ -14,13 +14,36 @@
 package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static tech.pegasys.teku.spec.config.SpecConfig.FAR_FUTURE_EPOCH;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszMutablePrimitiveVector;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszByte;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.config.SpecConfig;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochParticipationCounts;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.TransitionCaches;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.ValidatorStats.CorrectAndLiveValidators;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatusFactory;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
+import tech.pegasys.teku.spec.util.BeaconStateBuilderAltair;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 
 public class EpochProcessorAltairTest {
@@ -50,6 +73,201 @@ public class EpochProcessorAltairTest {
     }
   }
 
+  @Test
+  public void processParticipationUpdates_shouldMoveParticipationCounts() {
+    final BeaconStateAltair randomState = generateRandomState();
+    final CorrectAndLiveValidators currentStats =
+        randomState.getValidatorStatsCurrentEpoch(Bytes32.ZERO);
+
+    final BeaconStateAltair updated =
+        randomState.updatedAltair(epochProcessor::processParticipationUpdates);
+
+    final TransitionCaches transitionCaches = BeaconStateCache.getTransitionCaches(updated);
+    assertThat(transitionCaches.getPreviousEpochParticipationCounts())
+        .contains(EpochParticipationCounts.count(updated.getPreviousEpochParticipation()));
+    assertThat(transitionCaches.getCurrentEpochParticipationCounts())
+        .contains(EpochParticipationCounts.ZERO);
+    final CorrectAndLiveValidators previousStats =
+        updated.getValidatorStatsPreviousEpoch(Bytes32.ZERO);
+    assertThat(previousStats.getNumberOfCorrectValidators())
+        .isEqualTo(currentStats.getNumberOfCorrectValidators());
+    assertThat(previousStats.getNumberOfLiveValidators())
+        .isEqualTo(currentStats.getNumberOfLiveValidators());
+  }
+
+  @ParameterizedTest(name = "finalizedEpoch={0}")
+  @ValueSource(ints = {8, 2})
+  public void processEpoch_shouldMatchPhaseByPhaseProcessing(final int finalizedEpoch)
+      throws Exception {
+    final BeaconStateAltair preState =
+        generateEpochTransitionState(spec, dataStructureUtil, 128, finalizedEpoch);
+
+    assertProcessEpochMatchesPhaseByPhaseProcessing(spec, preState);
+  }
+
+  @Test
+  public void processEpoch_shouldMatchPhaseByPhaseProcessingWhenParallel() throws Exception {
+    final BLSPublicKey publicKey = dataStructureUtil.randomPublicKey();
+    final DataStructureUtil parallelDataStructureUtil =
+        new DataStructureUtil(spec).withPubKeyGenerator(() -> publicKey);
+    final BeaconStateAltair preState =
+        generateEpochTransitionState(
+            spec,
+            parallelDataStructureUtil,
+            ValidatorRangeExecutor.DEFAULT_MIN_RANGE_SIZE * 3 + 17,
+            2);
+    final ForkJoinPool pool = ValidatorRangeExecutor.createPool(4);
+    try {
+      spec.setEpochProcessingPool(pool);
+
+      assertProcessEpochMatchesPhaseByPhaseProcessing(spec, preState);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void processEpoch_shouldReportPhaseDurations() throws Exception {
+    final BeaconStateAltair preState = generateEpochTransitionState(spec, dataStructureUtil, 16, 2);
+    final List<String> phases = new ArrayList<>();
+    spec.setEpochProcessingPhaseListener((phase, durationNanos) -> phases.add(phase));
+
+    epochProcessor.processEpoch(preState);
+
+    assertThat(phases)
+        .isEqualTo(
+            List.of(
+                "validator_statuses",
+                "justification_and_finalization",
+                "rewards_and_penalties",
+                "registry_updates",
+                "slashings",
+                "effective_balance_updates",
+                "final_updates"));
+  }
+
+  private void assertProcessEpochMatchesPhaseByPhaseProcessing(
+      final Spec spec, final BeaconStateAltair preState) throws EpochProcessingException {
+    final EpochProcessorAltair epochProcessor =
+        (EpochProcessorAltair) spec.getGenesisSpec().getEpochProcessor();
+    final BeaconStateAltair expectedState = processEpochPhaseByPhase(spec, preState);
+    final BeaconStateAltair actualState =
+        BeaconStateAltair.required(epochProcessor.processEpoch(preState));
+
+    assertThat(actualState.getBalances()).isNotEqualTo(preState.getBalances());
+    assertThat(actualState.getInactivityScores()).isNotEqualTo(preState.getInactivityScores());
+    assertThat(actualState.getValidators()).isEqualTo(expectedState.getValidators());
+    assertThat(actualState.getBalances()).isEqualTo(expectedState.getBalances());
+    assertThat(actualState.getInactivityScores()).isEqualTo(expectedState.getInactivityScores());
+    assertThat(actualState).isEqualTo(expectedState);
+  }
+
+  private BeaconStateAltair processEpochPhaseByPhase(
+      final Spec spec, final BeaconStateAltair preState) throws EpochProcessingException {
+    final EpochProcessorAltair epochProcessor =
+        (EpochProcessorAltair) spec.getGenesisSpec().getEpochProcessor();
+    final ValidatorStatusFactory validatorStatusFactory =
+        spec.getGenesisSpec().getValidatorStatusFactory();
+    return preState.updatedAltair(
+        state -> {
+          final ValidatorStatuses validatorStatuses =
+              validatorStatusFactory.createValidatorStatuses(preState);
+          final TotalBalances totalBalances = validatorStatuses.getTotalBalances();
+          epochProcessor.processJustificationAndFinalization(state, totalBalances);
+          epochProcessor.processInactivityUpdates(state, validatorStatuses);
+          epochProcessor.processRewardsAndPenalties(state, validatorStatuses);
+          epochProcessor.processRegistryUpdates(state, validatorStatuses.getStatuses());
+          epochProcessor.processSlashings(state, totalBalances.getCurrentEpochActiveValidators());
+          epochProcessor.processEth1DataReset(state);
+          epochProcessor.processEffectiveBalanceUpdates(state);
+          epochProcessor.processSlashingsReset(state);
+          epochProcessor.processRandaoMixesReset(state);
+          epochProcessor.processHistoricalRootsUpdate(state);
+          epochProcessor.processParticipationUpdates(state);
+          epochProcessor.processSyncCommitteeUpdates(state);
+        });
+  }
+
+  /**
+   * Generates a state with a mix of active, pending, exited, slashed and low balance validators and
+   * random participation
+   */
+  private BeaconStateAltair generateEpochTransitionState(
+      final Spec spec,
+      final DataStructureUtil dataStructureUtil,
+      final int validatorCount,
+      final int finalizedEpoch) {
+    final SpecConfig config = spec.getGenesisSpecConfig();
+    final UInt64 currentEpoch = UInt64.valueOf(10);
+    final UInt64 increment = config.getEffectiveBalanceIncrement();
+    final UInt64 slashingsWithdrawableEpoch =
+        currentEpoch.plus(config.getEpochsPerSlashingsVector() / 2);
+    final Random random = new Random(finalizedEpoch);
+
+    return BeaconStateBuilderAltair.create(dataStructureUtil, spec, validatorCount, validatorCount)
+        .setSlotToStartOfEpoch(currentEpoch)
+        .setJustifiedCheckpointsToEpoch(UInt64.valueOf(finalizedEpoch))
+        .setFinalizedCheckpointToEpoch(UInt64.valueOf(finalizedEpoch))
+        .build()
+        .updatedAltair(
+            state -> {
+              for (int i = 0; i < validatorCount; i++) {
+                UInt64 effectiveBalance =
+                    config.getMaxEffectiveBalance().minus(increment.times(random.nextInt(3)));
+                UInt64 activationEligibilityEpoch = UInt64.ZERO;
+                UInt64 activationEpoch = UInt64.ZERO;
+                UInt64 exitEpoch = FAR_FUTURE_EPOCH;
+                UInt64 withdrawableEpoch = FAR_FUTURE_EPOCH;
+                boolean slashed = false;
+                if (i % 10 == 0) {
+                  // pending activation
+                  activationEpoch = FAR_FUTURE_EPOCH;
+                  activationEligibilityEpoch =
+                      i % 20 == 0 ? FAR_FUTURE_EPOCH : UInt64.valueOf(random.nextInt(4));
+                  effectiveBalance = config.getMaxEffectiveBalance();
+                } else if (i % 13 == 0) {
+                  exitEpoch = UInt64.valueOf(random.nextInt(12));
+                  withdrawableEpoch = exitEpoch.plus(2);
+                } else if (i % 7 == 0) {
+                  slashed = true;
+                  exitEpoch = currentEpoch.minus(random.nextInt(3));
+                  withdrawableEpoch =
+                      i % 14 == 0 ? slashingsWithdrawableEpoch : currentEpoch.plus(3);
+                } else if (i % 11 == 0) {
+                  effectiveBalance = config.getEjectionBalance();
+                }
+                state
+                    .getValidators()
+                    .set(
+                        i,
+                        new Validator(
+                            state.getValidators().get(i).getPubkeyBytes(),
+                            dataStructureUtil.randomBytes32(),
+                            effectiveBalance,
+                            slashed,
+                            activationEligibilityEpoch,
+                            activationEpoch,
+                            exitEpoch,
+                            withdrawableEpoch));
+                state
+                    .getBalances()
+                    .setElement(
+                        i,
+                        effectiveBalance
+                            .plus(random.nextInt(1_500_000_000))
+                            .minusMinZero(random.nextInt(1_500_000_000)));
+                state.getPreviousEpochParticipation().set(i, SszByte.of(random.nextInt(8)));
+                state.getCurrentEpochParticipation().set(i, SszByte.of(random.nextInt(8)));
+                state.getInactivityScores().setElement(i, UInt64.valueOf(random.nextInt(50)));
+              }
+              final SszMutablePrimitiveVector<UInt64, SszUInt64> slashings = state.getSlashings();
+              for (int i = 0; i < slashings.size(); i++) {
+                slashings.setElement(i, UInt64.ZERO);
+              }
+              slashings.setElement(3, config.getMaxEffectiveBalance().times(2));
+            });
+  }
+
   private BeaconStateAltair generateRandomState() {
     return dataStructureUtil.stateBuilderAltair().build();
   }
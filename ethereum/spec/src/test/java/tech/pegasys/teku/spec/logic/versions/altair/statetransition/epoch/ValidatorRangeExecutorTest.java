@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ValidatorRangeExecutorTest {
+
+  private final ForkJoinPool pool = ValidatorRangeExecutor.createPool(4);
+  private final ValidatorRangeExecutor executor = new ValidatorRangeExecutor(Optional.of(pool), 10);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @ParameterizedTest(name = "validatorCount={0}")
+  @ValueSource(ints = {0, 1, 10, 11, 100, 1001})
+  void forEachRange_shouldProcessEveryIndexOnce(final int validatorCount) {
+    final AtomicIntegerArray processCounts = new AtomicIntegerArray(validatorCount);
+
+    executor.forEachRange(
+        validatorCount,
+        (fromIndex, toIndex) -> {
+          assertThat(fromIndex).isLessThanOrEqualTo(toIndex);
+          for (int i = fromIndex; i < toIndex; i++) {
+            processCounts.incrementAndGet(i);
+          }
+        });
+
+    for (int i = 0; i < validatorCount; i++) {
+      assertThat(processCounts.get(i)).describedAs("index %s", i).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void forEachRange_shouldSplitAcrossPoolThreads() {
+    final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    executor.forEachRange(
+        1000,
+        (fromIndex, toIndex) -> {
+          assertThat(toIndex - fromIndex).isLessThanOrEqualTo(62);
+          threadNames.add(Thread.currentThread().getName());
+        });
+
+    assertThat(threadNames).isNotEmpty();
+  }
+
+  @Test
+  void forEachRange_shouldProcessOnCallingThreadWhenNotParallel() {
+    final ValidatorRangeExecutor executor = ValidatorRangeExecutor.SEQUENTIAL;
+    final Thread callingThread = Thread.currentThread();
+
+    assertThat(executor.isParallel()).isFalse();
+    executor.forEachRange(
+        100_000,
+        (fromIndex, toIndex) -> {
+          assertThat(Thread.currentThread()).isSameAs(callingThread);
+          assertThat(fromIndex).isZero();
+          assertThat(toIndex).isEqualTo(100_000);
+        });
+  }
+
+  @Test
+  void forEachRange_shouldProcessOnCallingThreadWhenPoolIsShutDown() {
+    final Thread callingThread = Thread.currentThread();
+    pool.shutdown();
+
+    assertThat(executor.isParallel()).isFalse();
+    executor.forEachRange(
+        1000,
+        (fromIndex, toIndex) -> {
+          assertThat(Thread.currentThread()).isSameAs(callingThread);
+          assertThat(toIndex - fromIndex).isEqualTo(1000);
+        });
+  }
+
+  @Test
+  void forEachRange_shouldRethrowExceptionFromRange() {
+
+    assertThatThrownBy(
+            () ->
+                executor.forEachRange(
+                    1000,
+                    (fromIndex, toIndex) -> {
+                      if (fromIndex <= 500 && 500 < toIndex) {
+                        throw new ArithmeticException("overflow");
+                      }
+                    }))
+        .isInstanceOf(ArithmeticException.class);
+  }
+}
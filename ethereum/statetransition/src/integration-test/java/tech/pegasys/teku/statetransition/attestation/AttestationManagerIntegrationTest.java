@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Optional;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -83,7 +84,11 @@ class AttestationManagerIntegrationTest {
           attestationPool,
           attestationValidator,
           new AggregateAttestationValidator(
-              spec, recentChainData, attestationValidator, signatureVerificationService),
+              spec,
+              recentChainData,
+              attestationValidator,
+              signatureVerificationService,
+              Optional.empty()),
           signatureVerificationService,
           activeValidatorChannel);
 
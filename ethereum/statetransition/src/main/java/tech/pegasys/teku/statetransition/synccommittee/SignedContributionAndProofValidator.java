@@ -44,6 +44,7 @@ import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateAccessors;
 import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.spec.logic.common.util.AsyncBatchBLSSignatureVerifier;
 import tech.pegasys.teku.spec.logic.common.util.SyncCommitteeUtil;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
 import tech.pegasys.teku.statetransition.validation.InternalValidationResult;
 import tech.pegasys.teku.statetransition.validation.ValidationResultCode;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -55,6 +56,7 @@ public class SignedContributionAndProofValidator {
       LimitedSet.create(VALID_CONTRIBUTION_AND_PROOF_SET_SIZE);
   private final SyncCommitteeStateUtils syncCommitteeStateUtils;
   private final AsyncBLSSignatureVerifier signatureVerifier;
+  private final Optional<VerifiedSignatureCache> verifiedSignatureCache;
   private final SyncCommitteeCurrentSlotUtil slotUtil;
 
   public SignedContributionAndProofValidator(
@@ -62,10 +64,12 @@ public class SignedContributionAndProofValidator {
       final RecentChainData recentChainData,
       final SyncCommitteeStateUtils syncCommitteeStateUtils,
       final TimeProvider timeProvider,
-      final AsyncBLSSignatureVerifier signatureVerifier) {
+      final AsyncBLSSignatureVerifier signatureVerifier,
+      final Optional<VerifiedSignatureCache> verifiedSignatureCache) {
     this.spec = spec;
     this.syncCommitteeStateUtils = syncCommitteeStateUtils;
     this.signatureVerifier = signatureVerifier;
+    this.verifiedSignatureCache = verifiedSignatureCache;
     slotUtil = new SyncCommitteeCurrentSlotUtil(recentChainData, spec, timeProvider);
   }
 
@@ -186,7 +190,7 @@ public class SignedContributionAndProofValidator {
     }
 
     final AsyncBatchBLSSignatureVerifier signatureVerifier =
-        new AsyncBatchBLSSignatureVerifier(this.signatureVerifier);
+        new AsyncBatchBLSSignatureVerifier(this.signatureVerifier, verifiedSignatureCache);
 
     // [REJECT] The contribution_and_proof.selection_proof is a valid signature of the
     // contribution.slot by the validator with index
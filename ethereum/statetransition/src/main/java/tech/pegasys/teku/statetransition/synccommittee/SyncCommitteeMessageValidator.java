@@ -181,6 +181,7 @@ public class SyncCommitteeMessageValidator {
         syncCommitteeUtil.getSyncCommitteeMessageSigningRoot(
             message.getBeaconBlockRoot(), messageEpoch, state.getForkInfo());
     return signatureVerifier
+        .forSlot(message.getSlot())
         .verify(maybeValidatorPublicKey.get(), signingRoot, message.getSignature())
         .thenApply(
             signatureValid -> {
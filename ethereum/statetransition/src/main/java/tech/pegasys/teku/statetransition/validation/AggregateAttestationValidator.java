@@ -44,6 +44,7 @@ import tech.pegasys.teku.spec.datastructures.operations.SignedAggregateAndProof;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.spec.logic.common.util.AsyncBatchBLSSignatureVerifier;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
 public class AggregateAttestationValidator {
@@ -56,16 +57,19 @@ public class AggregateAttestationValidator {
   private final RecentChainData recentChainData;
   private final Spec spec;
   private final AsyncBLSSignatureVerifier signatureVerifier;
+  private final Optional<VerifiedSignatureCache> verifiedSignatureCache;
 
   public AggregateAttestationValidator(
       final Spec spec,
       final RecentChainData recentChainData,
       final AttestationValidator attestationValidator,
-      final AsyncBLSSignatureVerifier signatureVerifier) {
+      final AsyncBLSSignatureVerifier signatureVerifier,
+      final Optional<VerifiedSignatureCache> verifiedSignatureCache) {
     this.recentChainData = recentChainData;
     this.attestationValidator = attestationValidator;
     this.spec = spec;
     this.signatureVerifier = signatureVerifier;
+    this.verifiedSignatureCache = verifiedSignatureCache;
   }
 
   public void addSeenAggregate(final ValidateableAttestation attestation) {
@@ -90,7 +94,7 @@ public class AggregateAttestationValidator {
     }
 
     final AsyncBatchBLSSignatureVerifier signatureVerifier =
-        new AsyncBatchBLSSignatureVerifier(this.signatureVerifier);
+        new AsyncBatchBLSSignatureVerifier(this.signatureVerifier, verifiedSignatureCache);
     return singleOrAggregateAttestationChecks(signatureVerifier, attestation, OptionalInt.empty())
         .thenCompose(
             aggregateInternalValidationResult -> {
@@ -154,7 +154,7 @@ public class AttestationValidator {
               }
 
               return spec.isValidIndexedAttestation(
-                      state, validateableAttestation, signatureVerifier)
+                      state, validateableAttestation, signatureVerifier.forSlot(data.getSlot()))
                   .thenApply(
                       signatureResult -> {
                         if (!signatureResult.isSuccessful()) {
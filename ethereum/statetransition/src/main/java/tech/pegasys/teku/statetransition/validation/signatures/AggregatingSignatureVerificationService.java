@@ -17,16 +17,32 @@ import static java.util.Collections.singletonList;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
@@ -36,30 +52,70 @@ import tech.pegasys.teku.infrastructure.async.AsyncRunnerFactory;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.time.TimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.service.serviceutils.ServiceCapacityExceededException;
+import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
 
+/**
+ * Verifies signatures in batches on a pool of worker threads.
+ *
+ * <p>Each {@link SignatureVerificationPriority} has its own bounded queue. Batches are filled with
+ * a weighted share from every queue first and then in priority order, so that block and aggregate
+ * signatures don't wait behind unaggregated attestations. Tasks which are still queued once they
+ * exceed the max age of their priority are dropped instead of verified. The age is measured from
+ * the slot of the signed object when the caller provides it with {@link
+ * AsyncBLSSignatureVerifier#forSlot(UInt64)} and from the time the task was queued otherwise.
+ *
+ * <p>Priorities which produced invalid signatures in the last batch are verified separately in the
+ * next one, so that invalid signatures only cost extra verifications for their own priority.
+ * Results are completed as soon as the group of tasks containing them has been resolved, rather
+ * than after the whole batch.
+ */
 public class AggregatingSignatureVerificationService extends SignatureVerificationService {
   private static final Logger LOG = LogManager.getLogger();
 
   static final int DEFAULT_MIN_BATCH_SIZE_TO_SPLIT = 25;
+  private static final SignatureVerificationPriority DEFAULT_PRIORITY =
+      SignatureVerificationPriority.ATTESTATION;
+  private static final int TOTAL_PRIORITY_WEIGHT = computeTotalPriorityWeight();
 
   private final AsyncRunner completionRunner;
+  private final TimeProvider timeProvider;
+  private final Supplier<Optional<UInt64>> genesisTimeSupplier;
+  private final UInt64 slotDurationMillis;
   private final int numThreads;
   private final int maxBatchSize;
   private final int minBatchSizeToSplit;
   private final boolean strictThreadLimitEnabled;
 
-  @VisibleForTesting final BlockingQueue<SignatureTask> batchSignatureTasks;
+  @VisibleForTesting
+  final Map<SignatureVerificationPriority, BlockingQueue<SignatureTask>> taskQueues =
+      new EnumMap<>(SignatureVerificationPriority.class);
+
+  private final Lock taskQueuesLock = new ReentrantLock();
+  private final Condition tasksAvailable = taskQueuesLock.newCondition();
   private final AsyncRunner asyncRunner;
   private final Counter batchCounter;
   private final Counter taskCounter;
+  private final Map<SignatureVerificationPriority, Counter> priorityTaskCounters =
+      new EnumMap<>(SignatureVerificationPriority.class);
+  private final Map<SignatureVerificationPriority, Counter> expiredTaskCounters =
+      new EnumMap<>(SignatureVerificationPriority.class);
+  private final Counter wastedSignatureCounter;
+  private final Counter invalidTaskCounter;
   private final MetricsHistogram batchSizeHistogram;
+  private final Set<SignatureVerificationPriority> suspectPriorities =
+      ConcurrentHashMap.newKeySet();
 
   @VisibleForTesting
   AggregatingSignatureVerificationService(
       final MetricsSystem metricsSystem,
       final AsyncRunnerFactory asyncRunnerFactory,
       final AsyncRunner completionRunner,
+      final TimeProvider timeProvider,
+      final Supplier<Optional<UInt64>> genesisTimeSupplier,
+      final Duration slotDuration,
       final int numThreads,
       final int queueCapacity,
       final int maxBatchSize,
@@ -68,9 +124,14 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
     this.numThreads = Math.min(numThreads, Runtime.getRuntime().availableProcessors());
     this.asyncRunner = asyncRunnerFactory.create(this.getClass().getSimpleName(), this.numThreads);
     this.completionRunner = completionRunner;
+    this.timeProvider = timeProvider;
+    this.genesisTimeSupplier = genesisTimeSupplier;
+    this.slotDurationMillis = UInt64.valueOf(slotDuration.toMillis());
     this.maxBatchSize = maxBatchSize;
 
-    this.batchSignatureTasks = new ArrayBlockingQueue<>(queueCapacity);
+    for (SignatureVerificationPriority priority : SignatureVerificationPriority.values()) {
+      taskQueues.put(priority, new ArrayBlockingQueue<>(queueCapacity));
+    }
     this.minBatchSizeToSplit = minBatchSizeToSplit;
     this.strictThreadLimitEnabled = strictThreadLimitEnabled;
     metricsSystem.createGauge(
@@ -88,6 +149,40 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
             TekuMetricCategory.EXECUTOR,
             "signature_verifications_task_count",
             "Reports the number of individual verification tasks processed");
+    wastedSignatureCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.EXECUTOR,
+            "signature_verifications_wasted_count",
+            "Reports the number of signatures verified as part of a batch which turned out to be invalid");
+    invalidTaskCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.EXECUTOR,
+            "signature_verifications_invalid_task_count",
+            "Reports the number of verification tasks with invalid signatures");
+    final LabelledGauge priorityQueueSizeGauge =
+        metricsSystem.createLabelledGauge(
+            TekuMetricCategory.EXECUTOR,
+            "signature_verifications_priority_queue_size",
+            "Tracks number of signatures waiting to be batch verified by priority",
+            "priority");
+    final LabelledMetric<Counter> priorityTaskCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.EXECUTOR,
+            "signature_verifications_priority_task_count",
+            "Reports the number of individual verification tasks processed by priority",
+            "priority");
+    final LabelledMetric<Counter> expiredTaskCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.EXECUTOR,
+            "signature_verifications_expired_task_count",
+            "Reports the number of verification tasks dropped after exceeding their max queue time",
+            "priority");
+    for (SignatureVerificationPriority priority : SignatureVerificationPriority.values()) {
+      final String label = priority.name().toLowerCase(Locale.US);
+      priorityQueueSizeGauge.labels(() -> taskQueues.get(priority).size(), label);
+      priorityTaskCounters.put(priority, priorityTaskCounter.labels(label));
+      expiredTaskCounters.put(priority, expiredTaskCounter.labels(label));
+    }
     batchSizeHistogram =
         MetricsHistogram.create(
             TekuMetricCategory.EXECUTOR,
@@ -101,6 +196,9 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
       final MetricsSystem metricsSystem,
       final AsyncRunnerFactory asyncRunnerFactory,
       final AsyncRunner completionRunner,
+      final TimeProvider timeProvider,
+      final Supplier<Optional<UInt64>> genesisTimeSupplier,
+      final Duration slotDuration,
       final int maxThreads,
       final int queueCapacity,
       final int maxBatchSize,
@@ -109,6 +207,9 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
         metricsSystem,
         asyncRunnerFactory,
         completionRunner,
+        timeProvider,
+        genesisTimeSupplier,
+        slotDuration,
         maxThreads,
         queueCapacity,
         maxBatchSize,
@@ -135,6 +236,16 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
     return SafeFuture.COMPLETE;
   }
 
+  @Override
+  public AsyncBLSSignatureVerifier withPriority(final SignatureVerificationPriority priority) {
+    return new PriorityVerifier(priority, Optional.empty());
+  }
+
+  @Override
+  public AsyncBLSSignatureVerifier forSlot(final UInt64 slot) {
+    return new PriorityVerifier(DEFAULT_PRIORITY, Optional.of(slot));
+  }
+
   @Override
   public SafeFuture<Boolean> verify(
       final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
@@ -146,18 +257,52 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
       final List<List<BLSPublicKey>> publicKeys,
       final List<Bytes> messages,
       final List<BLSSignature> signatures) {
+    return verify(DEFAULT_PRIORITY, Optional.empty(), publicKeys, messages, signatures);
+  }
+
+  private SafeFuture<Boolean> verify(
+      final SignatureVerificationPriority priority,
+      final Optional<UInt64> slot,
+      final List<List<BLSPublicKey>> publicKeys,
+      final List<Bytes> messages,
+      final List<BLSSignature> signatures) {
     assertIsRunning("verify");
+    final Optional<UInt64> expiryTime = computeExpiryTime(priority, slot);
     final SignatureTask task =
-        new SignatureTask(completionRunner, publicKeys, messages, signatures);
-    if (!batchSignatureTasks.offer(task)) {
+        new SignatureTask(completionRunner, priority, expiryTime, publicKeys, messages, signatures);
+    if (!taskQueues.get(priority).offer(task)) {
       // Queue is full
       final Throwable error =
           new ServiceCapacityExceededException("Failed to process signature, queue is full.");
       task.result.completeExceptionally(error);
+      return task.result;
+    }
+    taskQueuesLock.lock();
+    try {
+      tasksAvailable.signal();
+    } finally {
+      taskQueuesLock.unlock();
     }
     return task.result;
   }
 
+  private Optional<UInt64> computeExpiryTime(
+      final SignatureVerificationPriority priority, final Optional<UInt64> slot) {
+    final OptionalInt maxAgeSlots = priority.getMaxAgeSlots();
+    if (maxAgeSlots.isEmpty()) {
+      return Optional.empty();
+    }
+    final UInt64 maxAgeMillis = slotDurationMillis.times(maxAgeSlots.getAsInt());
+    final Optional<UInt64> genesisTime = genesisTimeSupplier.get();
+    if (slot.isPresent() && genesisTime.isPresent()) {
+      // The end of the slot of the signed object plus the max age
+      final UInt64 slotEndMillis =
+          genesisTime.get().times(1000).plus(slotDurationMillis.times(slot.get().plus(1)));
+      return Optional.of(slotEndMillis.plus(maxAgeMillis));
+    }
+    return Optional.of(timeProvider.getTimeInMillis().plus(maxAgeMillis));
+  }
+
   private void run() {
     while (isRunning()) {
       final List<SignatureTask> tasks = waitForBatch();
@@ -168,26 +313,159 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
   }
 
   private List<SignatureTask> waitForBatch() {
-    final List<SignatureTask> tasks = new ArrayList<>();
     try {
-      int batchSize = maxBatchSize;
-      final SignatureTask firstTask = batchSignatureTasks.poll(30, TimeUnit.SECONDS);
-      if (firstTask != null) {
-        tasks.add(firstTask);
-        batchSize -= 1;
+      if (!awaitTasks()) {
+        return Collections.emptyList();
       }
-      batchSignatureTasks.drainTo(tasks, batchSize);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
+      return Collections.emptyList();
+    }
+    return drainBatch();
+  }
+
+  private boolean awaitTasks() throws InterruptedException {
+    taskQueuesLock.lock();
+    try {
+      long remainingNanos = TimeUnit.SECONDS.toNanos(30);
+      while (getQueueSize() == 0) {
+        if (remainingNanos <= 0) {
+          return false;
+        }
+        remainingNanos = tasksAvailable.awaitNanos(remainingNanos);
+      }
+      return true;
+    } finally {
+      taskQueuesLock.unlock();
+    }
+  }
+
+  @VisibleForTesting
+  List<SignatureTask> drainBatch() {
+    final UInt64 currentTime = timeProvider.getTimeInMillis();
+    final List<SignatureTask> tasks = new ArrayList<>();
+    // Take the weighted share of every priority first so lower priorities aren't starved
+    for (SignatureVerificationPriority priority : SignatureVerificationPriority.values()) {
+      final int share = Math.max(1, maxBatchSize * priority.getWeight() / TOTAL_PRIORITY_WEIGHT);
+      drainTasks(priority, tasks, Math.min(share, maxBatchSize - tasks.size()), currentTime);
+    }
+    // Then fill up the rest of the batch in priority order
+    for (SignatureVerificationPriority priority : SignatureVerificationPriority.values()) {
+      drainTasks(priority, tasks, maxBatchSize - tasks.size(), currentTime);
     }
     return tasks;
   }
 
+  private void drainTasks(
+      final SignatureVerificationPriority priority,
+      final List<SignatureTask> tasks,
+      final int maxTasks,
+      final UInt64 currentTime) {
+    final BlockingQueue<SignatureTask> queue = taskQueues.get(priority);
+    int drainedTasks = 0;
+    while (drainedTasks < maxTasks) {
+      final SignatureTask task = queue.poll();
+      if (task == null) {
+        break;
+      }
+      if (task.isExpired(currentTime)) {
+        expiredTaskCounters.get(priority).inc();
+        task.failAsync(
+            new ServiceCapacityExceededException(
+                "Signature verification task exceeded the max queue time for priority "
+                    + priority));
+        continue;
+      }
+      tasks.add(task);
+      drainedTasks++;
+    }
+    priorityTaskCounters.get(priority).inc(drainedTasks);
+  }
+
   @VisibleForTesting
   void batchVerifySignatures(final List<SignatureTask> tasks) {
     batchCounter.inc();
     taskCounter.inc(tasks.size());
     batchSizeHistogram.recordValue(tasks.size());
+
+    // Verify priorities which recently had invalid signatures separately so that they don't
+    // cause the tasks of other priorities to be verified over and over again
+    final List<SignatureTask> suspectTasks = new ArrayList<>();
+    final List<SignatureTask> otherTasks = new ArrayList<>();
+    for (SignatureTask task : tasks) {
+      if (suspectPriorities.contains(task.priority)) {
+        suspectTasks.add(task);
+      } else {
+        otherTasks.add(task);
+      }
+    }
+    final Set<SignatureVerificationPriority> invalidPriorities =
+        EnumSet.noneOf(SignatureVerificationPriority.class);
+    if (suspectTasks.isEmpty() || otherTasks.isEmpty()) {
+      verifyTasks(tasks, false, invalidPriorities);
+    } else {
+      verifyTasks(otherTasks, false, invalidPriorities);
+      verifyTasks(suspectTasks, false, invalidPriorities);
+    }
+
+    for (SignatureTask task : tasks) {
+      if (invalidPriorities.contains(task.priority)) {
+        suspectPriorities.add(task.priority);
+      } else {
+        suspectPriorities.remove(task.priority);
+      }
+    }
+  }
+
+  /**
+   * Verifies the tasks and isolates the invalid ones by verifying halves of a failed batch. When
+   * the first half is valid the second one is known to contain an invalid signature and is split
+   * further without verifying it as a whole.
+   *
+   * @param knownInvalid true if the tasks are already known to contain an invalid signature
+   */
+  private void verifyTasks(
+      final List<SignatureTask> tasks,
+      final boolean knownInvalid,
+      final Set<SignatureVerificationPriority> invalidPriorities) {
+    if (!knownInvalid && verifyBatch(tasks)) {
+      setResults(tasks, true, invalidPriorities);
+    } else if (tasks.size() == 1) {
+      // We only had 1 task, so it must be invalid
+      setResults(tasks, false, invalidPriorities);
+    } else if (tasks.size() >= minBatchSizeToSplit) {
+      final List<List<SignatureTask>> splitTasks = splitTasks(tasks);
+      final List<SignatureTask> firstHalf = splitTasks.get(0);
+      final List<SignatureTask> secondHalf = splitTasks.get(1);
+      if (verifyBatch(firstHalf)) {
+        setResults(firstHalf, true, invalidPriorities);
+        verifyTasks(secondHalf, true, invalidPriorities);
+      } else {
+        verifyTasks(firstHalf, true, invalidPriorities);
+        verifyTasks(secondHalf, false, invalidPriorities);
+      }
+    } else {
+      // Validate each signature individually
+      boolean foundInvalidTask = false;
+      for (int i = 0; i < tasks.size(); i++) {
+        final SignatureTask task = tasks.get(i);
+        final boolean isLastTask = i == tasks.size() - 1;
+        final boolean taskIsValid;
+        if (knownInvalid && isLastTask && !foundInvalidTask) {
+          // All other tasks were valid so the last one must be invalid
+          taskIsValid = false;
+        } else {
+          taskIsValid =
+              BLSSignatureVerifier.SIMPLE.verify(task.publicKeys, task.messages, task.signatures);
+        }
+        foundInvalidTask |= !taskIsValid;
+        recordResult(task, taskIsValid, invalidPriorities);
+      }
+      completeAsync(tasks);
+    }
+  }
+
+  private boolean verifyBatch(final List<SignatureTask> tasks) {
     final List<List<BLSPublicKey>> allKeys = new ArrayList<>();
     final List<Bytes> allMessages = new ArrayList<>();
     final List<BLSSignature> allSignatures = new ArrayList<>();
@@ -202,27 +480,39 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
         strictThreadLimitEnabled
             ? BLS.batchVerify(allKeys, allMessages, allSignatures, allKeys.size() > 1, false)
             : BLS.batchVerify(allKeys, allMessages, allSignatures);
-    if (batchIsValid) {
-      for (SignatureTask task : tasks) {
-        task.completeAsync(true);
-      }
-    } else if (tasks.size() == 1) {
-      // We only had 1 signature, so it must be invalid
-      tasks.get(0).completeAsync(false);
-    } else if (tasks.size() >= minBatchSizeToSplit) {
-      // Split up tasks and try to verify in smaller batches
-      final List<List<SignatureTask>> splitTasks = splitTasks(tasks);
-      for (List<SignatureTask> splitTask : splitTasks) {
-        batchVerifySignatures(splitTask);
-      }
-    } else {
-      // Validate each signature individually
-      for (SignatureTask task : tasks) {
-        final boolean taskIsValid =
-            BLSSignatureVerifier.SIMPLE.verify(task.publicKeys, task.messages, task.signatures);
-        task.completeAsync(taskIsValid);
-      }
+    if (!batchIsValid) {
+      wastedSignatureCounter.inc(allSignatures.size());
     }
+    return batchIsValid;
+  }
+
+  private void setResults(
+      final List<SignatureTask> tasks,
+      final boolean isValid,
+      final Set<SignatureVerificationPriority> invalidPriorities) {
+    for (SignatureTask task : tasks) {
+      recordResult(task, isValid, invalidPriorities);
+    }
+    completeAsync(tasks);
+  }
+
+  private void recordResult(
+      final SignatureTask task,
+      final boolean isValid,
+      final Set<SignatureVerificationPriority> invalidPriorities) {
+    if (!isValid) {
+      invalidTaskCounter.inc();
+      invalidPriorities.add(task.priority);
+    }
+    task.isValid = isValid;
+  }
+
+  private void completeAsync(final List<SignatureTask> tasks) {
+    // Complete each resolved group as soon as it is known, with a single dispatch per group
+    // instead of one per task
+    completionRunner
+        .runAsync(() -> tasks.forEach(task -> task.result.complete(task.isValid)))
+        .finish(error -> tasks.forEach(task -> task.result.completeExceptionally(error)));
   }
 
   @VisibleForTesting
@@ -231,31 +521,92 @@ public class AggregatingSignatureVerificationService extends SignatureVerificati
     return Lists.partition(tasks, splitListSize);
   }
 
-  private double getQueueSize() {
-    return batchSignatureTasks.size();
+  private int getQueueSize() {
+    int size = 0;
+    for (BlockingQueue<SignatureTask> queue : taskQueues.values()) {
+      size += queue.size();
+    }
+    return size;
+  }
+
+  private static int computeTotalPriorityWeight() {
+    int totalWeight = 0;
+    for (SignatureVerificationPriority priority : SignatureVerificationPriority.values()) {
+      totalWeight += priority.getWeight();
+    }
+    return totalWeight;
+  }
+
+  private class PriorityVerifier implements AsyncBLSSignatureVerifier {
+    private final SignatureVerificationPriority priority;
+    private final Optional<UInt64> slot;
+
+    private PriorityVerifier(
+        final SignatureVerificationPriority priority, final Optional<UInt64> slot) {
+      this.priority = priority;
+      this.slot = slot;
+    }
+
+    @Override
+    public SafeFuture<Boolean> verify(
+        final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+      return AggregatingSignatureVerificationService.this.verify(
+          priority,
+          slot,
+          singletonList(publicKeys),
+          singletonList(message),
+          singletonList(signature));
+    }
+
+    @Override
+    public SafeFuture<Boolean> verify(
+        final List<List<BLSPublicKey>> publicKeys,
+        final List<Bytes> messages,
+        final List<BLSSignature> signatures) {
+      return AggregatingSignatureVerificationService.this.verify(
+          priority, slot, publicKeys, messages, signatures);
+    }
+
+    @Override
+    public AsyncBLSSignatureVerifier forSlot(final UInt64 slot) {
+      return new PriorityVerifier(priority, Optional.of(slot));
+    }
   }
 
   @VisibleForTesting
   static class SignatureTask {
     final SafeFuture<Boolean> result = new SafeFuture<>();
     private final AsyncRunner asyncRunner;
+    final SignatureVerificationPriority priority;
+    private final Optional<UInt64> expiryTime;
     final List<List<BLSPublicKey>> publicKeys;
     final List<Bytes> messages;
     final List<BLSSignature> signatures;
+    private boolean isValid;
 
     private SignatureTask(
         final AsyncRunner asyncRunner,
+        final SignatureVerificationPriority priority,
+        final Optional<UInt64> expiryTime,
         final List<List<BLSPublicKey>> publicKeys,
         final List<Bytes> messages,
         final List<BLSSignature> signatures) {
       this.asyncRunner = asyncRunner;
+      this.priority = priority;
+      this.expiryTime = expiryTime;
       this.publicKeys = publicKeys;
       this.messages = messages;
       this.signatures = signatures;
     }
 
-    public void completeAsync(final boolean isValid) {
-      asyncRunner.runAsync(() -> result.complete(isValid)).finish(result::completeExceptionally);
+    private void failAsync(final Throwable error) {
+      asyncRunner
+          .runAsync(() -> result.completeExceptionally(error))
+          .finish(result::completeExceptionally);
+    }
+
+    private boolean isExpired(final UInt64 currentTime) {
+      return expiryTime.map(currentTime::isGreaterThan).orElse(false);
     }
   }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import java.util.OptionalInt;
+
+/**
+ * The classes of signature verification work scheduled by {@link
+ * AggregatingSignatureVerificationService}, ordered from the most to the least urgent.
+ *
+ * <p>Each class gets a share of every verification batch proportional to its weight, so that a
+ * flood of attestations can't delay block and aggregate validation while low priority work still
+ * makes progress. Classes with a max age drop tasks which are still queued once the slot of the
+ * signed object is more than that many slots old, as the result would be too late to be useful
+ * anyway. Background work like historical block sync comes last.
+ */
+public enum SignatureVerificationPriority {
+  BLOCK(8, OptionalInt.empty()),
+  AGGREGATE(4, OptionalInt.empty()),
+  SYNC_CONTRIBUTION(2, OptionalInt.empty()),
+  SYNC_COMMITTEE_MESSAGE(1, OptionalInt.of(1)),
+  ATTESTATION(1, OptionalInt.of(1)),
+  HISTORICAL_BLOCK(1, OptionalInt.empty());
+
+  private final int weight;
+  private final OptionalInt maxAgeSlots;
+
+  SignatureVerificationPriority(final int weight, final OptionalInt maxAgeSlots) {
+    this.weight = weight;
+    this.maxAgeSlots = maxAgeSlots;
+  }
+
+  public int getWeight() {
+    return weight;
+  }
+
+  /**
+   * Returns the number of slots after the slot of the signed object, or after the task was queued
+   * when the slot isn't known, at which a queued task is dropped
+   */
+  public OptionalInt getMaxAgeSlots() {
+    return maxAgeSlots;
+  }
+}
@@ -22,4 +22,13 @@ public abstract class SignatureVerificationService extends Service
   public static SignatureVerificationService createSimple() {
     return new SimpleSignatureVerificationService();
   }
+
+  /**
+   * Returns a verifier which schedules its signatures with the specified priority. Signatures
+   * verified directly through this service get {@link SignatureVerificationPriority#ATTESTATION}
+   * priority
+   */
+  public AsyncBLSSignatureVerifier withPriority(final SignatureVerificationPriority priority) {
+    return this;
+  }
 }
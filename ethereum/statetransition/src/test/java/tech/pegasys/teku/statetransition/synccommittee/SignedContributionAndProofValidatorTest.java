@@ -18,6 +18,7 @@ import static tech.pegasys.teku.statetransition.validation.InternalValidationRes
 import static tech.pegasys.teku.statetransition.validation.InternalValidationResult.IGNORE;
 
 import java.time.Duration;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,7 +54,8 @@ class SignedContributionAndProofValidatorTest {
           storageSystem.recentChainData(),
           new SyncCommitteeStateUtils(spec, storageSystem.recentChainData()),
           timeProvider,
-          SignatureVerificationService.createSimple());
+          SignatureVerificationService.createSimple(),
+          Optional.empty());
 
   @BeforeEach
   void setUp() {
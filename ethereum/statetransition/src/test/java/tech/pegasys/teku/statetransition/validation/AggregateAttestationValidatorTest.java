@@ -24,6 +24,7 @@ import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 import static tech.pegasys.teku.statetransition.validation.InternalValidationResult.reject;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.OptionalInt;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -119,7 +120,7 @@ class AggregateAttestationValidatorTest {
       AsyncBLSSignatureVerifier.wrap(BLSSignatureVerifier.SIMPLE);
   private final AggregateAttestationValidator validator =
       new AggregateAttestationValidator(
-          spec, recentChainData, attestationValidator, signatureVerifier);
+          spec, recentChainData, attestationValidator, signatureVerifier, Optional.empty());
   private SignedBlockAndState bestBlock;
   private SignedBlockAndState genesis;
 
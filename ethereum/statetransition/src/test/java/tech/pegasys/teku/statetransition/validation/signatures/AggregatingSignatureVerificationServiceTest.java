@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import org.apache.tuweni.bytes.Bytes;
@@ -36,6 +37,9 @@ import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.infrastructure.async.StubAsyncRunnerFactory;
 import tech.pegasys.teku.infrastructure.async.Waiter;
 import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.time.StubTimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.service.serviceutils.ServiceCapacityExceededException;
 import tech.pegasys.teku.statetransition.validation.signatures.AggregatingSignatureVerificationService.SignatureTask;
 
@@ -48,13 +52,19 @@ public class AggregatingSignatureVerificationServiceTest {
   private final int numThreads = 2;
   private final boolean strictThreadLimitEnabled = true;
   private final StubAsyncRunner completionRunner = new StubAsyncRunner();
+  private final StubTimeProvider timeProvider = StubTimeProvider.withTimeInSeconds(1000);
+  private final Duration slotDuration = Duration.ofSeconds(6);
 
   private final StubAsyncRunnerFactory asyncRunnerFactory = new StubAsyncRunnerFactory();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
   private AggregatingSignatureVerificationService service =
       new AggregatingSignatureVerificationService(
-          new StubMetricsSystem(),
+          metricsSystem,
           asyncRunnerFactory,
           completionRunner,
+          timeProvider,
+          () -> Optional.of(UInt64.ZERO),
+          slotDuration,
           numThreads,
           queueCapacity,
           batchSize,
@@ -234,6 +244,100 @@ public class AggregatingSignatureVerificationServiceTest {
     }
   }
 
+  @Test
+  public void batchVerifySignatures_shouldCompleteValidBatchWithSingleDispatch() {
+    startService();
+
+    final List<SafeFuture<Boolean>> futures = new ArrayList<>();
+    for (int j = 0; j < 10; j++) {
+      futures.add(executeValidVerify(j, j));
+    }
+    service.batchVerifySignatures(getPendingTasks());
+
+    assertThat(completionRunner.countDelayedActions()).isEqualTo(1);
+    completionRunner.executeQueuedActions();
+    futures.forEach(future -> assertThat(future).isCompletedWithValue(true));
+  }
+
+  @Test
+  public void batchVerifySignatures_shouldCompleteEachResolvedGroupWithSingleDispatch() {
+    startService();
+
+    final List<SafeFuture<Boolean>> futures = new ArrayList<>();
+    for (int j = 0; j < 10; j++) {
+      futures.add(j == 3 ? executeInvalidVerify(j, j) : executeValidVerify(j, j));
+    }
+    service.batchVerifySignatures(getPendingTasks());
+
+    // Tasks 0-2 are valid as a group, 3-4 are verified individually and 5-9 are valid as a group
+    assertThat(completionRunner.countDelayedActions()).isEqualTo(3);
+    completionRunner.executeQueuedActions();
+    for (int j = 0; j < 10; j++) {
+      assertThat(futures.get(j)).isCompletedWithValue(j != 3);
+    }
+  }
+
+  @Test
+  public void batchVerifySignatures_shouldCompleteOtherPrioritiesBeforeVerifyingSuspectOnes() {
+    startService();
+
+    // Mark attestations as suspect
+    final SafeFuture<Boolean> invalidFuture = executeInvalidVerify(0, 0);
+    runPendingTasks();
+    assertThat(invalidFuture).isCompletedWithValue(false);
+
+    final SafeFuture<Boolean> blockFuture =
+        executeValidVerify(SignatureVerificationPriority.BLOCK, 1, 1);
+    final SafeFuture<Boolean> attestationFuture =
+        executeValidVerify(SignatureVerificationPriority.ATTESTATION, 2, 2);
+    service.batchVerifySignatures(service.drainBatch());
+
+    assertThat(completionRunner.countDelayedActions()).isEqualTo(2);
+    completionRunner.executeQueuedActions();
+    assertThat(blockFuture).isCompletedWithValue(true);
+    assertThat(attestationFuture).isCompletedWithValue(true);
+  }
+
+  @Test
+  public void verify_invalidLastSignature_shouldNotVerifyKnownInvalidHalf() {
+    startService();
+
+    final List<SafeFuture<Boolean>> futures = new ArrayList<>();
+    for (int j = 0; j < 7; j++) {
+      futures.add(executeValidVerify(j, j));
+    }
+    futures.add(executeInvalidVerify(7, 7));
+    runPendingTasks();
+
+    for (int j = 0; j < 8; j++) {
+      assertThat(futures.get(j)).isCompletedWithValue(j != 7);
+    }
+    // Only the full batch fails, the second half is known to be invalid once the first one passes
+    assertThat(getWastedSignatureCount()).isEqualTo(8);
+  }
+
+  @Test
+  public void verify_shouldVerifyPriorityWithInvalidSignaturesSeparately() {
+    startService();
+
+    final SafeFuture<Boolean> firstInvalidFuture = executeInvalidVerify(0, 0);
+    runPendingTasks();
+    assertThat(firstInvalidFuture).isCompletedWithValue(false);
+    assertThat(getWastedSignatureCount()).isEqualTo(1);
+
+    final List<SafeFuture<Boolean>> blockFutures = new ArrayList<>();
+    for (int j = 0; j < 5; j++) {
+      blockFutures.add(executeValidVerify(SignatureVerificationPriority.BLOCK, j, j));
+    }
+    final SafeFuture<Boolean> secondInvalidFuture = executeInvalidVerify(5, 5);
+    runPendingTasks();
+
+    blockFutures.forEach(future -> assertThat(future).isCompletedWithValue(true));
+    assertThat(secondInvalidFuture).isCompletedWithValue(false);
+    // Blocks are verified in their own batch so only the attestation is wasted
+    assertThat(getWastedSignatureCount()).isEqualTo(2);
+  }
+
   @Test
   public void testRealServiceWithThreads() throws Exception {
     final MetricsSystem metrics = new StubMetricsSystem();
@@ -244,6 +348,9 @@ public class AggregatingSignatureVerificationServiceTest {
             metrics,
             realRunnerFactory,
             realRunnerFactory.create("completion", 1),
+            timeProvider,
+            () -> Optional.of(UInt64.ZERO),
+            slotDuration,
             1,
             queueCapacity,
             batchSize,
@@ -274,6 +381,116 @@ public class AggregatingSignatureVerificationServiceTest {
     }
   }
 
+  @SuppressWarnings("FutureReturnValueIgnored")
+  @Test
+  public void drainBatch_shouldFillBatchInPriorityOrderAfterWeightedShares() {
+    startService();
+
+    for (int i = 0; i < 30; i++) {
+      executeValidVerify(SignatureVerificationPriority.ATTESTATION, 0, i);
+      executeValidVerify(SignatureVerificationPriority.BLOCK, 0, i);
+    }
+
+    final List<SignatureTask> batch = service.drainBatch();
+    assertThat(batch).hasSize(batchSize);
+    // Attestations get their weighted share of 1 task, blocks fill up the rest of the batch
+    assertThat(batch)
+        .filteredOn(task -> task.priority == SignatureVerificationPriority.ATTESTATION)
+        .hasSize(1);
+    assertThat(batch)
+        .filteredOn(task -> task.priority == SignatureVerificationPriority.BLOCK)
+        .hasSize(batchSize - 1);
+  }
+
+  @Test
+  public void drainBatch_shouldDropTasksExceedingMaxQueueTime() {
+    startService();
+
+    final SafeFuture<Boolean> attestationFuture =
+        executeValidVerify(SignatureVerificationPriority.ATTESTATION, 0, 0);
+    final SafeFuture<Boolean> blockFuture =
+        executeValidVerify(SignatureVerificationPriority.BLOCK, 1, 1);
+    timeProvider.advanceTimeBySeconds(slotDuration.toSeconds() + 1);
+
+    final List<SignatureTask> batch = service.drainBatch();
+    assertThat(batch).hasSize(1);
+    service.batchVerifySignatures(batch);
+    completionRunner.executeQueuedActions();
+
+    assertThat(blockFuture).isCompletedWithValue(true);
+    assertThat(attestationFuture).isCompletedExceptionally();
+    assertThatThrownBy(attestationFuture::get)
+        .hasCauseInstanceOf(ServiceCapacityExceededException.class);
+  }
+
+  @Test
+  public void drainBatch_shouldDropTasksForStaleSlots() {
+    startService();
+    final UInt64 currentSlot = timeProvider.getTimeInSeconds().dividedBy(slotDuration.toSeconds());
+
+    final SafeFuture<Boolean> staleFuture =
+        executeValidVerify(SignatureVerificationPriority.ATTESTATION, currentSlot.minus(2), 0, 0);
+    final SafeFuture<Boolean> currentFuture =
+        executeValidVerify(SignatureVerificationPriority.ATTESTATION, currentSlot, 1, 1);
+    final SafeFuture<Boolean> aggregateFuture =
+        executeValidVerify(SignatureVerificationPriority.AGGREGATE, currentSlot.minus(2), 2, 2);
+
+    final List<SignatureTask> batch = service.drainBatch();
+    assertThat(batch).hasSize(2);
+    service.batchVerifySignatures(batch);
+    completionRunner.executeQueuedActions();
+
+    assertThat(currentFuture).isCompletedWithValue(true);
+    assertThat(aggregateFuture).isCompletedWithValue(true);
+    assertThatThrownBy(staleFuture::get).hasCauseInstanceOf(ServiceCapacityExceededException.class);
+  }
+
+  @SuppressWarnings("FutureReturnValueIgnored")
+  @Test
+  public void drainBatch_shouldOnlyGiveHistoricalBlocksTheirWeightedShare() {
+    startService();
+
+    for (int i = 0; i < 30; i++) {
+      executeValidVerify(SignatureVerificationPriority.HISTORICAL_BLOCK, 0, i);
+      executeValidVerify(SignatureVerificationPriority.AGGREGATE, 0, i);
+    }
+
+    final List<SignatureTask> batch = service.drainBatch();
+    assertThat(batch).hasSize(batchSize);
+    assertThat(batch)
+        .filteredOn(task -> task.priority == SignatureVerificationPriority.HISTORICAL_BLOCK)
+        .hasSize(1);
+  }
+
+  @Test
+  public void drainBatch_shouldKeepTasksWithinMaxQueueTime() {
+    startService();
+
+    final SafeFuture<Boolean> attestationFuture =
+        executeValidVerify(SignatureVerificationPriority.ATTESTATION, 0, 0);
+    timeProvider.advanceTimeBySeconds(slotDuration.toSeconds() - 1);
+
+    final List<SignatureTask> batch = service.drainBatch();
+    assertThat(batch).hasSize(1);
+    service.batchVerifySignatures(batch);
+    completionRunner.executeQueuedActions();
+
+    assertThat(attestationFuture).isCompletedWithValue(true);
+  }
+
+  @Test
+  public void verify_withFullQueueOfOtherPriority() {
+    startService();
+
+    fillQueue();
+    final SafeFuture<Boolean> future =
+        executeValidVerify(SignatureVerificationPriority.AGGREGATE, 0, 0);
+
+    assertThat(future).isNotDone();
+    runPendingTasks();
+    assertThat(future).isCompletedWithValue(true);
+  }
+
   @SuppressWarnings("FutureReturnValueIgnored")
   @Test
   public void splitTasks_evenNumber() {
@@ -356,6 +573,28 @@ public class AggregatingSignatureVerificationServiceTest {
     return executeVerify(keypairIndex, data, true);
   }
 
+  private SafeFuture<Boolean> executeValidVerify(
+      final SignatureVerificationPriority priority, final int keypairIndex, final int data) {
+    final BLSKeyPair keypair = KEYS.get(keypairIndex);
+    final Bytes message = Bytes.of(data);
+    return service
+        .withPriority(priority)
+        .verify(keypair.getPublicKey(), message, BLS.sign(keypair.getSecretKey(), message));
+  }
+
+  private SafeFuture<Boolean> executeValidVerify(
+      final SignatureVerificationPriority priority,
+      final UInt64 slot,
+      final int keypairIndex,
+      final int data) {
+    final BLSKeyPair keypair = KEYS.get(keypairIndex);
+    final Bytes message = Bytes.of(data);
+    return service
+        .withPriority(priority)
+        .forSlot(slot)
+        .verify(keypair.getPublicKey(), message, BLS.sign(keypair.getSecretKey(), message));
+  }
+
   private SafeFuture<Boolean> executeInvalidVerify(final int keypairIndex, final int data) {
     return executeVerify(keypairIndex, data, false);
   }
@@ -396,10 +635,16 @@ public class AggregatingSignatureVerificationServiceTest {
 
   private List<SignatureTask> getPendingTasks() {
     final List<SignatureTask> pendingTasks = new ArrayList<>();
-    service.batchSignatureTasks.drainTo(pendingTasks);
+    service.taskQueues.values().forEach(queue -> queue.drainTo(pendingTasks));
     return pendingTasks;
   }
 
+  private long getWastedSignatureCount() {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.EXECUTOR, "signature_verifications_wasted_count")
+        .getValue();
+  }
+
   private StubAsyncRunner getRunner() {
     final List<StubAsyncRunner> runners = asyncRunnerFactory.getStubAsyncRunners();
     assertThat(runners.size()).isEqualTo(1);
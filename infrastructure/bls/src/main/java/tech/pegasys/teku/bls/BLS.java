@@ -44,6 +44,7 @@ public class BLS {
   private static final Logger LOG = LogManager.getLogger();
 
   private static BLS12381 BLS_IMPL;
+  private static volatile BLSWorkerPool workerPool;
 
   static {
     resetBlsImplementation();
@@ -62,6 +63,36 @@ public class BLS {
     }
   }
 
+  /**
+   * Sets the pool used for parallel BLS operations and shuts the previous one down. The node sizes
+   * it from the batch verification thread limit at startup
+   */
+  public static synchronized void setWorkerPool(final BLSWorkerPool pool) {
+    final BLSWorkerPool previousPool = workerPool;
+    workerPool = pool;
+    if (previousPool != null && previousPool != pool) {
+      previousPool.shutdown();
+    }
+  }
+
+  /**
+   * Returns the pool used for parallel BLS operations. Unless one was set, a pool with one worker
+   * per available processor is created on first use
+   */
+  static BLSWorkerPool getWorkerPool() {
+    BLSWorkerPool pool = workerPool;
+    if (pool == null) {
+      synchronized (BLS.class) {
+        pool = workerPool;
+        if (pool == null) {
+          pool = BLSWorkerPool.create(Runtime.getRuntime().availableProcessors());
+          workerPool = pool;
+        }
+      }
+    }
+    return pool;
+  }
+
   /*
    * The following are the methods used directly in the Ethereum 2.0 specifications. These strictly adhere to the standard.
    */
@@ -193,8 +224,7 @@ public class BLS {
       if (publicKeys.isEmpty()) {
         return false;
       }
-      List<PublicKey> publicKeyObjects =
-          publicKeys.stream().map(BLSPublicKey::getPublicKey).collect(Collectors.toList());
+      List<PublicKey> publicKeyObjects = getPublicKeyObjects(publicKeys);
       try {
         return signature.getSignature().verify(publicKeyObjects, message);
       } catch (BlsException e) {
@@ -205,6 +235,17 @@ public class BLS {
     }
   }
 
+  /**
+   * Maps the keys to the implementation keys to be aggregated. {@link PreAggregatedPublicKeys} are
+   * mapped to their aggregate so that it is not computed again
+   */
+  private static List<PublicKey> getPublicKeyObjects(final List<BLSPublicKey> publicKeys) {
+    if (publicKeys instanceof PreAggregatedPublicKeys) {
+      return List.of(((PreAggregatedPublicKeys) publicKeys).getAggregate().getPublicKey());
+    }
+    return publicKeys.stream().map(BLSPublicKey::getPublicKey).collect(Collectors.toList());
+  }
+
   /*
    * The following implement optimised versions of the above. These may or may not follow the standard.
    */
@@ -265,8 +306,8 @@ public class BLS {
    *     pair of signatures a bit faster than with 2 separate regular ate calls Note that this
    *     option may not be optimal when a number of signatures is relatively small and the
    *     [parallel] option is [true]
-   * @param parallel Uses the default {@link java.util.concurrent.ForkJoinPool} to parallelize the
-   *     work
+   * @param parallel Uses the {@link BLSWorkerPool} set with {@link #setWorkerPool(BLSWorkerPool)}
+   *     to parallelize the work
    * @return True if the verification is successful, false otherwise
    */
   public static boolean batchVerify(
@@ -292,12 +333,9 @@ public class BLS {
             Lists.partition(IntStream.range(0, count).boxed().collect(Collectors.toList()), 2)
                 .stream();
 
-        if (parallel) {
-          pairsStream = pairsStream.parallel();
-        }
         return completeBatchVerify(
-            pairsStream
-                .map(
+            collectPrepared(
+                pairsStream.map(
                     idx ->
                         idx.size() == 1
                             ? prepareBatchVerify(
@@ -312,27 +350,32 @@ public class BLS {
                                 signatures.get(idx.get(0)),
                                 publicKeys.get(idx.get(1)),
                                 messages.get(idx.get(1)),
-                                signatures.get(idx.get(1))))
-                .collect(Collectors.toList()));
+                                signatures.get(idx.get(1)))),
+                parallel));
       } else {
         Stream<Integer> indexStream = IntStream.range(0, count).boxed();
 
-        if (parallel) {
-          indexStream = indexStream.parallel();
-        }
         return completeBatchVerify(
-            indexStream
-                .map(
+            collectPrepared(
+                indexStream.map(
                     idx ->
                         prepareBatchVerify(
-                            idx, publicKeys.get(idx), messages.get(idx), signatures.get(idx)))
-                .collect(Collectors.toList()));
+                            idx, publicKeys.get(idx), messages.get(idx), signatures.get(idx))),
+                parallel));
       }
     } catch (IllegalArgumentException e) {
       throw new BlsException("Failed to batchVerify", e);
     }
   }
 
+  private static List<BatchSemiAggregate> collectPrepared(
+      final Stream<BatchSemiAggregate> preparedStream, final boolean parallel) {
+    if (!parallel) {
+      return preparedStream.collect(Collectors.toList());
+    }
+    return getWorkerPool().invoke(() -> preparedStream.parallel().collect(Collectors.toList()));
+  }
+
   /**
    * {@link #prepareBatchVerify(int, List, Bytes, BLSSignature)} and {@link
    * #completeBatchVerify(List)} is just a split of the {@link #batchVerify(List, List, List)} onto
@@ -353,10 +396,7 @@ public class BLS {
     try {
       return getBlsImpl()
           .prepareBatchVerify(
-              index,
-              publicKeys.stream().map(BLSPublicKey::getPublicKey).collect(Collectors.toList()),
-              message,
-              signature.getSignature());
+              index, getPublicKeyObjects(publicKeys), message, signature.getSignature());
     } catch (BlsException e) {
       return new InvalidBatchSemiAggregate();
     }
@@ -381,10 +421,10 @@ public class BLS {
       return getBlsImpl()
           .prepareBatchVerify2(
               index,
-              publicKeys1.stream().map(BLSPublicKey::getPublicKey).collect(Collectors.toList()),
+              getPublicKeyObjects(publicKeys1),
               message1,
               signature1.getSignature(),
-              publicKeys2.stream().map(BLSPublicKey::getPublicKey).collect(Collectors.toList()),
+              getPublicKeyObjects(publicKeys2),
               message2,
               signature2.getSignature());
     } catch (BlsException e) {
@@ -46,12 +46,34 @@ public final class BLSPublicKey {
    * @return PublicKey The public key
    */
   public static BLSPublicKey aggregate(List<BLSPublicKey> publicKeys) {
+    if (publicKeys instanceof PreAggregatedPublicKeys) {
+      return ((PreAggregatedPublicKeys) publicKeys).getAggregate();
+    }
     return new BLSPublicKey(
         BLS.getBlsImpl()
             .aggregatePublicKeys(
                 publicKeys.stream().map(BLSPublicKey::getPublicKey).collect(Collectors.toList())));
   }
 
+  /**
+   * Removes the public keys from an aggregate of a superset of them. This is cheaper than
+   * aggregating the remaining keys when fewer keys are removed than remain. Returns the public key
+   * that corresponds to G1 point at infinity if the aggregate or any of the public keys is infinity
+   * or not a G1 group member.
+   *
+   * @param aggregate The aggregate of a superset of the public keys
+   * @param publicKeys The list of public keys to remove from the aggregate
+   * @return PublicKey The aggregate of the remaining public keys
+   */
+  public static BLSPublicKey aggregateExcluding(
+      BLSPublicKey aggregate, List<BLSPublicKey> publicKeys) {
+    return new BLSPublicKey(
+        BLS.getBlsImpl()
+            .subtractPublicKeys(
+                aggregate.getPublicKey(),
+                publicKeys.stream().map(BLSPublicKey::getPublicKey).collect(Collectors.toList())));
+  }
+
   public static BLSPublicKey fromSSZBytes(Bytes bytes) {
     checkArgument(
         bytes.size() == SSZ_BLS_PUBKEY_SIZE,
@@ -78,6 +100,19 @@ public final class BLSPublicKey {
     return new BLSPublicKey(bytes);
   }
 
+  /**
+   * Create a PublicKey from its 96-byte uncompressed format, e.g. previously saved with {@link
+   * #toBytesUncompressed()}. Unlike {@link #fromBytesCompressed(Bytes48)} this doesn't need the
+   * costly point decompression, so the bytes are parsed immediately
+   *
+   * @param bytes 96 bytes to read the public key from
+   * @return a public key
+   * @throws IllegalArgumentException If the supplied bytes are not a valid public key
+   */
+  public static BLSPublicKey fromBytesUncompressed(Bytes bytes) throws IllegalArgumentException {
+    return new BLSPublicKey(BLS.getBlsImpl().publicKeyFromUncompressed(bytes));
+  }
+
   public static BLSPublicKey fromBytesCompressedValidate(Bytes48 bytes)
       throws IllegalArgumentException {
     BLSPublicKey ret = new BLSPublicKey(bytes);
@@ -134,6 +169,14 @@ public final class BLSPublicKey {
     return bytesCompressed.get();
   }
 
+  /**
+   * Returns the 96 bytes uncompressed form of the key. Decompresses the key if it was not used
+   * before
+   */
+  public Bytes toBytesUncompressed() {
+    return getPublicKey().toBytesUncompressed();
+  }
+
   PublicKey getPublicKey() {
     return publicKey.get();
   }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.bls;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+/**
+ * A dedicated work stealing pool for the parallel parts of BLS operations (e.g. preparing the
+ * signatures of a batch verification), so that they don't compete with other users of the common
+ * {@link ForkJoinPool} like state hashing.
+ */
+public class BLSWorkerPool {
+
+  private final ForkJoinPool pool;
+
+  private BLSWorkerPool(final ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /** Creates a pool of daemon worker threads with the specified parallelism */
+  public static BLSWorkerPool create(final int parallelism) {
+    checkArgument(parallelism > 0, "Invalid parallelism: %s", parallelism);
+    return new BLSWorkerPool(
+        new ForkJoinPool(
+            parallelism,
+            pool -> {
+              final ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+              thread.setName("bls-worker-" + thread.getPoolIndex());
+              thread.setDaemon(true);
+              return thread;
+            },
+            null,
+            false));
+  }
+
+  /**
+   * Runs the task in this pool and waits for the result. Parallel streams used inside the task are
+   * processed by the workers of this pool
+   */
+  public <T> T invoke(final Supplier<T> task) {
+    if (ForkJoinTask.getPool() == pool) {
+      return task.get();
+    }
+    return pool.submit(task::get).join();
+  }
+
+  public int getParallelism() {
+    return pool.getParallelism();
+  }
+
+  public void shutdown() {
+    pool.shutdown();
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.bls;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of public keys which also carries their aggregate, computed in a cheaper way
+ * than by adding up all the keys (e.g. by subtracting the missing keys from a cached aggregate of a
+ * superset of them). Verifying a signature against these keys uses the aggregate instead of
+ * aggregating the keys again.
+ *
+ * <p>The list still contains all the individual keys so it can be compared to and used as a cache
+ * key like any other list of keys. It is the responsibility of the creator to supply the correct
+ * aggregate of the keys.
+ */
+public final class PreAggregatedPublicKeys extends AbstractList<BLSPublicKey>
+    implements RandomAccess {
+
+  private final List<BLSPublicKey> publicKeys;
+  private final BLSPublicKey aggregate;
+
+  public PreAggregatedPublicKeys(
+      final List<BLSPublicKey> publicKeys, final BLSPublicKey aggregate) {
+    checkArgument(!publicKeys.isEmpty(), "No public keys to aggregate");
+    this.publicKeys = List.copyOf(publicKeys);
+    this.aggregate = aggregate;
+  }
+
+  /** The aggregate of all the public keys in this list */
+  public BLSPublicKey getAggregate() {
+    return aggregate;
+  }
+
+  @Override
+  public BLSPublicKey get(final int index) {
+    return publicKeys.get(index);
+  }
+
+  @Override
+  public int size() {
+    return publicKeys.size();
+  }
+}
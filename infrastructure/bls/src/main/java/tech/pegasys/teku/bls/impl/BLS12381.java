@@ -69,6 +69,17 @@ public interface BLS12381 {
    */
   PublicKey publicKeyFromCompressed(Bytes48 compressedPublicKeyBytes) throws BlsException;
 
+  /**
+   * Create a PublicKey from its uncompressed serialized form which, unlike the compressed one, can
+   * be read without computing the y coordinate of the point
+   *
+   * @param uncompressedPublicKeyBytes 96 bytes to read the public key from
+   * @return a public key. The key is not validated, use {@link PublicKey#forceValidation()} to
+   *     validate it
+   * @throws BlsException If the supplied bytes are not a point on the curve
+   */
+  PublicKey publicKeyFromUncompressed(Bytes uncompressedPublicKeyBytes) throws BlsException;
+
   /**
    * Decode a signature from its <em>compressed</em> form serialized representation.
    *
@@ -94,6 +105,17 @@ public interface BLS12381 {
    */
   PublicKey aggregatePublicKeys(List<? extends PublicKey> publicKeys);
 
+  /**
+   * Removes the public keys from an aggregate of a superset of them, i.e. returns the aggregate of
+   * the remaining keys. Returns the public key that corresponds to G1 point at infinity if any of
+   * the keys is infinity or not a G1 group member
+   *
+   * @param aggregate The aggregate the keys were a part of
+   * @param publicKeys The list of public keys to remove from the aggregate
+   * @return PublicKey The public key
+   */
+  PublicKey subtractPublicKeys(PublicKey aggregate, List<? extends PublicKey> publicKeys);
+
   /**
    * Aggregates a list of Signatures, returning the signature that corresponds to G2 point at
    * infinity if list is empty.
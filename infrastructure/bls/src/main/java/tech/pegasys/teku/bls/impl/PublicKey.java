@@ -26,6 +26,9 @@ public interface PublicKey {
    */
   Bytes48 toBytesCompressed();
 
+  /** Returns the 96 bytes uncompressed serialization of the public key point */
+  Bytes toBytesUncompressed();
+
   /**
    * Verifies the given BLS signature against the message bytes using this public key.
    *
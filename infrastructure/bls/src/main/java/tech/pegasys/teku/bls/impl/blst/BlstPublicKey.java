@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes48;
 import supranational.blst.P1;
 import supranational.blst.P1_Affine;
@@ -34,6 +35,8 @@ class BlstPublicKey implements PublicKey {
               + "00000000000000000000000000000000"
               + "00000000000000000000000000000000");
 
+  private static final int UNCOMPRESSED_SIZE = 96;
+
   private static final BlstPublicKey infinitePublicKey = fromBytes(INFINITY_COMPRESSED_BYTES);
 
   public static BlstPublicKey fromBytes(Bytes48 compressed) {
@@ -45,6 +48,20 @@ class BlstPublicKey implements PublicKey {
     }
   }
 
+  public static BlstPublicKey fromUncompressedBytes(Bytes uncompressed) {
+    checkArgument(
+        uncompressed.size() == UNCOMPRESSED_SIZE,
+        "Expected %s bytes of uncompressed public key but got %s",
+        UNCOMPRESSED_SIZE,
+        uncompressed.size());
+    try {
+      P1_Affine ecPoint = new P1_Affine(uncompressed.toArrayUnsafe());
+      return new BlstPublicKey(ecPoint);
+    } catch (Exception e) {
+      throw new BlsException("Deserialization of public key bytes failed: " + uncompressed, e);
+    }
+  }
+
   static BlstPublicKey fromPublicKey(PublicKey publicKey) {
     if (publicKey instanceof BlstPublicKey) {
       return (BlstPublicKey) publicKey;
@@ -74,6 +91,24 @@ class BlstPublicKey implements PublicKey {
     return new BlstPublicKey(sum.to_affine());
   }
 
+  public static BlstPublicKey subtract(BlstPublicKey aggregate, List<BlstPublicKey> publicKeys) {
+    if (!aggregate.isValid() || publicKeys.stream().anyMatch(pk -> !pk.isValid())) {
+      return infinitePublicKey;
+    }
+    if (publicKeys.isEmpty()) {
+      return aggregate;
+    }
+
+    P1 removed = new P1();
+    for (BlstPublicKey publicKey : publicKeys) {
+      removed.add(publicKey.ecPoint);
+    }
+    P1 difference = new P1(aggregate.ecPoint);
+    difference.add(removed.neg());
+
+    return new BlstPublicKey(difference.to_affine());
+  }
+
   final P1_Affine ecPoint;
   private final Supplier<Boolean> isInfinity = Suppliers.memoize(this::checkForInfinity);
   private final Supplier<Boolean> isInGroup = Suppliers.memoize(this::checkGroupMembership);
@@ -116,6 +151,11 @@ class BlstPublicKey implements PublicKey {
     return Bytes48.wrap(ecPoint.compress());
   }
 
+  @Override
+  public Bytes toBytesUncompressed() {
+    return Bytes.wrap(ecPoint.serialize());
+  }
+
   @Override
   public int hashCode() {
     return toBytesCompressed().hashCode();
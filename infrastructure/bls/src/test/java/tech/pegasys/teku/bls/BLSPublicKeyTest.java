@@ -67,6 +67,26 @@ abstract class BLSPublicKeyTest {
     assertEquals(publicKey1, publicKey2);
   }
 
+  @Test
+  void fromBytesUncompressed_roundtrip() {
+    BLSPublicKey publicKey = BLSTestUtil.randomPublicKey(1);
+    Bytes uncompressed = publicKey.toBytesUncompressed();
+
+    BLSPublicKey restored = BLSPublicKey.fromBytesUncompressed(uncompressed);
+    assertThat(uncompressed.size()).isEqualTo(96);
+    assertThat(restored).isEqualTo(publicKey);
+    assertThat(restored.toBytesCompressed()).isEqualTo(publicKey.toBytesCompressed());
+  }
+
+  @Test
+  void fromBytesUncompressed_throwsOnInvalidData() {
+    Bytes uncompressed = BLSTestUtil.randomPublicKey(1).toBytesUncompressed();
+    assertThatThrownBy(() -> BLSPublicKey.fromBytesUncompressed(uncompressed.shiftLeft(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> BLSPublicKey.fromBytesUncompressed(uncompressed.slice(0, 48)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   void fromBytesCompressedValidate_throwsOnInvalidPubKey() {
     Bytes48 invalidPublicKeyBytes =
@@ -215,6 +235,31 @@ abstract class BLSPublicKeyTest {
     assertThat(aggrPk).isEqualTo(infinityPublicKey);
   }
 
+  @Test
+  void aggregateExcluding_shouldMatchAggregateOfRemainingKeys() {
+    BLSPublicKey pk1 = BLSTestUtil.randomPublicKey(1);
+    BLSPublicKey pk2 = BLSTestUtil.randomPublicKey(2);
+    BLSPublicKey pk3 = BLSTestUtil.randomPublicKey(3);
+    BLSPublicKey pk4 = BLSTestUtil.randomPublicKey(4);
+    BLSPublicKey aggregate = BLSPublicKey.aggregate(List.of(pk1, pk2, pk3, pk4));
+
+    assertThat(BLSPublicKey.aggregateExcluding(aggregate, List.of(pk2, pk4)))
+        .isEqualTo(BLSPublicKey.aggregate(List.of(pk1, pk3)));
+    assertThat(BLSPublicKey.aggregateExcluding(aggregate, List.of())).isEqualTo(aggregate);
+  }
+
+  @Test
+  void aggregateExcludingInfinitePubKeyShouldFail() {
+    BLSPublicKey pk1 = BLSTestUtil.randomPublicKey(1);
+    BLSPublicKey pk2 = BLSTestUtil.randomPublicKey(2);
+    BLSPublicKey aggregate = BLSPublicKey.aggregate(List.of(pk1, pk2));
+
+    assertThat(BLSPublicKey.aggregateExcluding(aggregate, List.of(infinityPublicKey)))
+        .isEqualTo(infinityPublicKey);
+    assertThat(BLSPublicKey.aggregateExcluding(infinityPublicKey, List.of(pk1)))
+        .isEqualTo(infinityPublicKey);
+  }
+
   @Test
   public void toAbbreviatedString_shouldShowFirstSevenBytesOfPublicKey() {
     Bytes keyBytes =
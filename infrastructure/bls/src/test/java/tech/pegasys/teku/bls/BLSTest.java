@@ -125,6 +125,32 @@ public abstract class BLSTest {
     assertTrue(BLS.fastAggregateVerify(publicKeys, message, aggregatedSignature));
   }
 
+  @Test
+  void fastAggregateVerify_shouldUsePreAggregatedPublicKey() {
+    Bytes message = Bytes.wrap("Hello, world!".getBytes(UTF_8));
+    BLSKeyPair keyPair1 = BLSTestUtil.randomKeyPair(1);
+    BLSKeyPair keyPair2 = BLSTestUtil.randomKeyPair(2);
+    BLSKeyPair keyPair3 = BLSTestUtil.randomKeyPair(3);
+    List<BLSPublicKey> publicKeys = List.of(keyPair1.getPublicKey(), keyPair2.getPublicKey());
+    BLSSignature aggregatedSignature =
+        BLS.aggregate(
+            List.of(
+                BLS.sign(keyPair1.getSecretKey(), message),
+                BLS.sign(keyPair2.getSecretKey(), message)));
+
+    assertTrue(
+        BLS.fastAggregateVerify(
+            new PreAggregatedPublicKeys(publicKeys, BLSPublicKey.aggregate(publicKeys)),
+            message,
+            aggregatedSignature));
+    // Only the supplied aggregate is used for verification
+    assertFalse(
+        BLS.fastAggregateVerify(
+            new PreAggregatedPublicKeys(publicKeys, keyPair3.getPublicKey()),
+            message,
+            aggregatedSignature));
+  }
+
   @Test
   void succeedsWhenAggregateVerifyWithDistinctMessagesReturnsTrue() {
     Bytes message1 = Bytes.wrap("Hello, world 1!".getBytes(UTF_8));
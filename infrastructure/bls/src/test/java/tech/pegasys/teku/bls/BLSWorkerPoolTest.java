@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.bls;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class BLSWorkerPoolTest {
+
+  private final BLSWorkerPool pool = BLSWorkerPool.create(2);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  void invoke_shouldRunParallelStreamsOnPoolWorkers() {
+    final Set<String> threadNames =
+        pool.invoke(
+            () ->
+                IntStream.range(0, 1000)
+                    .parallel()
+                    .mapToObj(__ -> Thread.currentThread().getName())
+                    .collect(Collectors.toSet()));
+
+    assertThat(threadNames).isNotEmpty().allMatch(name -> name.startsWith("bls-worker-"));
+  }
+
+  @Test
+  void invoke_shouldRunNestedTasksDirectly() {
+    final String outerThread = pool.invoke(() -> Thread.currentThread().getName());
+    final boolean nestedOnSameThread =
+        pool.invoke(
+            () -> {
+              final String thread = Thread.currentThread().getName();
+              return pool.invoke(() -> Thread.currentThread().getName()).equals(thread);
+            });
+
+    assertThat(outerThread).startsWith("bls-worker-");
+    assertThat(nestedOnSameThread).isTrue();
+  }
+
+  @Test
+  void getParallelism_shouldReturnConfiguredParallelism() {
+    assertThat(pool.getParallelism()).isEqualTo(2);
+  }
+}
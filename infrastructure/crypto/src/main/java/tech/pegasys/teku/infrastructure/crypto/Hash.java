@@ -36,6 +36,16 @@ public class Hash {
     return Bytes32.wrap(digest.digest());
   }
 
+  /**
+   * Hashes a pair of Merkle tree node roots. Considerably cheaper than {@link #sha256(Bytes,
+   * Bytes)} as it doesn't create a new {@link MessageDigest} on every call
+   *
+   * @see Sha256PairHasher
+   */
+  public static Bytes32 sha256Pair(final Bytes32 a, final Bytes32 b) {
+    return Sha256PairHasher.getThreadLocal().hashPair(a, b);
+  }
+
   // Note: Doesn't use varargs to avoid creating a Bytes[] instance.
   public static Bytes32 sha256(final Bytes a, final Bytes b, final Bytes c) {
     final MessageDigest digest = MessageDigestFactory.createSha256();
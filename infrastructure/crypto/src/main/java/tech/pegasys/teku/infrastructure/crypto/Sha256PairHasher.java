@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.crypto;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+
+/**
+ * SHA-256 hasher specialized for Merkle tree nodes, i.e. for hashing 64 bytes (a pair of 32 byte
+ * roots) into 32 bytes.
+ *
+ * <p>Unlike {@link Hash#sha256(org.apache.tuweni.bytes.Bytes, org.apache.tuweni.bytes.Bytes)} the
+ * hasher reuses the same {@link MessageDigest} and input buffer between invocations, so the only
+ * allocation per hash is the resulting {@link Bytes32} (or none at all when the result is written
+ * to a caller provided buffer). The whole 64 byte input is fed to the digest with a single call so
+ * that it is compressed straight from the buffer without intermediate copying.
+ *
+ * <p>Instances are not thread-safe. Use {@link #getThreadLocal()} to obtain an instance bound to
+ * the current thread.
+ */
+public class Sha256PairHasher {
+
+  public static final int INPUT_SIZE = 2 * Bytes32.SIZE;
+  public static final int OUTPUT_SIZE = Bytes32.SIZE;
+
+  private static final ThreadLocal<Sha256PairHasher> THREAD_LOCAL_HASHER =
+      ThreadLocal.withInitial(Sha256PairHasher::new);
+
+  private final MessageDigest digest = MessageDigestFactory.createSha256();
+  private final byte[] input = new byte[INPUT_SIZE];
+  private final MutableBytes inputBytes = MutableBytes.wrap(input);
+
+  public static Sha256PairHasher getThreadLocal() {
+    return THREAD_LOCAL_HASHER.get();
+  }
+
+  /** Returns {@code sha256(left ++ right)} */
+  public Bytes32 hashPair(final Bytes32 left, final Bytes32 right) {
+    left.copyTo(inputBytes, 0);
+    right.copyTo(inputBytes, Bytes32.SIZE);
+    final byte[] out = new byte[OUTPUT_SIZE];
+    hash64(input, 0, out, 0);
+    return Bytes32.wrap(out);
+  }
+
+  /**
+   * Writes {@code sha256(left[leftOffset:leftOffset+32] ++ right[rightOffset:rightOffset+32])} to
+   * {@code out[outOffset:outOffset+32]}. The output may overlap any of the inputs
+   */
+  public void hashPair(
+      final byte[] left,
+      final int leftOffset,
+      final byte[] right,
+      final int rightOffset,
+      final byte[] out,
+      final int outOffset) {
+    System.arraycopy(left, leftOffset, input, 0, Bytes32.SIZE);
+    System.arraycopy(right, rightOffset, input, Bytes32.SIZE, Bytes32.SIZE);
+    hash64(input, 0, out, outOffset);
+  }
+
+  /**
+   * Writes {@code sha256(in[inOffset:inOffset+64])} to {@code out[outOffset:outOffset+32]}. The
+   * output may overlap the input
+   */
+  public void hash64(final byte[] in, final int inOffset, final byte[] out, final int outOffset) {
+    digest.update(in, inOffset, INPUT_SIZE);
+    try {
+      digest.digest(out, outOffset, OUTPUT_SIZE);
+    } catch (final DigestException e) {
+      // only thrown when the output buffer is too small
+      digest.reset();
+      throw new IllegalArgumentException("Invalid output buffer", e);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class Sha256PairHasherTest {
+
+  private final Sha256PairHasher hasher = Sha256PairHasher.getThreadLocal();
+
+  @Test
+  void hashPair_shouldMatchSha256OfConcatenation() {
+    for (int i = 0; i < 16; i++) {
+      final Bytes32 left = Bytes32.random();
+      final Bytes32 right = Bytes32.random();
+
+      assertThat(hasher.hashPair(left, right))
+          .isEqualTo(Hash.sha256(Bytes.concatenate(left, right)));
+    }
+  }
+
+  @Test
+  void hashPair_shouldHandleSlicedInput() {
+    final Bytes data = Bytes.random(100);
+    final Bytes32 left = Bytes32.wrap(data.slice(3, 32));
+    final Bytes32 right = Bytes32.wrap(data.slice(50, 32));
+
+    assertThat(hasher.hashPair(left, right)).isEqualTo(Hash.sha256(left, right));
+  }
+
+  @Test
+  void hashPair_shouldWriteToBufferAtOffset() {
+    final Bytes32 left = Bytes32.random();
+    final Bytes32 right = Bytes32.random();
+    final byte[] in = Bytes.concatenate(Bytes.random(5), left, Bytes.random(7), right).toArray();
+    final byte[] out = new byte[40];
+
+    hasher.hashPair(in, 5, in, 5 + 32 + 7, out, 8);
+
+    assertThat(Bytes.wrap(out, 8, 32)).isEqualTo(Hash.sha256(left, right));
+    assertThat(Bytes.wrap(out, 0, 8)).isEqualTo(Bytes.wrap(new byte[8]));
+  }
+
+  @Test
+  void hash64_shouldAllowOutputOverlappingInput() {
+    final Bytes32 left = Bytes32.random();
+    final Bytes32 right = Bytes32.random();
+    final byte[] buffer = Bytes.concatenate(left, right).toArray();
+
+    hasher.hash64(buffer, 0, buffer, 0);
+
+    assertThat(Bytes.wrap(buffer, 0, 32)).isEqualTo(Hash.sha256(left, right));
+  }
+
+  @Test
+  void zeroHashes_shouldMatchDigest() {
+    Bytes32 zeroHash = Bytes32.ZERO;
+    for (int i = 0; i < 8; i++) {
+      final Bytes32 expected = Hash.sha256(Bytes.concatenate(zeroHash, zeroHash));
+      zeroHash = Hash.sha256Pair(zeroHash, zeroHash);
+      assertThat(zeroHash).isEqualTo(expected);
+    }
+  }
+}
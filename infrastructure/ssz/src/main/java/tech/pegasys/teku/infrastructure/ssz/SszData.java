@@ -13,11 +13,14 @@
 
 package tech.pegasys.teku.infrastructure.ssz;
 
+import java.nio.channels.WritableByteChannel;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszSchema;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszChannelWriter;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
 
 /**
  * Base class of immutable views over Binary Backing Tree ({@link TreeNode}) Overlay views concept
@@ -51,6 +54,17 @@ public interface SszData extends Merkleizable, SimpleOffsetSerializable {
     return getBackingNode().hashTreeRoot();
   }
 
+  /**
+   * The same as {@link #hashTreeRoot()} but hashes the modified backing tree nodes in parallel
+   * batches. Makes sense for large structures with many changes (e.g. a state after epoch
+   * processing)
+   *
+   * @see TreeUtil#parallelHashTreeRoot(TreeNode)
+   */
+  default Bytes32 parallelHashTreeRoot() {
+    return TreeUtil.parallelHashTreeRoot(getBackingNode());
+  }
+
   @Override
   default Bytes sszSerialize() {
     return getSchema().sszSerializeTree(getBackingNode());
@@ -60,4 +74,23 @@ public interface SszData extends Merkleizable, SimpleOffsetSerializable {
   default int sszSerialize(SszWriter writer) {
     return getSchema().sszSerializeTree(getBackingNode(), writer);
   }
+
+  /** Returns the size of the SSZ serialization, computed from the backing tree */
+  default int getSszSize() {
+    return getSchema().getSszSize(getBackingNode());
+  }
+
+  /**
+   * Streams the SSZ bytes to the channel while traversing the backing tree. Unlike {@link
+   * #sszSerialize()} doesn't allocate an array of the whole SSZ size
+   *
+   * @return the number of bytes written
+   * @see SszChannelWriter
+   */
+  default int sszSerialize(WritableByteChannel channel) {
+    final SszChannelWriter writer = new SszChannelWriter(channel);
+    final int size = sszSerialize(writer);
+    writer.flush();
+    return size;
+  }
 }
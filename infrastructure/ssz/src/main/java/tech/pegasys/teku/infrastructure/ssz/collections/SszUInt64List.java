@@ -20,4 +20,17 @@ public interface SszUInt64List extends SszPrimitiveList<UInt64, SszUInt64> {
 
   @Override
   SszMutableUInt64List createWritableCopy();
+
+  /**
+   * Returns all the list elements as raw {@link UInt64} long bits. Preferable over element-wise
+   * access when the whole list needs to be processed
+   */
+  default long[] toLongArray() {
+    final int size = size();
+    final long[] values = new long[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = getElement(i).longValue();
+    }
+    return values;
+  }
 }
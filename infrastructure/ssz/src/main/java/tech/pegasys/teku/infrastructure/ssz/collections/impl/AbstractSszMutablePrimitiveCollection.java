@@ -30,6 +30,7 @@ import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchema.PackedNode
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeUpdates;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
 
 public abstract class AbstractSszMutablePrimitiveCollection<
         ElementT, SszElementT extends SszPrimitive<ElementT, SszElementT>>
@@ -83,14 +84,24 @@ public abstract class AbstractSszMutablePrimitiveCollection<
       curNodeUpdate.addUpdate(childIndex % elementsPerChunk, entry.getValue());
     }
 
-    List<Long> gIndexes = new ArrayList<>();
-    List<TreeNode> newValues = new ArrayList<>();
+    // the original nodes of partially updated chunks are fetched in a single tree traversal
+    // instead of a root-to-leaf lookup per chunk
+    long[] partialUpdateGIndexes =
+        nodeUpdates.stream()
+            .filter(nodeUpdate -> nodeUpdate.getUpdates().size() < elementsPerChunk)
+            .mapToLong(NodeUpdate::getNodeGIndex)
+            .toArray();
+    TreeNode[] partialUpdateOriginalNodes = TreeUtil.getNodes(original, partialUpdateGIndexes);
+
+    List<Long> gIndexes = new ArrayList<>(nodeUpdates.size());
+    List<TreeNode> newValues = new ArrayList<>(nodeUpdates.size());
     SszPrimitiveSchema<ElementT, SszElementT> elementType = getPrimitiveElementSchema();
+    int partialUpdateIndex = 0;
     for (NodeUpdate<ElementT, SszElementT> nodeUpdate : nodeUpdates) {
       long gIndex = nodeUpdate.getNodeGIndex();
       TreeNode originalNode =
           nodeUpdate.getUpdates().size() < elementsPerChunk
-              ? original.get(gIndex)
+              ? partialUpdateOriginalNodes[partialUpdateIndex++]
               : LeafNode.EMPTY_LEAF;
       TreeNode newNode = elementType.updatePackedNode(originalNode, nodeUpdate.getUpdates());
       newValues.add(newNode);
@@ -13,17 +13,41 @@
 
 package tech.pegasys.teku.infrastructure.ssz.collections.impl;
 
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszUInt64ListSchema;
+import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongArrayNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongsLeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUpdates;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * Mutable {@code List[uint64, N]} which switches its backing data subtree to the flat {@link
+ * PackedLongArrayNode} when the large portion of the list is modified at once (e.g. all the
+ * balances are updated on epoch transition). This way the list data is rehashed in a single pass
+ * over a {@code long[]} without creating a tree node per every changed chunk. Sparse changes are
+ * applied to the backing tree as usual
+ */
 public class SszMutableUInt64ListImpl extends SszMutablePrimitiveListImpl<UInt64, SszUInt64>
     implements SszMutableUInt64List {
 
+  /** The minimal list size to apply the changes by repacking all the list values */
+  static final int MIN_PACKED_UPDATE_SIZE = 1024;
+
+  /** The changes are applied by repacking when at least 1/N of list elements are changed */
+  static final int PACKED_UPDATE_CHANGES_RATIO = 4;
+
   public SszMutableUInt64ListImpl(SszUInt64ListImpl backingImmutableData) {
     super(backingImmutableData);
   }
@@ -33,6 +57,50 @@ public class SszMutableUInt64ListImpl extends SszMutablePrimitiveListImpl<UInt64
     return (SszUInt64List) super.commitChanges();
   }
 
+  @Override
+  protected TreeUpdates changesToNewNodes(
+      Stream<Map.Entry<Integer, SszUInt64>> newChildValues, TreeNode original) {
+    final List<Map.Entry<Integer, SszUInt64>> changes = newChildValues.collect(Collectors.toList());
+    if (size() < MIN_PACKED_UPDATE_SIZE || changes.size() * PACKED_UPDATE_CHANGES_RATIO < size()) {
+      return super.changesToNewNodes(changes.stream(), original);
+    }
+
+    final long[] values = new long[size()];
+    copyValues(original, values, Math.min(values.length, backingImmutableData.size()));
+    for (Map.Entry<Integer, SszUInt64> change : changes) {
+      values[change.getKey()] = change.getValue().get().longValue();
+    }
+    final TreeNode newDataNode = PackedLongArrayNode.create(values, getSchema().treeDepth());
+    return new TreeUpdates(
+        List.of(new TreeUpdates.Update(GIndexUtil.LEFT_CHILD_G_INDEX, newDataNode)));
+  }
+
+  private void copyValues(TreeNode listNode, long[] values, int count) {
+    final TreeNode dataNode = listNode.get(GIndexUtil.LEFT_CHILD_G_INDEX);
+    if (dataNode instanceof PackedLongArrayNode && ((PackedLongArrayNode) dataNode).isRoot()) {
+      System.arraycopy(((PackedLongArrayNode) dataNode).getValues(), 0, values, 0, count);
+    } else if (count > 0) {
+      final int[] valueIndex = {0};
+      TreeUtil.iterateLeafDataNodes(
+          listNode,
+          getSchema().getChildGeneralizedIndex(0),
+          getSchema().getChildGeneralizedIndex(getSchema().getChunks(count) - 1),
+          leafNode -> {
+            if (leafNode instanceof PackedLongsLeafNode) {
+              final PackedLongsLeafNode packedNode = (PackedLongsLeafNode) leafNode;
+              for (int i = 0; i < packedNode.getLongCount() && valueIndex[0] < count; i++) {
+                values[valueIndex[0]++] = packedNode.getLong(i);
+              }
+              return;
+            }
+            final Bytes leafData = leafNode.getData();
+            for (int i = 0; i < leafData.size() && valueIndex[0] < count; i += Long.BYTES) {
+              values[valueIndex[0]++] = leafData.getLong(i, ByteOrder.LITTLE_ENDIAN);
+            }
+          });
+    }
+  }
+
   @Override
   protected SszUInt64ListImpl createImmutableSszComposite(
       TreeNode backingNode, IntCache<SszUInt64> childrenCache) {
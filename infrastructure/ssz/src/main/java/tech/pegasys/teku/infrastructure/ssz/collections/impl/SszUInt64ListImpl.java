@@ -13,12 +13,17 @@
 
 package tech.pegasys.teku.infrastructure.ssz.collections.impl;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszListSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszUInt64ListSchema;
+import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongArrayNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
@@ -34,6 +39,31 @@ public class SszUInt64ListImpl extends SszPrimitiveListImpl<UInt64, SszUInt64>
     super(schema, backingNode, cache);
   }
 
+  @Override
+  protected SszUInt64 getImpl(int index) {
+    final TreeNode dataNode = getBackingNode().get(GIndexUtil.LEFT_CHILD_G_INDEX);
+    if (dataNode instanceof PackedLongArrayNode && ((PackedLongArrayNode) dataNode).isRoot()) {
+      // shortcut the tree traversal for the array backed list
+      return SszUInt64.of(UInt64.fromLongBits(((PackedLongArrayNode) dataNode).getValues()[index]));
+    }
+    return super.getImpl(index);
+  }
+
+  @Override
+  public long[] toLongArray() {
+    final TreeNode dataNode = getBackingNode().get(GIndexUtil.LEFT_CHILD_G_INDEX);
+    if (dataNode instanceof PackedLongArrayNode && ((PackedLongArrayNode) dataNode).isRoot()) {
+      return Arrays.copyOf(((PackedLongArrayNode) dataNode).getValues(), size());
+    }
+    // decoding the serialized list is way cheaper than traversing the tree for every element
+    final long[] values = new long[size()];
+    ByteBuffer.wrap(sszSerialize().toArrayUnsafe())
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .asLongBuffer()
+        .get(values);
+    return values;
+  }
+
   @Override
   public SszMutableUInt64List createWritableCopy() {
     return new SszMutableUInt64ListImpl(this);
@@ -34,6 +34,7 @@ import tech.pegasys.teku.infrastructure.ssz.schema.impl.AbstractSszPrimitiveSche
 import tech.pegasys.teku.infrastructure.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafDataNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongsLeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 import tech.pegasys.teku.infrastructure.ssz.type.Bytes4;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -153,6 +154,12 @@ public interface SszPrimitiveSchemas {
       new AbstractSszPrimitiveSchema<>(64) {
         @Override
         public SszUInt64 createFromLeafBackingNode(LeafDataNode node, int internalIndex) {
+          if (node instanceof PackedLongsLeafNode
+              && internalIndex < ((PackedLongsLeafNode) node).getLongCount()) {
+            // fast path: no data bytes copying
+            return SszUInt64.of(
+                UInt64.fromLongBits(((PackedLongsLeafNode) node).getLong(internalIndex)));
+          }
           Bytes leafNodeBytes = node.getData();
           try {
             Bytes elementBytes = leafNodeBytes.slice(internalIndex * 8, 8);
@@ -179,6 +186,10 @@ public interface SszPrimitiveSchemas {
 
         @Override
         public TreeNode updateBackingNode(TreeNode srcNode, int index, SszData newValue) {
+          if (srcNode instanceof PackedLongsLeafNode) {
+            return ((PackedLongsLeafNode) srcNode)
+                .withLong(index, ((SszUInt64) newValue).longValue());
+          }
           Bytes uintBytes =
               Bytes.ofUnsignedLong(((SszUInt64) newValue).longValue(), ByteOrder.LITTLE_ENDIAN);
           Bytes curVal = ((LeafNode) srcNode).getData();
@@ -190,20 +201,11 @@ public interface SszPrimitiveSchemas {
         public TreeNode updatePackedNode(
             TreeNode srcNode, List<PackedNodeUpdate<UInt64, SszUInt64>> updates) {
           if (updates.size() == 4) {
-            byte[] data = new byte[32];
+            long[] values = new long[4];
             for (int i = 0; i < 4; i++) {
-              long longValue = updates.get(i).getNewValue().longValue();
-              int off = i * 8;
-              data[off + 0] = (byte) longValue;
-              data[off + 1] = (byte) (longValue >> 8);
-              data[off + 2] = (byte) (longValue >> 16);
-              data[off + 3] = (byte) (longValue >> 24);
-              data[off + 4] = (byte) (longValue >> 32);
-              data[off + 5] = (byte) (longValue >> 40);
-              data[off + 6] = (byte) (longValue >> 48);
-              data[off + 7] = (byte) (longValue >> 56);
+              values[i] = updates.get(i).getNewValue().longValue();
             }
-            return LeafNode.create(Bytes.wrap(data));
+            return PackedLongsLeafNode.create(values, 0, 4);
           } else {
             return super.updatePackedNode(srcNode, updates);
           }
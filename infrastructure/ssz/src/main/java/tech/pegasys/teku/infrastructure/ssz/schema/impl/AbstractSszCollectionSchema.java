@@ -37,6 +37,7 @@ import tech.pegasys.teku.infrastructure.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongsLeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszNodeTemplate;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszSuperNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
@@ -142,13 +143,21 @@ public abstract class AbstractSszCollectionSchema<
     }
     int nodesCount = getChunks(elementsCount);
     int[] bytesCnt = new int[1];
-    TreeUtil.iterateLeavesData(
+    TreeUtil.iterateLeafDataNodes(
         vectorNode,
         getChildGeneralizedIndex(0),
         getChildGeneralizedIndex(nodesCount - 1),
-        leafData -> {
-          writer.write(leafData);
-          bytesCnt[0] += leafData.size();
+        leafNode -> {
+          if (leafNode instanceof PackedLongsLeafNode) {
+            // fast path: no data bytes copying
+            final PackedLongsLeafNode packedNode = (PackedLongsLeafNode) leafNode;
+            packedNode.writeData(writer);
+            bytesCnt[0] += packedNode.getDataSize();
+          } else {
+            final Bytes leafData = leafNode.getData();
+            writer.write(leafData);
+            bytesCnt[0] += leafData.size();
+          }
         });
     return bytesCnt[0];
   }
@@ -34,6 +34,7 @@ import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
 import tech.pegasys.teku.infrastructure.ssz.tree.BranchNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongsLeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszSuperNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeSource;
@@ -279,6 +280,9 @@ public abstract class AbstractSszListSchema<
 
   private static long fromLengthNode(TreeNode lengthNode) {
     assert lengthNode instanceof LeafNode;
+    if (lengthNode instanceof PackedLongsLeafNode) {
+      return ((PackedLongsLeafNode) lengthNode).getLong(0);
+    }
     return ((LeafNode) lengthNode).getData().toLong(ByteOrder.LITTLE_ENDIAN);
   }
 
@@ -28,6 +28,7 @@ import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafDataNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongsLeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeSource;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeStore;
@@ -131,6 +132,12 @@ public abstract class AbstractSszPrimitiveSchema<
 
   @Override
   public int sszSerializeTree(TreeNode node, SszWriter writer) {
+    if (node instanceof PackedLongsLeafNode
+        && ((PackedLongsLeafNode) node).getDataSize() == sszSize) {
+      // fast path: no data bytes copying
+      ((PackedLongsLeafNode) node).writeData(writer);
+      return sszSize;
+    }
     final Bytes nodeData;
     if (node instanceof LeafDataNode) {
       // small perf optimization
@@ -18,6 +18,7 @@ import static tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil.bitsCeilToBytes
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchema;
@@ -28,6 +29,7 @@ import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil.NodeRelation;
 import tech.pegasys.teku.infrastructure.ssz.tree.LazyBranchNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeInterner;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeSource;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeSource.CompressedBranchInfo;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
@@ -42,6 +44,38 @@ public class LoadingUtil {
       final TreeNode defaultTree,
       final long lastUsefulGIndex,
       final ChildLoader childLoader) {
+    final Optional<TreeNodeInterner> interner = nodeSource.getInterner();
+    // Only subtrees entirely before the last useful node are shared: the nodes of the last useful
+    // chunk depend on the collection length and not only on the subtree root
+    if (interner.isPresent()
+        && GIndexUtil.gIdxCompare(rootGIndex, lastUsefulGIndex) == NodeRelation.Left) {
+      return interner
+          .get()
+          .intern(
+              rootGIndex,
+              rootHash,
+              () ->
+                  createNodesToDepth(
+                      nodeSource,
+                      rootHash,
+                      rootGIndex,
+                      depthToLoad,
+                      defaultTree,
+                      lastUsefulGIndex,
+                      childLoader));
+    }
+    return createNodesToDepth(
+        nodeSource, rootHash, rootGIndex, depthToLoad, defaultTree, lastUsefulGIndex, childLoader);
+  }
+
+  private static TreeNode createNodesToDepth(
+      final TreeNodeSource nodeSource,
+      final Bytes32 rootHash,
+      final long rootGIndex,
+      final int depthToLoad,
+      final TreeNode defaultTree,
+      final long lastUsefulGIndex,
+      final ChildLoader childLoader) {
     if (depthToLoad == 0) {
       if (GIndexUtil.gIdxCompare(rootGIndex, lastUsefulGIndex) == NodeRelation.Right) {
         // Leaf node is past the last useful node so can just use the default tree
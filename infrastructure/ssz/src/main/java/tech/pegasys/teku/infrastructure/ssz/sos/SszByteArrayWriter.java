@@ -29,6 +29,13 @@ public class SszByteArrayWriter implements SszWriter {
     this.size += length;
   }
 
+  @Override
+  public void writeLongLittleEndian(final long value) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      bytes[size++] = (byte) (value >>> (i * 8));
+    }
+  }
+
   public byte[] getBytesArray() {
     return bytes;
   }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.sos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link SszWriter} which streams SSZ bytes to a {@link WritableByteChannel} through a fixed size
+ * buffer as the tree is traversed, so that serializing a large structure (e.g. a state) doesn't
+ * allocate an array of the full SSZ size.
+ *
+ * <p>{@link #flush()} should be called after serialization to write out the buffered bytes. The
+ * channel is not closed by this writer. I/O errors are rethrown as {@link UncheckedIOException}
+ */
+public class SszChannelWriter implements SszWriter, Flushable {
+
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer;
+  private long bytesWritten = 0;
+
+  public SszChannelWriter(final WritableByteChannel channel) {
+    this(channel, DEFAULT_BUFFER_SIZE);
+  }
+
+  public SszChannelWriter(final WritableByteChannel channel, final int bufferSize) {
+    checkArgument(bufferSize > 0, "Invalid buffer size: %s", bufferSize);
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) {
+    if (length > buffer.remaining()) {
+      writeBuffer();
+      if (length >= buffer.capacity()) {
+        // no point in copying large chunks through the buffer
+        writeFully(ByteBuffer.wrap(bytes, offset, length));
+        bytesWritten += length;
+        return;
+      }
+    }
+    buffer.put(bytes, offset, length);
+    bytesWritten += length;
+  }
+
+  @Override
+  public void writeLongLittleEndian(final long value) {
+    if (buffer.capacity() < Long.BYTES) {
+      SszWriter.super.writeLongLittleEndian(value);
+      return;
+    }
+    if (buffer.remaining() < Long.BYTES) {
+      writeBuffer();
+    }
+    buffer.putLong(value);
+    bytesWritten += Long.BYTES;
+  }
+
+  /** Total number of bytes written to this writer (including not yet flushed bytes) */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /** Writes all the buffered bytes to the channel */
+  @Override
+  public void flush() {
+    writeBuffer();
+  }
+
+  private void writeBuffer() {
+    buffer.flip();
+    writeFully(buffer);
+    buffer.clear();
+  }
+
+  private void writeFully(final ByteBuffer src) {
+    try {
+      while (src.hasRemaining()) {
+        channel.write(src);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
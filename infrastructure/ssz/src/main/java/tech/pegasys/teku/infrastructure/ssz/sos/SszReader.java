@@ -14,6 +14,8 @@
 package tech.pegasys.teku.infrastructure.ssz.sos;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import org.apache.tuweni.bytes.Bytes;
 
 /** Simple reader interface for SSZ stream */
@@ -24,6 +26,25 @@ public interface SszReader extends Closeable {
     return new SimpleSszReader(bytes);
   }
 
+  /**
+   * Creates an instance reading all remaining bytes of the {@link ByteBuffer} (e.g. a memory mapped
+   * file) without copying them to heap at once
+   *
+   * @see SszStreamReader
+   */
+  static SszReader fromByteBuffer(ByteBuffer buffer) {
+    return SszStreamReader.fromByteBuffer(buffer);
+  }
+
+  /**
+   * Creates an instance reading {@code size} bytes from the channel as they are requested
+   *
+   * @see SszStreamReader
+   */
+  static SszReader fromChannel(ReadableByteChannel channel, int size) {
+    return SszStreamReader.fromChannel(channel, size);
+  }
+
   /** Number of bytes available for reading */
   int getAvailableBytes();
 
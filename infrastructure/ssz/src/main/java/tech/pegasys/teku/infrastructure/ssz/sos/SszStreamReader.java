@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.sos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * {@link SszReader} which consumes SSZ bytes sequentially from a {@link ReadableByteChannel} or a
+ * {@link ByteBuffer} (e.g. a memory mapped file) instead of a fully materialized {@link Bytes}
+ * instance. Every {@link #read(int)} copies just the requested bytes, so a tree can be deserialized
+ * without holding the whole SSZ on heap.
+ *
+ * <p>As the input can't be rewound, a slice should be read till the end before reading from its
+ * parent again. This is how all the SSZ schemas deserialize their children.
+ *
+ * <p>The channel should be blocking. It is neither closed by this reader nor read beyond the
+ * specified size (apart from the internal read ahead buffer)
+ */
+public class SszStreamReader implements SszReader {
+
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final Source source;
+  private final int size;
+  private int offset = 0;
+  private SszStreamReader lastSlice;
+
+  private SszStreamReader(final Source source, final int size) {
+    this.source = source;
+    this.size = size;
+  }
+
+  /** Creates a reader of all remaining bytes of the buffer. The buffer position is not modified */
+  public static SszStreamReader fromByteBuffer(final ByteBuffer buffer) {
+    final ByteBuffer readBuffer = buffer.slice();
+    return new SszStreamReader(new Source(null, readBuffer), readBuffer.remaining());
+  }
+
+  /** Creates a reader of {@code size} bytes from the channel with the default buffer size */
+  public static SszStreamReader fromChannel(final ReadableByteChannel channel, final int size) {
+    return fromChannel(channel, size, DEFAULT_BUFFER_SIZE);
+  }
+
+  /** Creates a reader of {@code size} bytes from the channel */
+  public static SszStreamReader fromChannel(
+      final ReadableByteChannel channel, final int size, final int bufferSize) {
+    checkArgument(size >= 0, "Negative size: %s", size);
+    checkArgument(bufferSize > 0, "Invalid buffer size: %s", bufferSize);
+    final ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+    // empty buffer ready to be filled on the first read
+    buffer.flip();
+    return new SszStreamReader(new Source(channel, buffer), size);
+  }
+
+  @Override
+  public int getAvailableBytes() {
+    return size - offset;
+  }
+
+  @Override
+  public SszReader slice(final int size) {
+    checkIfAvailable(size);
+    checkLastSliceRead();
+    lastSlice = new SszStreamReader(source, size);
+    offset += size;
+    return lastSlice;
+  }
+
+  @Override
+  public Bytes read(final int length) {
+    checkIfAvailable(length);
+    checkLastSliceRead();
+    final Bytes ret = source.read(length);
+    offset += length;
+    return ret;
+  }
+
+  private void checkIfAvailable(final int size) {
+    if (getAvailableBytes() < size) {
+      throw new SszDeserializeException("Invalid SSZ: trying to read more bytes than available");
+    }
+  }
+
+  private void checkLastSliceRead() {
+    if (lastSlice != null && lastSlice.getAvailableBytes() > 0) {
+      throw new IllegalStateException(
+          "Can't read SSZ stream while the previous slice has unread bytes");
+    }
+  }
+
+  @Override
+  public void close() {
+    if (getAvailableBytes() > 0) {
+      throw new SszDeserializeException("Invalid SSZ: unread bytes remain: " + getAvailableBytes());
+    }
+  }
+
+  /** The input shared by a reader and all its slices */
+  private static final class Source {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    /** @param channel the channel to refill the buffer from or null if the buffer has all bytes */
+    private Source(final ReadableByteChannel channel, final ByteBuffer buffer) {
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    private Bytes read(final int length) {
+      final byte[] bytes = new byte[length];
+      int position = 0;
+      while (position < length) {
+        if (!buffer.hasRemaining()) {
+          fillBuffer();
+        }
+        final int count = Math.min(buffer.remaining(), length - position);
+        buffer.get(bytes, position, count);
+        position += count;
+      }
+      return Bytes.wrap(bytes);
+    }
+
+    private void fillBuffer() {
+      if (channel == null) {
+        throw new SszDeserializeException("Invalid SSZ: unexpected end of input");
+      }
+      buffer.clear();
+      try {
+        int count;
+        do {
+          count = channel.read(buffer);
+        } while (count == 0);
+        if (count < 0) {
+          throw new SszDeserializeException("Invalid SSZ: unexpected end of input");
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        buffer.flip();
+      }
+    }
+  }
+}
@@ -26,4 +26,13 @@ public interface SszWriter {
   }
 
   void write(byte[] bytes, int offset, int length);
+
+  /** Writes the value as 8 little-endian bytes */
+  default void writeLongLittleEndian(final long value) {
+    final byte[] bytes = new byte[Long.BYTES];
+    for (int i = 0; i < Long.BYTES; i++) {
+      bytes[i] = (byte) (value >>> (i * 8));
+    }
+    write(bytes);
+  }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+/**
+ * The leaf node with full 32 bytes of data, e.g. a root or a chunk of four packed uint64 values,
+ * stored as four longs
+ */
+final class Bytes32LeafNode extends PackedLongsLeafNode {
+
+  private final long value0;
+  private final long value1;
+  private final long value2;
+  private final long value3;
+
+  Bytes32LeafNode(final long value0, final long value1, final long value2, final long value3) {
+    this.value0 = value0;
+    this.value1 = value1;
+    this.value2 = value2;
+    this.value3 = value3;
+  }
+
+  @Override
+  public int getLongCount() {
+    return MAX_LONGS_COUNT;
+  }
+
+  @Override
+  public long getLong(final int index) {
+    switch (index) {
+      case 0:
+        return value0;
+      case 1:
+        return value1;
+      case 2:
+        return value2;
+      case 3:
+        return value3;
+      default:
+        throw new IndexOutOfBoundsException("Invalid index: " + index);
+    }
+  }
+}
@@ -46,7 +46,7 @@ public class LazyBranchNode implements BranchNode {
       final Bytes32 rightRoot,
       final Supplier<TreeNode> leftLoader,
       final Supplier<TreeNode> rightLoader) {
-    this.hashTreeRoot = Suppliers.memoize(() -> Hash.sha256(leftRoot, rightRoot));
+    this.hashTreeRoot = Suppliers.memoize(() -> Hash.sha256Pair(leftRoot, rightRoot));
     this.leftRoot = leftRoot;
     this.rightRoot = rightRoot;
     this.leftLoader = leftLoader;
@@ -15,6 +15,7 @@ package tech.pegasys.teku.infrastructure.ssz.tree;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.nio.ByteOrder;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
@@ -44,9 +45,29 @@ public interface LeafNode extends TreeNode, LeafDataNode {
   /** The {@link LeafNode} with empty data */
   LeafNode EMPTY_LEAF = ZERO_LEAVES[0];
 
-  /** Creates a basic Leaf node instance with the data <= 32 bytes */
+  /**
+   * Creates a Leaf node instance with the data <= 32 bytes. Zero data leaves are shared {@link
+   * #ZERO_LEAVES} instances and 8 or 32 byte leaves are backed by primitive fields (see {@link
+   * PackedLongsLeafNode})
+   */
   static LeafNode create(Bytes data) {
-    return new SimpleLeafNode(data);
+    final int size = data.size();
+    checkArgument(size <= MAX_BYTE_SIZE, "Too large leaf data: %s", size);
+    if (data.isZero()) {
+      return ZERO_LEAVES[size];
+    }
+    switch (size) {
+      case Long.BYTES:
+        return new UInt64LeafNode(data.getLong(0, ByteOrder.LITTLE_ENDIAN));
+      case MAX_BYTE_SIZE:
+        return new Bytes32LeafNode(
+            data.getLong(0, ByteOrder.LITTLE_ENDIAN),
+            data.getLong(8, ByteOrder.LITTLE_ENDIAN),
+            data.getLong(16, ByteOrder.LITTLE_ENDIAN),
+            data.getLong(24, ByteOrder.LITTLE_ENDIAN));
+      default:
+        return new SimpleLeafNode(data);
+    }
   }
 
   /**
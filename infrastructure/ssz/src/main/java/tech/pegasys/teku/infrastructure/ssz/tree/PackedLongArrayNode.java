@@ -0,0 +1,209 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Suppliers;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
+
+/**
+ * A subtree of packed 64-bit values (e.g. SSZ {@code List[uint64, N]} data subtree) which is backed
+ * by a flat {@code long[]} array instead of individual {@link LeafNode}s and {@link BranchNode}s.
+ *
+ * <p>Every leaf chunk contains {@link #VALUES_PER_CHUNK} little-endian values. The hash tree root
+ * is calculated in one bottom-up pass over the array and all the intermediate roots are cached in
+ * flat per-level arrays shared by the node and all its descendant views. The {@link TreeNode} view
+ * (children branches and leaves) is created on demand only when the tree is traversed (e.g. for
+ * proofs, updates or storing) and is not retained by this node.
+ *
+ * <p>Both the values array and the hash cache are never modified after creation, so the node is
+ * immutable and thread-safe like any other {@link TreeNode}
+ */
+public class PackedLongArrayNode implements BranchNode {
+
+  public static final int VALUES_PER_CHUNK = LeafNode.MAX_BYTE_SIZE / Long.BYTES;
+
+  private final Data data;
+  private final int depth;
+  private final long firstChunk;
+
+  private PackedLongArrayNode(final Data data, final int depth, final long firstChunk) {
+    this.data = data;
+    this.depth = depth;
+    this.firstChunk = firstChunk;
+  }
+
+  /**
+   * Creates the subtree of the specified depth with the leaf chunks packed with the values
+   *
+   * @param values the values. The array is not copied and should not be modified afterwards
+   * @param depth the subtree depth. Should be at least 1 and should fit all the values
+   */
+  public static PackedLongArrayNode create(final long[] values, final int depth) {
+    checkArgument(depth > 0 && depth < TreeUtil.ZERO_TREES.length, "Invalid depth: %s", depth);
+    checkArgument(
+        getChunksCount(values.length) <= 1L << depth,
+        "%s values don't fit a tree of depth %s",
+        values.length,
+        depth);
+    return new PackedLongArrayNode(new Data(values, depth), depth, 0);
+  }
+
+  /**
+   * Returns the values this node was created with. Only valid for the node returned from {@link
+   * #create(long[], int)} and not for its descendants
+   */
+  public long[] getValues() {
+    checkArgument(isRoot(), "Not a root node");
+    return data.values;
+  }
+
+  /** Returns true if this node is the one created with {@link #create(long[], int)} */
+  public boolean isRoot() {
+    return depth == data.depth;
+  }
+
+  private static int getChunksCount(final int valuesCount) {
+    return (valuesCount + VALUES_PER_CHUNK - 1) / VALUES_PER_CHUNK;
+  }
+
+  @Override
+  public TreeNode left() {
+    return createChild(firstChunk);
+  }
+
+  @Override
+  public TreeNode right() {
+    return createChild(firstChunk + (1L << (depth - 1)));
+  }
+
+  private TreeNode createChild(final long childFirstChunk) {
+    final int childDepth = depth - 1;
+    if (childFirstChunk >= data.chunksCount) {
+      return TreeUtil.ZERO_TREES[childDepth];
+    } else if (childDepth == 0) {
+      return data.createChunkLeaf((int) childFirstChunk);
+    } else {
+      return new PackedLongArrayNode(data, childDepth, childFirstChunk);
+    }
+  }
+
+  @Override
+  public BranchNode rebind(final boolean left, final TreeNode newNode) {
+    return left ? BranchNode.create(newNode, right()) : BranchNode.create(left(), newNode);
+  }
+
+  @Override
+  public TreeNode updated(final TreeUpdates newNodes) {
+    if (newNodes.isEmpty()) {
+      return this;
+    } else if (newNodes.isFinal()) {
+      return newNodes.getNode(0);
+    } else {
+      Pair<TreeUpdates, TreeUpdates> children = newNodes.splitAtPivot();
+      return BranchNode.create(
+          left().updated(children.getLeft()), right().updated(children.getRight()));
+    }
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return data.getRoot(depth, firstChunk);
+  }
+
+  @Override
+  public String toString() {
+    return "PackedLongArrayNode{depth=" + depth + ", firstChunk=" + firstChunk + "}";
+  }
+
+  private static final class Data {
+    private final long[] values;
+    private final int depth;
+    private final int chunksCount;
+    private final Supplier<byte[][]> levelRoots = Suppliers.memoize(this::calcLevelRoots);
+
+    private Data(final long[] values, final int depth) {
+      this.values = values;
+      this.depth = depth;
+      this.chunksCount = getChunksCount(values.length);
+    }
+
+    private LeafNode createChunkLeaf(final int chunkIndex) {
+      final int fromValue = chunkIndex * VALUES_PER_CHUNK;
+      final int valuesCount = Math.min(VALUES_PER_CHUNK, values.length - fromValue);
+      return PackedLongsLeafNode.create(values, fromValue, valuesCount);
+    }
+
+    private Bytes32 getRoot(final int nodeDepth, final long nodeFirstChunk) {
+      if (nodeFirstChunk >= chunksCount) {
+        return TreeUtil.getZeroHash(nodeDepth);
+      }
+      final byte[] level = levelRoots.get()[nodeDepth];
+      final int offset = (int) (nodeFirstChunk >> nodeDepth) * Bytes32.SIZE;
+      return Bytes32.wrap(level, offset);
+    }
+
+    /**
+     * Returns the roots of all the subtrees with non-default content, where the element [d]
+     * contains the concatenated roots of subtrees of depth d (d > 0)
+     */
+    private byte[][] calcLevelRoots() {
+      final byte[][] levels = new byte[depth + 1][];
+
+      // level 0 is just the leaf chunks which are the values serialized and zero padded
+      final ByteBuffer leaves =
+          ByteBuffer.allocate(chunksCount * Bytes32.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      for (long value : values) {
+        leaves.putLong(value);
+      }
+      levels[0] = leaves.array();
+
+      final Sha256PairHasher hasher = Sha256PairHasher.getThreadLocal();
+      final byte[] oddPairBuffer = new byte[Sha256PairHasher.INPUT_SIZE];
+      int childCount = chunksCount;
+      for (int d = 1; d <= depth; d++) {
+        final byte[] children = levels[d - 1];
+        final int count = (childCount + 1) / 2;
+        final byte[] parents = new byte[count * Bytes32.SIZE];
+        final int fullPairs = childCount / 2;
+        for (int i = 0; i < fullPairs; i++) {
+          hasher.hash64(children, i * Sha256PairHasher.INPUT_SIZE, parents, i * Bytes32.SIZE);
+        }
+        if (fullPairs < count) {
+          // the last child has no non-default right sibling
+          System.arraycopy(
+              children, fullPairs * Sha256PairHasher.INPUT_SIZE, oddPairBuffer, 0, Bytes32.SIZE);
+          System.arraycopy(
+              TreeUtil.getZeroHash(d - 1).toArrayUnsafe(),
+              0,
+              oddPairBuffer,
+              Bytes32.SIZE,
+              Bytes32.SIZE);
+          hasher.hash64(oddPairBuffer, 0, parents, fullPairs * Bytes32.SIZE);
+        }
+        levels[d] = parents;
+        childCount = count;
+      }
+      // leaf nodes are created from the values array, so their roots don't need to be retained
+      levels[0] = null;
+      return levels;
+    }
+  }
+}
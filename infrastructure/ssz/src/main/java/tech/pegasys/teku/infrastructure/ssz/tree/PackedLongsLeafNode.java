@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteOrder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
+
+/**
+ * Compact {@link LeafNode} which holds its data as little-endian 64-bit values in primitive fields
+ * rather than in a separate byte array. Covers the most common leaves of a state tree: packed
+ * uint64 list chunks and 32 byte roots ({@link Bytes32LeafNode}) and single uint64 container fields
+ * ({@link UInt64LeafNode}).
+ *
+ * <p>Use {@link LeafNode#create(Bytes)} or {@link #create(long[], int, int)} which select the most
+ * compact representation (including shared {@link LeafNode#ZERO_LEAVES} for zero data)
+ */
+public abstract class PackedLongsLeafNode implements LeafNode {
+
+  public static final int MAX_LONGS_COUNT = MAX_BYTE_SIZE / Long.BYTES;
+
+  PackedLongsLeafNode() {}
+
+  /**
+   * Creates a leaf node with the data of {@code count} little-endian encoded values
+   *
+   * @param count the number of values: from 0 to {@link #MAX_LONGS_COUNT}
+   */
+  public static LeafNode create(final long[] values, final int offset, final int count) {
+    checkArgument(count >= 0 && count <= MAX_LONGS_COUNT, "Invalid values count: %s", count);
+    boolean isZero = true;
+    for (int i = 0; i < count; i++) {
+      isZero &= values[offset + i] == 0;
+    }
+    if (isZero) {
+      return ZERO_LEAVES[count * Long.BYTES];
+    }
+    switch (count) {
+      case 1:
+        return new UInt64LeafNode(values[offset]);
+      case MAX_LONGS_COUNT:
+        return new Bytes32LeafNode(
+            values[offset], values[offset + 1], values[offset + 2], values[offset + 3]);
+      default:
+        final byte[] data = new byte[count * Long.BYTES];
+        for (int i = 0; i < count; i++) {
+          writeLongLittleEndian(data, i * Long.BYTES, values[offset + i]);
+        }
+        return new SimpleLeafNode(Bytes.wrap(data));
+    }
+  }
+
+  /** Returns the number of 64-bit values in this node data */
+  public abstract int getLongCount();
+
+  /** Returns the value at {@code index} decoded from the data bytes as a little-endian long */
+  public abstract long getLong(int index);
+
+  /** Returns the size of this node data in bytes */
+  public int getDataSize() {
+    return getLongCount() * Long.BYTES;
+  }
+
+  /** Writes this node data to the writer without materializing it as {@link Bytes} */
+  public void writeData(final SszWriter writer) {
+    for (int i = 0; i < getLongCount(); i++) {
+      writer.writeLongLittleEndian(getLong(i));
+    }
+  }
+
+  /**
+   * Returns a leaf node with the value at {@code index} replaced. If the index is beyond this node
+   * data the data is extended with zero values
+   */
+  public LeafNode withLong(final int index, final long value) {
+    checkArgument(index >= 0 && index < MAX_LONGS_COUNT, "Invalid index: %s", index);
+    final int count = getLongCount();
+    final long[] values = new long[MAX_LONGS_COUNT];
+    for (int i = 0; i < count; i++) {
+      values[i] = getLong(i);
+    }
+    values[index] = value;
+    return create(values, 0, Math.max(count, index + 1));
+  }
+
+  /**
+   * Materializes the data bytes on every call. Hot paths should use {@link #getLong(int)} or {@link
+   * #writeData(SszWriter)} instead
+   */
+  @Override
+  public Bytes getData() {
+    final byte[] data = new byte[getDataSize()];
+    writeLongs(data);
+    return Bytes.wrap(data);
+  }
+
+  /**
+   * The root is not stored: a leaf is only hashed when its parent computes its own root, which the
+   * parent keeps
+   */
+  @Override
+  public Bytes32 hashTreeRoot() {
+    final byte[] data = new byte[MAX_BYTE_SIZE];
+    writeLongs(data);
+    return Bytes32.wrap(data);
+  }
+
+  private void writeLongs(final byte[] data) {
+    for (int i = 0; i < getLongCount(); i++) {
+      writeLongLittleEndian(data, i * Long.BYTES, getLong(i));
+    }
+  }
+
+  private static void writeLongLittleEndian(final byte[] data, final int offset, final long value) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      data[offset + i] = (byte) (value >>> (i * 8));
+    }
+  }
+
+  @Override
+  public TreeNode updated(final TreeUpdates newNodes) {
+    if (newNodes.isEmpty()) {
+      return this;
+    } else {
+      newNodes.checkLeaf();
+      return newNodes.getNode(0);
+    }
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof PackedLongsLeafNode) {
+      final PackedLongsLeafNode other = (PackedLongsLeafNode) o;
+      final int count = getLongCount();
+      if (count != other.getLongCount()) {
+        return false;
+      }
+      for (int i = 0; i < count; i++) {
+        if (getLong(i) != other.getLong(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (!(o instanceof LeafNode)) {
+      return false;
+    }
+    return dataEquals(((LeafNode) o).getData());
+  }
+
+  /** Compares the data bytes of another leaf with the values of this node without copying them */
+  boolean dataEquals(final Bytes otherData) {
+    final int count = getLongCount();
+    if (otherData.size() != count * Long.BYTES) {
+      return false;
+    }
+    for (int i = 0; i < count; i++) {
+      if (otherData.getLong(i * Long.BYTES, ByteOrder.LITTLE_ENDIAN) != getLong(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Same value as {@link Bytes#hashCode()} of {@link #getData()} but without materializing it */
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < getLongCount(); i++) {
+      final long value = getLong(i);
+      for (int b = 0; b < Long.BYTES; b++) {
+        result = 31 * result + (byte) (value >>> (b * 8));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "[" + getData() + "]";
+  }
+}
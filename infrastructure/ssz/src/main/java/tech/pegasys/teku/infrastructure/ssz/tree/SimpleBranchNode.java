@@ -63,6 +63,11 @@ class SimpleBranchNode implements BranchNode, TreeNode {
     return cachedHash;
   }
 
+  /** Returns {@code true} if the hash of this node was already calculated */
+  boolean isHashCached() {
+    return cachedHash != null;
+  }
+
   @Override
   public String toString() {
     return left == right ? ("(2x " + left + ")") : ("(" + left + ", " + right + ')');
@@ -58,6 +58,9 @@ class SimpleLeafNode implements LeafNode, TreeNode {
     if (this == o) {
       return true;
     }
+    if (o instanceof PackedLongsLeafNode) {
+      return ((PackedLongsLeafNode) o).dataEquals(getData());
+    }
     if (!(o instanceof LeafNode)) {
       return false;
     }
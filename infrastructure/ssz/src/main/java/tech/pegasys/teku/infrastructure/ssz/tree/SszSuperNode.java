@@ -23,7 +23,7 @@ import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.MutableBytes;
 import org.jetbrains.annotations.NotNull;
-import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
 import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil.NodeRelation;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszNodeTemplate.Location;
 
@@ -73,23 +73,42 @@ public class SszSuperNode implements TreeNode, LeafDataNode {
   }
 
   private Bytes32 calcHashTreeRoot() {
-    return hashTreeRoot(0, 0);
+    if (depth == 0) {
+      return elementHashTreeRoot(0);
+    }
+    // one 64 bytes buffer per tree level to hold the children roots
+    final byte[][] levelBuffers = new byte[depth][Sha256PairHasher.INPUT_SIZE];
+    final byte[] root = new byte[Sha256PairHasher.OUTPUT_SIZE];
+    hashTreeRoot(0, 0, levelBuffers, root, 0);
+    return Bytes32.wrap(root);
+  }
+
+  private void hashTreeRoot(
+      int curDepth, int offset, byte[][] levelBuffers, byte[] out, int outOffset) {
+    if (offset >= ssz.size()) {
+      // the whole subtree consists of default elements
+      TreeUtil.getZeroHash(depth - curDepth).copyTo(MutableBytes.wrap(out), outOffset);
+    } else if (curDepth == depth) {
+      elementHashTreeRoot(offset).copyTo(MutableBytes.wrap(out), outOffset);
+    } else {
+      final byte[] childrenRoots = levelBuffers[curDepth];
+      hashTreeRoot(curDepth + 1, offset, levelBuffers, childrenRoots, 0);
+      hashTreeRoot(
+          curDepth + 1,
+          offset + elementTemplate.getSszLength() * (1 << ((depth - curDepth) - 1)),
+          levelBuffers,
+          childrenRoots,
+          Bytes32.SIZE);
+      Sha256PairHasher.getThreadLocal().hash64(childrenRoots, 0, out, outOffset);
+    }
   }
 
-  private Bytes32 hashTreeRoot(int curDepth, int offset) {
-    if (curDepth == depth) {
-      if (offset < ssz.size()) {
-        return elementTemplate.calculateHashTreeRoot(ssz, offset);
-      } else {
-        assert offset <= elementTemplate.getSszLength() * (getMaxElements() - 1);
-        return DEFAULT_NODE.hashTreeRoot();
-      }
+  private Bytes32 elementHashTreeRoot(int offset) {
+    if (offset < ssz.size()) {
+      return elementTemplate.calculateHashTreeRoot(ssz, offset);
     } else {
-      return Hash.sha256(
-          hashTreeRoot(curDepth + 1, offset),
-          hashTreeRoot(
-              curDepth + 1,
-              offset + elementTemplate.getSszLength() * (1 << ((depth - curDepth) - 1))));
+      assert offset <= elementTemplate.getSszLength() * (getMaxElements() - 1);
+      return DEFAULT_NODE.hashTreeRoot();
     }
   }
 
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Calculates the {@code hash_tree_root} of a tree in batches rather than with the node by node
+ * recursion of {@link BranchNode#hashTreeRoot()}
+ *
+ * <p>All {@link SimpleBranchNode}s which don't have their hash calculated yet are collected first
+ * and grouped by their height above the nearest already hashed (or non-branch) nodes. The groups
+ * are then hashed bottom-up level by level, so every node on a level only depends on the nodes of
+ * the lower levels. Levels containing at least {@link #DEFAULT_PARALLEL_THRESHOLD} nodes are split
+ * across the {@link ForkJoinPool}
+ *
+ * <p>The resulting hashes are cached in the tree nodes, thus subsequent {@link
+ * TreeNode#hashTreeRoot()} calls on the tree or any of its subtrees are cheap
+ */
+public class TreeHasher {
+
+  static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+  private static final TreeHasher DEFAULT_INSTANCE =
+      new TreeHasher(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+
+  TreeHasher(final ForkJoinPool pool, final int parallelThreshold) {
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  /** Returns the instance backed by the common {@link ForkJoinPool} */
+  public static TreeHasher getDefault() {
+    return DEFAULT_INSTANCE;
+  }
+
+  public static TreeHasher create(final ForkJoinPool pool) {
+    return new TreeHasher(pool, DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Hashes all the not yet hashed nodes of the tree and returns the tree root hash. The result is
+   * always equal to {@link TreeNode#hashTreeRoot()}
+   */
+  public Bytes32 hashTreeRoot(final TreeNode root) {
+    final List<List<SimpleBranchNode>> levels = collectDirtyNodes(root);
+    for (List<SimpleBranchNode> level : levels) {
+      hashLevel(level);
+    }
+    return root.hashTreeRoot();
+  }
+
+  private void hashLevel(final List<SimpleBranchNode> level) {
+    if (level.size() < parallelThreshold) {
+      hashNodes(level, 0, level.size());
+    } else {
+      pool.invoke(new HashLevelTask(level, 0, level.size()));
+    }
+  }
+
+  private static void hashNodes(final List<SimpleBranchNode> nodes, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      nodes.get(i).hashTreeRoot();
+    }
+  }
+
+  /**
+   * Returns dirty branch nodes grouped by level where level 0 contains the nodes which have only
+   * hashed (or non-branch) children
+   */
+  static List<List<SimpleBranchNode>> collectDirtyNodes(final TreeNode root) {
+    final List<List<SimpleBranchNode>> levels = new ArrayList<>();
+    collectDirtyNodes(root, levels, new IdentityHashMap<>());
+    return levels;
+  }
+
+  /** Returns the height of the node above the hashed nodes or 0 if the node needs no hashing */
+  private static int collectDirtyNodes(
+      final TreeNode node,
+      final List<List<SimpleBranchNode>> levels,
+      final Map<SimpleBranchNode, Integer> visitedNodeHeights) {
+    if (!(node instanceof SimpleBranchNode)) {
+      return 0;
+    }
+    final SimpleBranchNode branchNode = (SimpleBranchNode) node;
+    if (branchNode.isHashCached()) {
+      return 0;
+    }
+    final Integer visitedHeight = visitedNodeHeights.get(branchNode);
+    if (visitedHeight != null) {
+      return visitedHeight;
+    }
+    final int leftHeight = collectDirtyNodes(branchNode.left(), levels, visitedNodeHeights);
+    final int rightHeight =
+        branchNode.right() == branchNode.left()
+            ? leftHeight
+            : collectDirtyNodes(branchNode.right(), levels, visitedNodeHeights);
+    final int height = Math.max(leftHeight, rightHeight) + 1;
+    while (levels.size() < height) {
+      levels.add(new ArrayList<>());
+    }
+    levels.get(height - 1).add(branchNode);
+    visitedNodeHeights.put(branchNode, height);
+    return height;
+  }
+
+  private class HashLevelTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<SimpleBranchNode> nodes;
+    private final int from;
+    private final int to;
+
+    private HashLevelTask(final List<SimpleBranchNode> nodes, final int from, final int to) {
+      this.nodes = nodes;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= parallelThreshold) {
+        hashNodes(nodes, from, to);
+      } else {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new HashLevelTask(nodes, from, mid), new HashLevelTask(nodes, mid, to));
+      }
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Deduplicates identical subtrees across independently loaded trees (e.g. states loaded from the
+ * database) so that they share the same {@link TreeNode} instances just like states derived from
+ * each other do.
+ *
+ * <p>A subtree is identified by its root hash and its generalized index in the tree: the same
+ * position in the same schema and the same root means the same structure. Interned nodes are
+ * referenced weakly and are dropped once no tree uses them anymore.
+ */
+public class TreeNodeInterner {
+
+  private final ConcurrentMap<Key, NodeReference> nodes = new ConcurrentHashMap<>();
+  private final ReferenceQueue<TreeNode> collectedNodes = new ReferenceQueue<>();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder retainedLeafBytes = new LongAdder();
+  private final Runnable hitListener;
+  private final Runnable missListener;
+
+  public TreeNodeInterner() {
+    this(() -> {}, () -> {});
+  }
+
+  /**
+   * @param hitListener notified whenever an already interned node is reused
+   * @param missListener notified whenever a new node had to be loaded
+   */
+  public TreeNodeInterner(final Runnable hitListener, final Runnable missListener) {
+    this.hitListener = hitListener;
+    this.missListener = missListener;
+  }
+
+  /**
+   * Returns the already interned node with the specified root at the specified position or loads
+   * and interns a new one
+   */
+  public TreeNode intern(
+      final long generalizedIndex, final Bytes32 root, final Supplier<TreeNode> nodeLoader) {
+    removeCollectedNodes();
+    final Key key = new Key(generalizedIndex, root);
+    final TreeNode existingNode = getNode(key);
+    if (existingNode != null) {
+      hitCount.increment();
+      hitListener.run();
+      return existingNode;
+    }
+    missCount.increment();
+    missListener.run();
+    final TreeNode newNode = nodeLoader.get();
+    final NodeReference newReference = new NodeReference(key, newNode, collectedNodes);
+    while (true) {
+      final NodeReference concurrentReference = nodes.putIfAbsent(key, newReference);
+      if (concurrentReference == null) {
+        retainedLeafBytes.add(newReference.leafBytes);
+        return newNode;
+      }
+      final TreeNode concurrentNode = concurrentReference.get();
+      if (concurrentNode != null) {
+        return concurrentNode;
+      }
+      // The concurrently interned node is already collected, replace it
+      if (nodes.remove(key, concurrentReference)) {
+        retainedLeafBytes.add(-concurrentReference.leafBytes);
+      }
+    }
+  }
+
+  private TreeNode getNode(final Key key) {
+    final NodeReference reference = nodes.get(key);
+    return reference != null ? reference.get() : null;
+  }
+
+  private void removeCollectedNodes() {
+    NodeReference reference;
+    while ((reference = (NodeReference) collectedNodes.poll()) != null) {
+      if (nodes.remove(reference.key, reference)) {
+        retainedLeafBytes.add(-reference.leafBytes);
+      }
+    }
+  }
+
+  /** The number of times an already interned node was reused */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /** The number of times a new node had to be loaded */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /** The approximate number of interned nodes which are still referenced by some tree */
+  public long getSize() {
+    removeCollectedNodes();
+    return nodes.size();
+  }
+
+  /**
+   * The approximate number of bytes of leaf data held by the interned leaf nodes which are still
+   * referenced by some tree. The memory used by branch nodes is not included
+   */
+  public long getRetainedLeafBytes() {
+    removeCollectedNodes();
+    return retainedLeafBytes.sum();
+  }
+
+  private static final class NodeReference extends WeakReference<TreeNode> {
+    private final Key key;
+    private final long leafBytes;
+
+    private NodeReference(
+        final Key key, final TreeNode node, final ReferenceQueue<TreeNode> queue) {
+      super(node, queue);
+      this.key = key;
+      this.leafBytes = node instanceof LeafDataNode ? ((LeafDataNode) node).getData().size() : 0;
+    }
+  }
+
+  private static final class Key {
+    private final long generalizedIndex;
+    private final Bytes32 root;
+
+    private Key(final long generalizedIndex, final Bytes32 root) {
+      this.generalizedIndex = generalizedIndex;
+      this.root = root;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return generalizedIndex == key.generalizedIndex && root.equals(key.root);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(generalizedIndex, root);
+    }
+  }
+}
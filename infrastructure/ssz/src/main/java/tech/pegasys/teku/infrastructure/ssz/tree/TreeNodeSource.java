@@ -16,6 +16,7 @@ package tech.pegasys.teku.infrastructure.ssz.tree;
 import com.google.common.base.MoreObjects;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
@@ -24,6 +25,14 @@ public interface TreeNodeSource {
 
   Bytes loadLeafNode(Bytes32 rootHash, long gIndex);
 
+  /**
+   * Returns the interner to share loaded subtrees with the trees previously loaded from the same
+   * source, or empty if each load should create new nodes
+   */
+  default Optional<TreeNodeInterner> getInterner() {
+    return Optional.empty();
+  }
+
   class CompressedBranchInfo {
     private final int depth;
     private final Bytes32[] children;
@@ -55,17 +55,31 @@ public class TreeUtil {
 
   public static ImmutableMap<Bytes32, TreeNode> ZERO_TREES_BY_ROOT;
 
+  /** Roots of {@link #ZERO_TREES} indexed by the tree depth */
+  private static final Bytes32[] ZERO_HASHES;
+
   static {
     ZERO_TREES = new TreeNode[64];
+    ZERO_HASHES = new Bytes32[ZERO_TREES.length];
     ZERO_TREES[0] = LeafNode.EMPTY_LEAF;
+    ZERO_HASHES[0] = LeafNode.EMPTY_LEAF.hashTreeRoot();
     final ImmutableMap.Builder<Bytes32, TreeNode> mapBuilder = ImmutableMap.builder();
     for (int i = 1; i < ZERO_TREES.length; i++) {
       ZERO_TREES[i] = new ZeroBranchNode(ZERO_TREES[i - 1], ZERO_TREES[i - 1], i);
-      mapBuilder.put(ZERO_TREES[i].hashTreeRoot(), ZERO_TREES[i]); // pre-cache
+      ZERO_HASHES[i] = ZERO_TREES[i].hashTreeRoot(); // pre-cache
+      mapBuilder.put(ZERO_HASHES[i], ZERO_TREES[i]);
     }
     ZERO_TREES_BY_ROOT = mapBuilder.build();
   }
 
+  /**
+   * Returns the root of a tree of the specified depth which has all zero leaves. The roots are
+   * precomputed so this method never hashes
+   */
+  public static Bytes32 getZeroHash(int depth) {
+    return ZERO_HASHES[depth];
+  }
+
   public static int bitsCeilToBytes(int bits) {
     return (bits + 7) / 8;
   }
@@ -131,7 +145,9 @@ public class TreeUtil {
   public static TreeNode createTree(
       List<? extends TreeNode> leafNodes, TreeNode defaultNode, int depth) {
     if (leafNodes.isEmpty()) {
-      if (depth > 0) {
+      if (defaultNode == LeafNode.EMPTY_LEAF) {
+        return ZERO_TREES[depth];
+      } else if (depth > 0) {
         TreeNode defaultChild = createTree(leafNodes, defaultNode, depth - 1);
         return BranchNode.create(defaultChild, defaultChild);
       } else {
@@ -182,17 +198,104 @@ public class TreeUtil {
 
   public static void iterateLeavesData(
       TreeNode node, long fromGeneralIndex, long toGeneralIndex, Consumer<Bytes> visitor) {
+    iterateLeafDataNodes(node, fromGeneralIndex, toGeneralIndex, n -> visitor.accept(n.getData()));
+  }
+
+  public static void iterateLeafDataNodes(
+      TreeNode node, long fromGeneralIndex, long toGeneralIndex, Consumer<LeafDataNode> visitor) {
     node.iterateRange(
         fromGeneralIndex,
         toGeneralIndex,
         (n, idx) -> {
           if (n instanceof LeafDataNode) {
-            visitor.accept(((LeafDataNode) n).getData());
+            visitor.accept((LeafDataNode) n);
           }
           return true;
         });
   }
 
+  /**
+   * Returns the nodes at the specified generalized indexes. The same as calling {@link
+   * TreeNode#get(long)} for every index, but the tree is traversed just once and common ancestors
+   * of the target nodes are visited only once
+   *
+   * @param generalizedIndexes the target indexes which should be unique, sorted and on the same
+   *     tree level (the same prerequisites as for {@link TreeUpdates})
+   * @return the nodes in the same order as {@code generalizedIndexes}
+   */
+  public static TreeNode[] getNodes(TreeNode root, long[] generalizedIndexes) {
+    final TreeNode[] ret = new TreeNode[generalizedIndexes.length];
+    if (generalizedIndexes.length == 0) {
+      return ret;
+    }
+    final long highestBit = Long.highestOneBit(generalizedIndexes[0]);
+    for (int i = 0; i < generalizedIndexes.length; i++) {
+      checkArgument(
+          Long.highestOneBit(generalizedIndexes[i]) == highestBit,
+          "Indexes are of different depth: [0] and [%s]",
+          i);
+      checkArgument(
+          i == 0 || generalizedIndexes[i] > generalizedIndexes[i - 1],
+          "Invalid gIndex ordering at [%s]",
+          i);
+    }
+    collectNodes(
+        root,
+        generalizedIndexes,
+        0,
+        generalizedIndexes.length,
+        GIndexUtil.gIdxGetDepth(highestBit),
+        ret);
+    return ret;
+  }
+
+  private static void collectNodes(
+      TreeNode node,
+      long[] gIndexes,
+      int fromIdx,
+      int toIdx,
+      int heightFromTarget,
+      TreeNode[] result) {
+    if (fromIdx == toIdx) {
+      return;
+    }
+    if (heightFromTarget == 0) {
+      result[fromIdx] = node;
+    } else if (node instanceof BranchNode) {
+      final BranchNode branchNode = (BranchNode) node;
+      // all indexes here share the same path down to this node, so the next path bit splits them
+      final long rightBit = 1L << (heightFromTarget - 1);
+      int pivotIdx = fromIdx;
+      int hi = toIdx;
+      while (pivotIdx < hi) {
+        final int mid = (pivotIdx + hi) >>> 1;
+        if ((gIndexes[mid] & rightBit) == 0) {
+          pivotIdx = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      collectNodes(branchNode.left(), gIndexes, fromIdx, pivotIdx, heightFromTarget - 1, result);
+      collectNodes(branchNode.right(), gIndexes, pivotIdx, toIdx, heightFromTarget - 1, result);
+    } else {
+      // not a plain branch (e.g. SszSuperNode): let the node resolve relative indexes itself
+      final long relativeMask = (1L << heightFromTarget) - 1;
+      for (int i = fromIdx; i < toIdx; i++) {
+        result[i] = node.get((1L << heightFromTarget) | (gIndexes[i] & relativeMask));
+      }
+    }
+  }
+
+  /**
+   * Calculates the tree {@code hash_tree_root} with the {@link TreeHasher} which hashes modified
+   * nodes level by level in batches, spreading large levels across the common {@link
+   * java.util.concurrent.ForkJoinPool}. Preferable over {@link TreeNode#hashTreeRoot()} for large
+   * trees with a lot of modified nodes
+   */
+  public static Bytes32 parallelHashTreeRoot(TreeNode tree) {
+    return TreeHasher.getDefault().hashTreeRoot(tree);
+  }
+
   public static Bytes concatenateLeavesData(TreeNode tree) {
     List<Bytes> leavesData = new ArrayList<>();
     iterateLeavesData(
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/** The leaf node with 8 bytes of data, e.g. a uint64 container field */
+final class UInt64LeafNode extends PackedLongsLeafNode {
+
+  private final long value;
+
+  UInt64LeafNode(final long value) {
+    this.value = value;
+  }
+
+  @Override
+  public int getLongCount() {
+    return 1;
+  }
+
+  @Override
+  public long getLong(final int index) {
+    checkElementIndex(index, 1);
+    return value;
+  }
+}
@@ -16,6 +16,10 @@ package tech.pegasys.teku.infrastructure.ssz;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +31,9 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszChannelWriter;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszStreamReader;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 
 @TestInstance(Lifecycle.PER_CLASS)
@@ -69,6 +76,47 @@ public interface SszDataTestBase {
     SszDataAssert.assertThatSszData(data1).isEqualByAllMeansTo(data);
   }
 
+  @MethodSource("sszDataArguments")
+  @ParameterizedTest
+  default void sszDeserialize_testStreamReaderRoundtrip(SszData data) {
+    Bytes ssz = data.sszSerialize();
+    SszData fromChannel =
+        data.getSchema()
+            .sszDeserialize(
+                SszStreamReader.fromChannel(
+                    Channels.newChannel(new ByteArrayInputStream(ssz.toArrayUnsafe())),
+                    ssz.size(),
+                    7));
+    SszDataAssert.assertThatSszData(fromChannel).isEqualByAllMeansTo(data);
+
+    SszData fromBuffer =
+        data.getSchema().sszDeserialize(SszReader.fromByteBuffer(ByteBuffer.wrap(ssz.toArray())));
+    SszDataAssert.assertThatSszData(fromBuffer).isEqualByAllMeansTo(data);
+  }
+
+  @MethodSource("sszDataArguments")
+  @ParameterizedTest
+  default void sszSerialize_testChannelWriterMatchesSszSerialize(SszData data) {
+    Bytes ssz = data.sszSerialize();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SszChannelWriter writer = new SszChannelWriter(Channels.newChannel(out), 5);
+    assertThat(data.sszSerialize(writer)).isEqualTo(ssz.size());
+    writer.flush();
+    assertThat(writer.getBytesWritten()).isEqualTo(ssz.size());
+    assertThat(Bytes.wrap(out.toByteArray())).isEqualTo(ssz);
+
+    ByteArrayOutputStream defaultOut = new ByteArrayOutputStream();
+    assertThat(data.sszSerialize(Channels.newChannel(defaultOut))).isEqualTo(ssz.size());
+    assertThat(Bytes.wrap(defaultOut.toByteArray())).isEqualTo(ssz);
+  }
+
+  @MethodSource("sszDataArguments")
+  @ParameterizedTest
+  default void getSszSize_shouldMatchSszSerializeSize(SszData data) {
+    assertThat(data.getSszSize()).isEqualTo(data.sszSerialize().size());
+  }
+
   @MethodSource("sszDataArguments")
   @ParameterizedTest
   default void getBackingNode_testTreeRoundtrip(SszData data) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.collections.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
+import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszUInt64ListSchema;
+import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
+import tech.pegasys.teku.infrastructure.ssz.tree.PackedLongArrayNode;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+public class SszMutableUInt64ListImplTest {
+
+  private static final int SIZE = SszMutableUInt64ListImpl.MIN_PACKED_UPDATE_SIZE * 3 + 1;
+
+  private final SszUInt64ListSchema<SszUInt64List> schema = SszUInt64ListSchema.create(1L << 20);
+
+  @Test
+  void commitChanges_shouldRepackWhenMostElementsChanged() {
+    SszUInt64List list = createList(SIZE, i -> i);
+
+    SszMutableUInt64List mutableList = list.createWritableCopy();
+    IntStream.range(0, SIZE).forEach(i -> mutableList.setElement(i, UInt64.valueOf(i * 3L)));
+    SszUInt64List updatedList = mutableList.commitChanges();
+
+    assertThat(updatedList.getBackingNode().get(GIndexUtil.LEFT_CHILD_G_INDEX))
+        .isInstanceOf(PackedLongArrayNode.class);
+    assertListEquals(updatedList, createList(SIZE, i -> i * 3L));
+  }
+
+  @Test
+  void commitChanges_shouldUpdateTreeWhenFewElementsChanged() {
+    SszUInt64List list = createList(SIZE, i -> i);
+
+    SszMutableUInt64List mutableList = list.createWritableCopy();
+    mutableList.setElement(5, UInt64.valueOf(555));
+    SszUInt64List updatedList = mutableList.commitChanges();
+
+    assertThat(updatedList.getBackingNode().get(GIndexUtil.LEFT_CHILD_G_INDEX))
+        .isNotInstanceOf(PackedLongArrayNode.class);
+    assertListEquals(updatedList, createList(SIZE, i -> i == 5 ? 555 : i));
+  }
+
+  @Test
+  void commitChanges_shouldHandleMixedUpdatesAndAppends() {
+    SszUInt64List list = createList(SIZE, i -> i);
+
+    // repack
+    SszMutableUInt64List mutableList1 = list.createWritableCopy();
+    IntStream.range(0, SIZE).forEach(i -> mutableList1.setElement(i, UInt64.valueOf(i + 1)));
+    SszUInt64List list1 = mutableList1.commitChanges();
+
+    // sparse update on top of the packed list
+    SszMutableUInt64List mutableList2 = list1.createWritableCopy();
+    mutableList2.setElement(7, UInt64.valueOf(777));
+    mutableList2.appendElement(UInt64.valueOf(SIZE + 1));
+    SszUInt64List list2 = mutableList2.commitChanges();
+    assertListEquals(list2, createList(SIZE + 1, i -> i == 7 ? 777 : i + 1));
+
+    // repack with appending
+    SszMutableUInt64List mutableList3 = list2.createWritableCopy();
+    IntStream.range(0, SIZE + 1).forEach(i -> mutableList3.setElement(i, UInt64.valueOf(i + 2)));
+    IntStream.range(SIZE + 1, SIZE * 2)
+        .forEach(i -> mutableList3.appendElement(UInt64.valueOf(i + 2)));
+    SszUInt64List list3 = mutableList3.commitChanges();
+    assertThat(list3.getBackingNode().get(GIndexUtil.LEFT_CHILD_G_INDEX))
+        .isInstanceOf(PackedLongArrayNode.class);
+    assertListEquals(list3, createList(SIZE * 2, i -> i + 2));
+  }
+
+  @Test
+  void toLongArray_shouldReturnAllElements() {
+    SszUInt64List list = createList(SIZE, i -> i == 3 ? Long.MAX_VALUE : i * 5L);
+    long[] expected =
+        IntStream.range(0, SIZE).mapToLong(i -> i == 3 ? Long.MAX_VALUE : i * 5L).toArray();
+    assertThat(list.toLongArray()).containsExactly(expected);
+
+    SszMutableUInt64List mutableList = list.createWritableCopy();
+    IntStream.range(0, SIZE).forEach(i -> mutableList.setElement(i, UInt64.valueOf(i + 1)));
+    mutableList.appendElement(UInt64.valueOf(SIZE + 1));
+    long[] expectedUpdated = IntStream.range(0, SIZE + 1).mapToLong(i -> i + 1).toArray();
+    // pending changes
+    assertThat(mutableList.toLongArray()).containsExactly(expectedUpdated);
+    // packed array
+    assertThat(mutableList.commitChanges().toLongArray()).containsExactly(expectedUpdated);
+  }
+
+  private SszUInt64List createList(int size, IntToLongFunction valueFunction) {
+    SszUInt64List list =
+        schema.of(
+            IntStream.range(0, size)
+                .mapToObj(i -> UInt64.valueOf(valueFunction.apply(i)))
+                .toArray(UInt64[]::new));
+    // deserialized list is backed by a regular tree
+    return schema.sszDeserialize(list.sszSerialize());
+  }
+
+  private void assertListEquals(SszUInt64List actual, SszUInt64List expected) {
+    assertThat(actual.size()).isEqualTo(expected.size());
+    assertThat(actual.hashTreeRoot()).isEqualTo(expected.hashTreeRoot());
+    assertThat(actual.sszSerialize()).isEqualTo(expected.sszSerialize());
+    assertThat(actual.asListUnboxed()).isEqualTo(expected.asListUnboxed());
+    // elements read through the tree
+    SszUInt64List reloaded = schema.createFromBackingNode(actual.getBackingNode());
+    assertThat(reloaded.asListUnboxed()).isEqualTo(expected.asListUnboxed());
+  }
+
+  private interface IntToLongFunction {
+    long apply(int i);
+  }
+}
@@ -20,10 +20,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafDataNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeInterner;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeSource;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeStore;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
@@ -32,6 +34,15 @@ public class InMemoryStoringTreeNodeStore implements TreeNodeStore, TreeNodeSour
 
   private final Map<Bytes32, CompressedBranchInfo> branchNodes = new HashMap<>();
   private final Map<Bytes32, Bytes> leafNodes = new HashMap<>();
+  private final Optional<TreeNodeInterner> interner;
+
+  public InMemoryStoringTreeNodeStore() {
+    this(Optional.empty());
+  }
+
+  public InMemoryStoringTreeNodeStore(final Optional<TreeNodeInterner> interner) {
+    this.interner = interner;
+  }
 
   @Override
   public boolean canSkipBranch(final Bytes32 root, final long gIndex) {
@@ -87,4 +98,9 @@ public class InMemoryStoringTreeNodeStore implements TreeNodeStore, TreeNodeSour
   public Bytes loadLeafNode(final Bytes32 rootHash, final long gIndex) {
     return leafNodes.getOrDefault(rootHash, rootHash);
   }
+
+  @Override
+  public Optional<TreeNodeInterner> getInterner() {
+    return interner;
+  }
 }
@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static tech.pegasys.teku.infrastructure.ssz.schema.TreeNodeAssert.assertThatTreeNode;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -30,6 +31,7 @@ import tech.pegasys.teku.infrastructure.ssz.schema.impl.AbstractSszCollectionSch
 import tech.pegasys.teku.infrastructure.ssz.sos.SimpleSszReader;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeInterner;
 
 public abstract class SszSchemaTestBase extends SszTypeTestBase {
 
@@ -123,6 +125,27 @@ public abstract class SszSchemaTestBase extends SszTypeTestBase {
     assertThat(rebuiltData).isEqualTo(data);
   }
 
+  @MethodSource("testSchemaArguments")
+  @ParameterizedTest
+  void loadBackingNodes_shouldReuseInternedNodes(SszSchema<?> schema) {
+    final SszData data = randomSsz.withMaxListSize(50).randomData(schema);
+    final TreeNodeInterner interner = new TreeNodeInterner();
+    final InMemoryStoringTreeNodeStore nodeStore =
+        new InMemoryStoringTreeNodeStore(Optional.of(interner));
+    final TreeNode node = data.getBackingNode();
+    final long rootGIndex = 34;
+    schema.storeBackingNodes(nodeStore, 3, rootGIndex, node);
+
+    final TreeNode result1 = schema.loadBackingNodes(nodeStore, data.hashTreeRoot(), rootGIndex);
+    assertThatTreeNode(result1).isTreeEqual(node);
+    final long missCount = interner.getMissCount();
+
+    final TreeNode result2 = schema.loadBackingNodes(nodeStore, data.hashTreeRoot(), rootGIndex);
+    assertThatTreeNode(result2).isTreeEqual(node);
+    assertThat(interner.getMissCount()).isEqualTo(missCount);
+    assertThat(schema.createFromBackingNode(result2)).isEqualTo(data);
+  }
+
   @MethodSource("testSchemaArguments")
   @ParameterizedTest
   void loadBackingNodes_shouldRestoreDefaultTree(SszSchema<?> schema) {
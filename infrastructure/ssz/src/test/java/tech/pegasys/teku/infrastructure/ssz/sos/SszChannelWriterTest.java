@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.sos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class SszChannelWriterTest {
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final SszChannelWriter writer = new SszChannelWriter(Channels.newChannel(out), 4);
+
+  @Test
+  void write_shouldBufferSmallWritesUntilFlush() {
+    writer.write(Bytes.fromHexString("0x0102"));
+    writer.write(Bytes.fromHexString("0x03"));
+    assertThat(out.toByteArray()).isEmpty();
+
+    writer.flush();
+    assertThat(Bytes.wrap(out.toByteArray())).isEqualTo(Bytes.fromHexString("0x010203"));
+    assertThat(writer.getBytesWritten()).isEqualTo(3);
+  }
+
+  @Test
+  void write_shouldPreserveOrderWhenWritingLargeChunksDirectly() {
+    writer.write(Bytes.fromHexString("0x0102"));
+    writer.write(Bytes.fromHexString("0x030405060708"));
+    writer.write(Bytes.fromHexString("0x090a0b"));
+    writer.write(Bytes.fromHexString("0x0c0d"));
+    writer.flush();
+
+    assertThat(Bytes.wrap(out.toByteArray()))
+        .isEqualTo(Bytes.fromHexString("0x0102030405060708090a0b0c0d"));
+    assertThat(writer.getBytesWritten()).isEqualTo(13);
+  }
+
+  @Test
+  void write_shouldWriteSlice() {
+    writer.write(new byte[] {1, 2, 3, 4, 5, 6}, 1, 3);
+    writer.flush();
+
+    assertThat(out.toByteArray()).containsExactly(2, 3, 4);
+  }
+}
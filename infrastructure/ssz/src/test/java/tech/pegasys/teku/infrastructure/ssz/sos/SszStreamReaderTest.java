@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.sos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class SszStreamReaderTest {
+
+  private static final Bytes DATA = Bytes.fromHexString("0x0102030405060708090a0b0c0d0e0f");
+
+  private static ReadableByteChannel channel(final Bytes bytes) {
+    return Channels.newChannel(new ByteArrayInputStream(bytes.toArrayUnsafe()));
+  }
+
+  @Test
+  void read_shouldReadSequentiallyAcrossBufferRefills() {
+    SszReader reader = SszStreamReader.fromChannel(channel(DATA), DATA.size(), 4);
+
+    assertThat(reader.read(3)).isEqualTo(DATA.slice(0, 3));
+    try (SszReader slice = reader.slice(7)) {
+      assertThat(slice.getAvailableBytes()).isEqualTo(7);
+      assertThat(slice.read(2)).isEqualTo(DATA.slice(3, 2));
+      assertThat(slice.read(5)).isEqualTo(DATA.slice(5, 5));
+    }
+    assertThat(reader.getAvailableBytes()).isEqualTo(5);
+    assertThat(reader.read(5)).isEqualTo(DATA.slice(10, 5));
+    reader.close();
+  }
+
+  @Test
+  void read_shouldFailWhenChannelEndsBeforeSize() {
+    SszReader reader = SszStreamReader.fromChannel(channel(DATA), DATA.size() + 1, 4);
+
+    reader.read(DATA.size());
+    assertThatThrownBy(() -> reader.read(1)).isInstanceOf(SszDeserializeException.class);
+  }
+
+  @Test
+  void read_shouldFailWhenReadingMoreThanAvailable() {
+    SszReader reader = SszStreamReader.fromChannel(channel(DATA), 4);
+
+    assertThatThrownBy(() -> reader.read(5)).isInstanceOf(SszDeserializeException.class);
+    assertThatThrownBy(() -> reader.slice(5)).isInstanceOf(SszDeserializeException.class);
+  }
+
+  @Test
+  void read_shouldFailWhenPreviousSliceIsNotRead() {
+    SszReader reader = SszReader.fromByteBuffer(ByteBuffer.wrap(DATA.toArray()));
+
+    SszReader slice = reader.slice(4);
+    slice.read(2);
+    assertThatThrownBy(() -> reader.read(1)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(slice::close).isInstanceOf(SszDeserializeException.class);
+  }
+
+  @Test
+  void fromByteBuffer_shouldNotModifyBufferPosition() {
+    ByteBuffer buffer = ByteBuffer.wrap(DATA.toArray());
+    buffer.position(5);
+
+    SszReader reader = SszReader.fromByteBuffer(buffer);
+    assertThat(reader.getAvailableBytes()).isEqualTo(10);
+    assertThat(reader.read(10)).isEqualTo(DATA.slice(5));
+    assertThat(buffer.position()).isEqualTo(5);
+  }
+}
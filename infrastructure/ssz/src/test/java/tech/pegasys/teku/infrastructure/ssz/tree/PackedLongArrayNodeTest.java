@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class PackedLongArrayNodeTest {
+
+  private static final int DEPTH = 6;
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 3, 4, 5, 17, 128, 255, 256})
+  void shouldMatchRegularTree(int valuesCount) {
+    long[] values = new Random(valuesCount).longs(valuesCount).toArray();
+
+    PackedLongArrayNode packedNode = PackedLongArrayNode.create(values, DEPTH);
+    TreeNode regularTree = createRegularTree(values);
+
+    assertThat(packedNode.hashTreeRoot()).isEqualTo(regularTree.hashTreeRoot());
+    assertThat(TreeUtil.concatenateLeavesData(packedNode))
+        .isEqualTo(TreeUtil.concatenateLeavesData(regularTree));
+    for (long gIndex = 2; gIndex < 1L << (DEPTH + 1); gIndex++) {
+      assertThat(packedNode.get(gIndex).hashTreeRoot())
+          .describedAs("Node at gIndex %s", gIndex)
+          .isEqualTo(regularTree.get(gIndex).hashTreeRoot());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {20, 44})
+  void shouldMatchRegularTreeWhenDeep(int depth) {
+    long[] values = LongStream.range(0, 1000).toArray();
+
+    TreeNode regularTree = TreeUtil.createTree(createLeaves(values), depth);
+
+    assertThat(PackedLongArrayNode.create(values, depth).hashTreeRoot())
+        .isEqualTo(regularTree.hashTreeRoot());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 100, 256})
+  void updated_shouldMatchRegularTree(int valuesCount) {
+    long[] values = new Random(valuesCount).longs(valuesCount).toArray();
+    PackedLongArrayNode packedNode = PackedLongArrayNode.create(values, DEPTH);
+    TreeNode regularTree = createRegularTree(values);
+
+    TreeUpdates updates =
+        new TreeUpdates(
+            List.of(
+                new TreeUpdates.Update(1L << DEPTH, TreeTest.newTestLeaf(1)),
+                new TreeUpdates.Update((1L << DEPTH) + 33, TreeTest.newTestLeaf(2))));
+
+    TreeNode updatedPackedNode = packedNode.updated(updates);
+    TreeNode updatedRegularTree = regularTree.updated(updates);
+    assertThat(updatedPackedNode.hashTreeRoot()).isEqualTo(updatedRegularTree.hashTreeRoot());
+    // the original node stays intact
+    assertThat(packedNode.hashTreeRoot()).isEqualTo(regularTree.hashTreeRoot());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 100})
+  void getValues_shouldOnlyBeAvailableForRoot(int valuesCount) {
+    long[] values = new long[valuesCount];
+    PackedLongArrayNode packedNode = PackedLongArrayNode.create(values, DEPTH);
+
+    assertThat(packedNode.isRoot()).isTrue();
+    assertThat(packedNode.getValues()).isSameAs(values);
+    PackedLongArrayNode child = (PackedLongArrayNode) packedNode.left();
+    assertThat(child.isRoot()).isFalse();
+    assertThatThrownBy(child::getValues).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {257, 1000})
+  void create_shouldThrowWhenValuesDontFit(int valuesCount) {
+    assertThatThrownBy(() -> PackedLongArrayNode.create(new long[valuesCount], DEPTH))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static TreeNode createRegularTree(long[] values) {
+    return TreeUtil.createTree(createLeaves(values), DEPTH);
+  }
+
+  private static List<LeafNode> createLeaves(long[] values) {
+    List<LeafNode> leaves = new ArrayList<>();
+    for (int i = 0; i < values.length; i += PackedLongArrayNode.VALUES_PER_CHUNK) {
+      int count = Math.min(PackedLongArrayNode.VALUES_PER_CHUNK, values.length - i);
+      ByteBuffer buffer = ByteBuffer.allocate(count * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      for (int j = 0; j < count; j++) {
+        buffer.putLong(values[i + j]);
+      }
+      leaves.add(LeafNode.create(Bytes.wrap(buffer.array())));
+    }
+    return leaves;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszChannelWriter;
+
+public class PackedLongsLeafNodeTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 4})
+  void create_shouldMatchBytesLeaf(final int count) {
+    final long[] values = {0x0102030405060708L, -1L, 0, Long.MIN_VALUE};
+    final Bytes data =
+        Bytes.concatenate(
+            Bytes.ofUnsignedLong(values[0], ByteOrder.LITTLE_ENDIAN),
+            Bytes.ofUnsignedLong(values[1], ByteOrder.LITTLE_ENDIAN),
+            Bytes.ofUnsignedLong(values[2], ByteOrder.LITTLE_ENDIAN),
+            Bytes.ofUnsignedLong(values[3], ByteOrder.LITTLE_ENDIAN));
+    final Bytes leafData = data.slice(0, count * Long.BYTES);
+    final LeafNode expected = new SimpleLeafNode(leafData);
+
+    final LeafNode fromValues = PackedLongsLeafNode.create(values, 0, count);
+    final LeafNode fromBytes = LeafNode.create(leafData);
+
+    for (LeafNode node : new LeafNode[] {fromValues, fromBytes}) {
+      assertThat(node.getData()).isEqualTo(leafData);
+      assertThat(node.hashTreeRoot()).isEqualTo(Bytes32.rightPad(leafData));
+      assertThat(node).isEqualTo(expected);
+      assertThat(expected).isEqualTo(node);
+      assertThat(node.hashCode()).isEqualTo(expected.hashCode());
+    }
+  }
+
+  @Test
+  void create_shouldUseCompactNodes() {
+    assertThat(LeafNode.create(Bytes.fromHexString("0x0100000000000000")))
+        .isInstanceOf(UInt64LeafNode.class);
+    assertThat(LeafNode.create(Bytes32.fromHexString("0x01"))).isInstanceOf(Bytes32LeafNode.class);
+    assertThat(PackedLongsLeafNode.create(new long[] {1, 2, 3, 4}, 0, 4))
+        .isInstanceOf(Bytes32LeafNode.class);
+  }
+
+  @Test
+  void create_shouldReturnZeroLeavesForZeroData() {
+    for (int size = 0; size <= LeafNode.MAX_BYTE_SIZE; size++) {
+      assertThat(LeafNode.create(Bytes.wrap(new byte[size]))).isSameAs(LeafNode.ZERO_LEAVES[size]);
+    }
+    assertThat(PackedLongsLeafNode.create(new long[4], 0, 3)).isSameAs(LeafNode.ZERO_LEAVES[24]);
+  }
+
+  @Test
+  void withLong_shouldUpdateAndExtendValues() {
+    final PackedLongsLeafNode node = (PackedLongsLeafNode) LeafNode.create(Bytes.ofUnsignedLong(7));
+
+    final LeafNode updated = node.withLong(2, 9);
+    assertThat(updated).isInstanceOf(SimpleLeafNode.class);
+    assertThat(updated.getData())
+        .isEqualTo(PackedLongsLeafNode.create(new long[] {node.getLong(0), 0, 9}, 0, 3).getData());
+
+    final PackedLongsLeafNode full = (PackedLongsLeafNode) node.withLong(3, 5);
+    assertThat(full.getLongCount()).isEqualTo(4);
+    assertThat(full.getLong(0)).isEqualTo(node.getLong(0));
+    assertThat(full.getLong(3)).isEqualTo(5);
+    assertThat(node.withLong(0, 0)).isSameAs(LeafNode.ZERO_LEAVES[8]);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  void writeData_shouldMatchData(final int count) {
+    final PackedLongsLeafNode node =
+        (PackedLongsLeafNode)
+            PackedLongsLeafNode.create(new long[] {0x0102030405060708L, -1L, 3, 4}, 0, count);
+
+    final SszByteArrayWriter arrayWriter = new SszByteArrayWriter(node.getDataSize());
+    node.writeData(arrayWriter);
+    assertThat(arrayWriter.toBytes()).isEqualTo(node.getData());
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final SszChannelWriter channelWriter = new SszChannelWriter(Channels.newChannel(out), 12);
+    node.writeData(channelWriter);
+    channelWriter.flush();
+    assertThat(Bytes.wrap(out.toByteArray())).isEqualTo(node.getData());
+  }
+
+  @Test
+  void equals_shouldCompareValues() {
+    final LeafNode node = PackedLongsLeafNode.create(new long[] {1, 2, 3, 4}, 0, 4);
+    final LeafNode same = PackedLongsLeafNode.create(new long[] {1, 2, 3, 4}, 0, 4);
+    final LeafNode other = PackedLongsLeafNode.create(new long[] {1, 2, 3, 5}, 0, 4);
+    final LeafNode shorter = PackedLongsLeafNode.create(new long[] {1}, 0, 1);
+
+    assertThat(node).isEqualTo(same);
+    assertThat(node.hashCode()).isEqualTo(same.hashCode());
+    assertThat(node).isNotEqualTo(other);
+    assertThat(node).isNotEqualTo(shorter);
+    assertThat(shorter)
+        .isEqualTo(LeafNode.create(Bytes.ofUnsignedLong(1, ByteOrder.LITTLE_ENDIAN)));
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
+
+public class TreeHasherTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+  private final TreeHasher hasher = new TreeHasher(pool, 4);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void hashTreeRoot_shouldMatchRecursiveHashing() {
+    TreeNode tree = createTree(1000);
+    Bytes32 expected = calcHashRecursively(tree);
+
+    assertThat(hasher.hashTreeRoot(tree)).isEqualTo(expected);
+    assertThat(tree.hashTreeRoot()).isEqualTo(expected);
+  }
+
+  @Test
+  void hashTreeRoot_shouldHashOnlyUpdatedNodes() {
+    TreeNode tree = createTree(1000);
+    hasher.hashTreeRoot(tree);
+
+    TreeNode updatedTree =
+        tree.updated(
+            new TreeUpdates(
+                List.of(
+                    new TreeUpdates.Update(1024 + 3, TreeTest.newTestLeaf(333)),
+                    new TreeUpdates.Update(1024 + 777, TreeTest.newTestLeaf(777)))));
+
+    List<List<SimpleBranchNode>> dirtyLevels = TreeHasher.collectDirtyNodes(updatedTree);
+    assertThat(dirtyLevels).hasSize(10);
+    // the paths to both updated leaves are dirty and join at the root
+    assertThat(dirtyLevels.subList(0, 9)).allSatisfy(level -> assertThat(level).hasSize(2));
+    assertThat(dirtyLevels.get(9)).containsExactly((SimpleBranchNode) updatedTree);
+
+    assertThat(hasher.hashTreeRoot(updatedTree)).isEqualTo(calcHashRecursively(updatedTree));
+    assertThat(TreeHasher.collectDirtyNodes(updatedTree)).isEmpty();
+  }
+
+  @Test
+  void hashTreeRoot_shouldHandleSharedSubtrees() {
+    TreeNode tree = TreeUtil.createDefaultTree(32 * 1024, TreeTest.newTestLeaf(111));
+
+    assertThat(hasher.hashTreeRoot(tree)).isEqualTo(calcHashRecursively(tree));
+  }
+
+  @Test
+  void hashTreeRoot_shouldHandleLeafRoot() {
+    TreeNode leaf = TreeTest.newTestLeaf(1);
+
+    assertThat(hasher.hashTreeRoot(leaf)).isEqualTo(leaf.hashTreeRoot());
+  }
+
+  private static TreeNode createTree(int leavesCount) {
+    return TreeUtil.createTree(
+        IntStream.range(0, leavesCount)
+            .mapToObj(TreeTest::newTestLeaf)
+            .collect(Collectors.toList()));
+  }
+
+  private static Bytes32 calcHashRecursively(TreeNode node) {
+    if (node instanceof BranchNode) {
+      BranchNode branchNode = (BranchNode) node;
+      return Hash.sha256(
+          calcHashRecursively(branchNode.left()), calcHashRecursively(branchNode.right()));
+    } else {
+      return node.hashTreeRoot();
+    }
+  }
+}
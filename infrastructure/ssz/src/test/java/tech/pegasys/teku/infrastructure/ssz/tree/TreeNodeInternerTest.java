@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class TreeNodeInternerTest {
+
+  private final TreeNodeInterner interner = new TreeNodeInterner();
+
+  @Test
+  void intern_shouldReuseNodeWithSameRootAndIndex() {
+    final TreeNode node1 = TreeTest.newTestLeaf(1);
+    final TreeNode node2 = TreeTest.newTestLeaf(1);
+
+    assertThat(interner.intern(5, node1.hashTreeRoot(), () -> node1)).isSameAs(node1);
+    assertThat(interner.intern(5, node2.hashTreeRoot(), () -> node2)).isSameAs(node1);
+    assertThat(interner.getHitCount()).isEqualTo(1);
+    assertThat(interner.getMissCount()).isEqualTo(1);
+    assertThat(interner.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  void intern_shouldNotReuseNodeAtDifferentIndex() {
+    final TreeNode node1 = TreeTest.newTestLeaf(1);
+    final TreeNode node2 = TreeTest.newTestLeaf(1);
+
+    assertThat(interner.intern(5, node1.hashTreeRoot(), () -> node1)).isSameAs(node1);
+    assertThat(interner.intern(6, node2.hashTreeRoot(), () -> node2)).isSameAs(node2);
+    assertThat(interner.getHitCount()).isZero();
+    assertThat(interner.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void intern_shouldNotifyListenersAndTrackRetainedLeafBytes() {
+    final AtomicInteger hits = new AtomicInteger();
+    final AtomicInteger misses = new AtomicInteger();
+    final TreeNodeInterner interner =
+        new TreeNodeInterner(hits::incrementAndGet, misses::incrementAndGet);
+    final LeafNode node1 = TreeTest.newTestLeaf(1);
+    final LeafNode node2 = TreeTest.newTestLeaf(2);
+
+    interner.intern(5, node1.hashTreeRoot(), () -> node1);
+    interner.intern(6, node2.hashTreeRoot(), () -> node2);
+    interner.intern(5, node1.hashTreeRoot(), () -> node1);
+
+    assertThat(hits).hasValue(1);
+    assertThat(misses).hasValue(2);
+    assertThat(interner.getRetainedLeafBytes())
+        .isEqualTo(node1.getData().size() + node2.getData().size());
+  }
+}
@@ -25,6 +25,7 @@ import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
 import tech.pegasys.teku.infrastructure.ssz.TestUtil;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeUpdates.Update;
 
@@ -77,6 +78,22 @@ public class TreeTest {
     assertThat(n1.get(0b10)).isSameAs(n1.get(0b11));
   }
 
+  @Test
+  public void testZeroHashes() {
+    Bytes32 zeroHash = Bytes32.ZERO;
+    for (int depth = 0; depth < 64; depth++) {
+      assertThat(TreeUtil.getZeroHash(depth)).isEqualTo(zeroHash);
+      assertThat(TreeUtil.ZERO_TREES[depth].hashTreeRoot()).isEqualTo(zeroHash);
+      zeroHash = Hash.sha256(zeroHash, zeroHash);
+    }
+  }
+
+  @Test
+  public void testEmptyTreeWithZeroDefaultNodeIsZeroTree() {
+    assertThat(TreeUtil.createTree(List.of(), LeafNode.EMPTY_LEAF, 10))
+        .isSameAs(TreeUtil.ZERO_TREES[10]);
+  }
+
   @Test
   public void testNonZeroLeafDefaultTree() {
     TreeNode zeroTree = TreeUtil.createDefaultTree(5, LeafNode.EMPTY_LEAF);
@@ -240,6 +257,36 @@ public class TreeTest {
     assertThat(iteratedIndices).containsExactly(0b1L, 0b11L, 0b110L, 0b111L);
   }
 
+  @Test
+  void testGetNodes() {
+    TreeNode root =
+        TreeUtil.createTree(
+            IntStream.range(0, 11).mapToObj(TreeTest::newTestLeaf).collect(Collectors.toList()), 4);
+
+    long[] leafGIndexes = {0b10000, 0b10011, 0b10100, 0b11010, 0b11011, 0b11111};
+    TreeNode[] leaves = TreeUtil.getNodes(root, leafGIndexes);
+    assertThat(leaves).hasSize(leafGIndexes.length);
+    for (int i = 0; i < leafGIndexes.length; i++) {
+      assertThat(leaves[i]).isSameAs(root.get(leafGIndexes[i]));
+    }
+
+    long[] branchGIndexes = {0b100, 0b111};
+    assertThat(TreeUtil.getNodes(root, branchGIndexes))
+        .containsExactly(root.get(0b100), root.get(0b111));
+    assertThat(TreeUtil.getNodes(root, new long[] {1})).containsExactly(root);
+    assertThat(TreeUtil.getNodes(root, new long[0])).isEmpty();
+  }
+
+  @Test
+  void testGetNodesInvalidIndexes() {
+    TreeNode root = TreeUtil.createDefaultTree(16, LeafNode.EMPTY_LEAF);
+
+    Assertions.assertThatThrownBy(() -> TreeUtil.getNodes(root, new long[] {0b10001, 0b10000}))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThatThrownBy(() -> TreeUtil.getNodes(root, new long[] {0b10000, 0b1001}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   static List<LeafNode> collectLeaves(TreeNode n, long from, long to) {
     List<LeafNode> ret = new ArrayList<>();
     TreeUtil.iterateLeaves(n, from, to, ret::add);
@@ -18,17 +18,24 @@ import static tech.pegasys.teku.infrastructure.logging.StatusLogger.STATUS_LOG;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
 import java.net.BindException;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import tech.pegasys.teku.api.ChainDataProvider;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.beacon.sync.SyncService;
@@ -36,6 +43,8 @@ import tech.pegasys.teku.beacon.sync.SyncServiceFactory;
 import tech.pegasys.teku.beacon.sync.events.CoalescingChainHeadChannel;
 import tech.pegasys.teku.beacon.sync.events.SyncState;
 import tech.pegasys.teku.beaconrestapi.BeaconRestApi;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSWorkerPool;
 import tech.pegasys.teku.ethereum.events.SlotEventsChannel;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.AsyncRunnerFactory;
@@ -44,6 +53,8 @@ import tech.pegasys.teku.infrastructure.async.eventthread.AsyncRunnerEventThread
 import tech.pegasys.teku.infrastructure.events.EventChannels;
 import tech.pegasys.teku.infrastructure.exceptions.InvalidConfigurationException;
 import tech.pegasys.teku.infrastructure.io.PortAvailability;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
 import tech.pegasys.teku.infrastructure.ssz.type.Bytes20;
 import tech.pegasys.teku.infrastructure.time.TimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -68,13 +79,21 @@ import tech.pegasys.teku.spec.SpecMilestone;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.blockbody.BeaconBlockBodySchema;
+import tech.pegasys.teku.spec.datastructures.genesis.GenesisData;
 import tech.pegasys.teku.spec.datastructures.interop.InteropStartupUtil;
 import tech.pegasys.teku.spec.datastructures.operations.AttesterSlashing;
 import tech.pegasys.teku.spec.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.spec.datastructures.state.AnchorPoint;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.EpochContextCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ShufflingCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPubKeyIndex;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPubKeyTable;
 import tech.pegasys.teku.spec.executionengine.ExecutionEngineChannel;
+import tech.pegasys.teku.spec.logic.common.util.VerifiedSignatureCache;
+import tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch.ValidatorRangeExecutor;
 import tech.pegasys.teku.statetransition.EpochCachePrimer;
 import tech.pegasys.teku.statetransition.OperationAcceptedFilter;
 import tech.pegasys.teku.statetransition.OperationPool;
@@ -106,6 +125,7 @@ import tech.pegasys.teku.statetransition.validation.BlockValidator;
 import tech.pegasys.teku.statetransition.validation.ProposerSlashingValidator;
 import tech.pegasys.teku.statetransition.validation.VoluntaryExitValidator;
 import tech.pegasys.teku.statetransition.validation.signatures.AggregatingSignatureVerificationService;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationPriority;
 import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.statetransition.validatorcache.ActiveValidatorCache;
 import tech.pegasys.teku.statetransition.validatorcache.ActiveValidatorChannel;
@@ -150,6 +170,7 @@ public class BeaconChainController extends Service
   private static final Logger LOG = LogManager.getLogger();
 
   protected static final String KEY_VALUE_STORE_SUBDIRECTORY = "kvstore";
+  protected static final String VALIDATOR_PUBKEYS_FILE = "validator_pubkeys.dat";
 
   protected volatile BeaconChainConfiguration beaconConfig;
   protected volatile Spec spec;
@@ -194,6 +215,11 @@ public class BeaconChainController extends Service
   protected volatile ForkChoiceNotifier forkChoiceNotifier;
   protected volatile ExecutionEngineChannel executionEngine;
   protected volatile Optional<TerminalPowBlockMonitor> terminalPowBlockMonitor = Optional.empty();
+  protected volatile Optional<ForkJoinPool> epochProcessingPool = Optional.empty();
+  protected volatile boolean validatorPubKeyTableInitialized = false;
+  protected volatile ValidatorPubKeyIndex validatorPubKeyIndex;
+  protected volatile ValidatorPubKeyTable validatorPubKeyTable;
+  protected volatile VerifiedSignatureCache verifiedSignatureCache;
 
   protected UInt64 genesisTimeTracker = ZERO;
   protected BlockManager blockManager;
@@ -227,6 +253,36 @@ public class BeaconChainController extends Service
             (__) -> SafeFuture.fromRunnable(() -> beaconRestAPI.ifPresent(BeaconRestApi::start)));
   }
 
+  protected void initEpochProcessing() {
+    spec.setEpochProcessingPhaseListener(new EpochProcessingPhaseMetrics(metricsSystem));
+    final int parallelism = spec.getGenesisSpecConfig().getEpochProcessingParallelism();
+    if (parallelism > 1) {
+      final ForkJoinPool pool = ValidatorRangeExecutor.createPool(parallelism);
+      epochProcessingPool = Optional.of(pool);
+      spec.setEpochProcessingPool(pool);
+    }
+  }
+
+  protected void initValidatorPubKeyCaches() {
+    validatorPubKeyIndex = new ValidatorPubKeyIndex();
+    spec.setValidatorPubKeyIndex(validatorPubKeyIndex);
+    validatorPubKeyTable = new ValidatorPubKeyTable();
+    spec.setValidatorPubKeyTable(validatorPubKeyTable);
+  }
+
+  protected void initEpochContextCache() {
+    final EpochContextCache epochContextCache = new EpochContextCache();
+    spec.setEpochContextCache(epochContextCache);
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.BEACON,
+        "epoch_context_cache_size",
+        "Number of epoch contexts in the node wide epoch context cache",
+        epochContextCache::size);
+    eventChannels.subscribe(
+        FinalizedCheckpointChannel.class,
+        checkpoint -> epochContextCache.onFinalizedEpoch(checkpoint.getEpoch()));
+  }
+
   protected void startServices() {
     syncService
         .getRecentBlockFetcher()
@@ -271,10 +327,15 @@ public class BeaconChainController extends Service
             p2pNetwork.stop(),
             SafeFuture.fromRunnable(
                 () -> terminalPowBlockMonitor.ifPresent(TerminalPowBlockMonitor::stop)))
-        .thenRun(forkChoiceExecutor::stop);
+        .thenRun(forkChoiceExecutor::stop)
+        .thenRun(() -> epochProcessingPool.ifPresent(ForkJoinPool::shutdown))
+        .thenRun(this::saveValidatorPubKeyTable);
   }
 
   protected SafeFuture<?> initialize() {
+    initEpochProcessing();
+    initValidatorPubKeyCaches();
+    initEpochContextCache();
     final StoreConfig storeConfig = beaconConfig.storeConfig();
     coalescingChainHeadChannel =
         new CoalescingChainHeadChannel(
@@ -472,6 +533,29 @@ public class BeaconChainController extends Service
         .subscribe(SlotEventsChannel.class, beaconChainMetrics)
         .subscribe(SlotEventsChannel.class, syncCommitteeMetrics)
         .subscribe(ChainHeadChannel.class, syncCommitteeMetrics);
+
+    final List<ShufflingCache> shufflingCaches = spec.getShufflingCaches();
+    final Counter shufflingCacheHits =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "shuffling_cache_hits",
+            "Number of committee shufflings reused from the shuffling cache");
+    final Counter shufflingCacheMisses =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "shuffling_cache_misses",
+            "Number of committee shufflings which had to be computed");
+    shufflingCaches.forEach(
+        cache -> cache.setListeners(shufflingCacheHits::inc, shufflingCacheMisses::inc));
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.BEACON,
+        "shuffling_cache_size",
+        "Number of committee shufflings in the shuffling cache",
+        () -> shufflingCaches.stream().mapToInt(ShufflingCache::size).sum());
+    eventChannels.subscribe(
+        FinalizedCheckpointChannel.class,
+        checkpoint ->
+            shufflingCaches.forEach(cache -> cache.onFinalizedEpoch(checkpoint.getEpoch())));
   }
 
   public void initDepositProvider() {
@@ -578,12 +662,24 @@ public class BeaconChainController extends Service
 
   protected void initSignatureVerificationService() {
     final P2PConfig p2PConfig = beaconConfig.p2pConfig();
+    verifiedSignatureCache = new VerifiedSignatureCache(VerifiedSignatureCache.DEFAULT_MAX_SIZE);
+    spec.setVerifiedSignatureCache(verifiedSignatureCache);
+    BLS.setWorkerPool(
+        BLSWorkerPool.create(
+            Math.max(
+                1,
+                Math.min(
+                    p2PConfig.getBatchVerifyMaxThreads(),
+                    Runtime.getRuntime().availableProcessors()))));
     signatureVerificationService =
         p2PConfig.batchVerifyAttestationSignatures()
             ? new AggregatingSignatureVerificationService(
                 metricsSystem,
                 asyncRunnerFactory,
                 beaconAsyncRunner,
+                timeProvider,
+                () -> recentChainData.getGenesisData().map(GenesisData::getGenesisTime),
+                Duration.ofSeconds(spec.getGenesisSpecConfig().getSecondsPerSlot()),
                 p2PConfig.getBatchVerifyMaxThreads(),
                 p2PConfig.getBatchVerifyQueueCapacity(),
                 p2PConfig.getBatchVerifyMaxBatchSize(),
@@ -598,10 +694,17 @@ public class BeaconChainController extends Service
         FutureItems.create(
             ValidateableAttestation::getEarliestSlotForForkChoiceProcessing, UInt64.valueOf(3));
     AttestationValidator attestationValidator =
-        new AttestationValidator(spec, recentChainData, signatureVerificationService);
+        new AttestationValidator(
+            spec,
+            recentChainData,
+            signatureVerificationService.withPriority(SignatureVerificationPriority.ATTESTATION));
     AggregateAttestationValidator aggregateValidator =
         new AggregateAttestationValidator(
-            spec, recentChainData, attestationValidator, signatureVerificationService);
+            spec,
+            recentChainData,
+            attestationValidator,
+            signatureVerificationService.withPriority(SignatureVerificationPriority.AGGREGATE),
+            Optional.of(verifiedSignatureCache));
     blockImporter.subscribeToVerifiedBlockAttestations(
         (slot, attestations) ->
             attestations.forEach(
@@ -636,7 +739,9 @@ public class BeaconChainController extends Service
                 recentChainData,
                 syncCommitteeStateUtils,
                 timeProvider,
-                signatureVerificationService));
+                signatureVerificationService.withPriority(
+                    SignatureVerificationPriority.SYNC_CONTRIBUTION),
+                Optional.of(verifiedSignatureCache)));
 
     syncCommitteeMessagePool =
         new SyncCommitteeMessagePool(
@@ -645,7 +750,8 @@ public class BeaconChainController extends Service
                 spec,
                 recentChainData,
                 syncCommitteeStateUtils,
-                signatureVerificationService,
+                signatureVerificationService.withPriority(
+                    SignatureVerificationPriority.SYNC_COMMITTEE_MESSAGE),
                 timeProvider));
     eventChannels
         .subscribe(SlotEventsChannel.class, syncCommitteeContributionPool)
@@ -951,6 +1057,50 @@ public class BeaconChainController extends Service
     }
     slotProcessor.setCurrentSlot(currentSlot);
     performanceTracker.start(currentSlot);
+    initValidatorPubKeyTable();
+  }
+
+  protected void initValidatorPubKeyTable() {
+    final Path pubKeysFile = beaconDataDirectory.resolve(VALIDATOR_PUBKEYS_FILE);
+    final ValidatorPubKeyTable pubKeyTable = validatorPubKeyTable;
+    beaconAsyncRunner
+        .runAsync(
+            () -> {
+              final SszList<Validator> validators =
+                  recentChainData.getStore().getLatestFinalized().getState().getValidators();
+              validatorPubKeyIndex.update(validators);
+              pubKeyTable.loadFrom(pubKeysFile);
+              // Decompress on dedicated threads rather than the common fork-join pool
+              final ExecutorService decompressionExecutor =
+                  Executors.newFixedThreadPool(
+                      Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                      new ThreadFactoryBuilder()
+                          .setNameFormat("validator-pubkeys-%d")
+                          .setDaemon(true)
+                          .build());
+              try {
+                pubKeyTable.populate(validators, decompressionExecutor);
+              } finally {
+                decompressionExecutor.shutdown();
+              }
+              pubKeyTable.saveTo(pubKeysFile);
+              validatorPubKeyTableInitialized = true;
+              LOG.debug("Validator public keys table initialized with {} keys", pubKeyTable.size());
+            })
+        .finish(err -> LOG.warn("Failed to initialize validator public keys table", err));
+  }
+
+  protected void saveValidatorPubKeyTable() {
+    if (!validatorPubKeyTableInitialized) {
+      // Saving a partially loaded table would drop keys from the existing file
+      return;
+    }
+    // Keys of the validators added since startup are only in memory until they are saved
+    try {
+      validatorPubKeyTable.saveTo(beaconDataDirectory.resolve(VALIDATOR_PUBKEYS_FILE));
+    } catch (final IOException e) {
+      LOG.warn("Failed to save validator public keys table", e);
+    }
   }
 
   protected UInt64 getCurrentSlot(final UInt64 genesisTime) {
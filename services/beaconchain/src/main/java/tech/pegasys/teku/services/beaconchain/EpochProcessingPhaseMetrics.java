@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.services.beaconchain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.teku.infrastructure.metrics.SettableLabelledGauge;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.EpochProcessingMetrics.PhaseDurationListener;
+
+/**
+ * Publishes the time spent in each phase of the epoch processing, labelled by phase. The total is
+ * accumulated in nanoseconds and the millisecond counter is advanced by whole milliseconds of that
+ * total, so sub-millisecond phases still add up instead of being truncated to zero each time.
+ */
+public class EpochProcessingPhaseMetrics implements PhaseDurationListener {
+
+  private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final SettableLabelledGauge lastPhaseDuration;
+  private final LabelledMetric<Counter> totalPhaseDuration;
+  private final Map<String, AtomicLong> totalPhaseDurationNanos = new ConcurrentHashMap<>();
+
+  public EpochProcessingPhaseMetrics(final MetricsSystem metricsSystem) {
+    lastPhaseDuration =
+        SettableLabelledGauge.create(
+            metricsSystem,
+            TekuMetricCategory.BEACON,
+            "epoch_processing_phase_last_duration_ms",
+            "Time spent in the epoch processing phase by the latest epoch transition",
+            "phase");
+    totalPhaseDuration =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.BEACON,
+            "epoch_processing_phase_duration_ms_total",
+            "Total time spent in the epoch processing phase by all epoch transitions",
+            "phase");
+  }
+
+  @Override
+  public void onPhaseCompleted(final String phase, final long durationNanos) {
+    lastPhaseDuration.set(durationNanos / (double) NANOS_PER_MILLI, phase);
+    final long totalNanos =
+        totalPhaseDurationNanos
+            .computeIfAbsent(phase, __ -> new AtomicLong())
+            .addAndGet(durationNanos);
+    final long newMillis =
+        totalNanos / NANOS_PER_MILLI - (totalNanos - durationNanos) / NANOS_PER_MILLI;
+    if (newMillis > 0) {
+      totalPhaseDuration.labels(phase).inc(newMillis);
+    }
+  }
+}
@@ -33,6 +33,7 @@ public class StorageConfiguration {
   private final Spec spec;
   private final boolean storeNonCanonicalBlocks;
   private final int maxKnownNodeCacheSize;
+  private final boolean stateNodeInterningEnabled;
 
   private StorageConfiguration(
       final Eth1Address eth1DepositContract,
@@ -41,6 +42,7 @@ public class StorageConfiguration {
       final DatabaseVersion dataStorageCreateDbVersion,
       final boolean storeNonCanonicalBlocks,
       final int maxKnownNodeCacheSize,
+      final boolean stateNodeInterningEnabled,
       final Spec spec) {
     this.eth1DepositContract = eth1DepositContract;
     this.dataStorageMode = dataStorageMode;
@@ -48,6 +50,7 @@ public class StorageConfiguration {
     this.dataStorageCreateDbVersion = dataStorageCreateDbVersion;
     this.storeNonCanonicalBlocks = storeNonCanonicalBlocks;
     this.maxKnownNodeCacheSize = maxKnownNodeCacheSize;
+    this.stateNodeInterningEnabled = stateNodeInterningEnabled;
     this.spec = spec;
   }
 
@@ -79,6 +82,10 @@ public class StorageConfiguration {
     return maxKnownNodeCacheSize;
   }
 
+  public boolean isStateNodeInterningEnabled() {
+    return stateNodeInterningEnabled;
+  }
+
   public Spec getSpec() {
     return spec;
   }
@@ -92,6 +99,8 @@ public class StorageConfiguration {
     private Spec spec;
     private boolean storeNonCanonicalBlocks = DEFAULT_STORE_NON_CANONICAL_BLOCKS_ENABLED;
     private int maxKnownNodeCacheSize = DEFAULT_MAX_KNOWN_NODE_CACHE_SIZE;
+    private boolean stateNodeInterningEnabled =
+        VersionedDatabaseFactory.DEFAULT_STATE_NODE_INTERNING_ENABLED;
 
     private Builder() {}
 
@@ -145,6 +154,11 @@ public class StorageConfiguration {
       return this;
     }
 
+    public Builder stateNodeInterningEnabled(final boolean stateNodeInterningEnabled) {
+      this.stateNodeInterningEnabled = stateNodeInterningEnabled;
+      return this;
+    }
+
     public StorageConfiguration build() {
       return new StorageConfiguration(
           eth1DepositContract,
@@ -153,6 +167,7 @@ public class StorageConfiguration {
           dataStorageCreateDbVersion,
           storeNonCanonicalBlocks,
           maxKnownNodeCacheSize,
+          stateNodeInterningEnabled,
           spec);
     }
   }
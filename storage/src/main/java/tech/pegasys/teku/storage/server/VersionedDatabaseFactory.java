@@ -38,6 +38,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
   private static final Logger LOG = LogManager.getLogger();
 
   public static final long DEFAULT_STORAGE_FREQUENCY = 2048L;
+  public static final boolean DEFAULT_STATE_NODE_INTERNING_ENABLED = true;
   @VisibleForTesting static final String DB_PATH = "db";
   @VisibleForTesting static final String ARCHIVE_PATH = "archive";
   @VisibleForTesting static final String DB_VERSION_PATH = "db.version";
@@ -47,6 +48,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
   private final MetricsSystem metricsSystem;
   private final File dataDirectory;
   private final int maxKnownNodeCacheSize;
+  private final boolean stateNodeInterningEnabled;
   private final File dbDirectory;
   private final File v5ArchiveDirectory;
   private final File dbVersionFile;
@@ -86,9 +88,34 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
       final boolean storeNonCanonicalBlocks,
       final int maxKnownNodeCacheSize,
       final Spec spec) {
+    this(
+        metricsSystem,
+        dataPath,
+        dataStorageMode,
+        createDatabaseVersion,
+        stateStorageFrequency,
+        eth1Address,
+        storeNonCanonicalBlocks,
+        maxKnownNodeCacheSize,
+        DEFAULT_STATE_NODE_INTERNING_ENABLED,
+        spec);
+  }
+
+  public VersionedDatabaseFactory(
+      final MetricsSystem metricsSystem,
+      final Path dataPath,
+      final StateStorageMode dataStorageMode,
+      final DatabaseVersion createDatabaseVersion,
+      final long stateStorageFrequency,
+      final Eth1Address eth1Address,
+      final boolean storeNonCanonicalBlocks,
+      final int maxKnownNodeCacheSize,
+      final boolean stateNodeInterningEnabled,
+      final Spec spec) {
     this.metricsSystem = metricsSystem;
     this.dataDirectory = dataPath.toFile();
     this.maxKnownNodeCacheSize = maxKnownNodeCacheSize;
+    this.stateNodeInterningEnabled = stateNodeInterningEnabled;
     this.dbDirectory = this.dataDirectory.toPath().resolve(DB_PATH).toFile();
     this.v5ArchiveDirectory = this.dataDirectory.toPath().resolve(ARCHIVE_PATH).toFile();
     this.dbVersionFile = this.dataDirectory.toPath().resolve(DB_VERSION_PATH).toFile();
@@ -285,6 +312,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           stateStorageMode,
           storeNonCanonicalBlocks,
           maxKnownNodeCacheSize,
+          stateNodeInterningEnabled,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read metadata", e);
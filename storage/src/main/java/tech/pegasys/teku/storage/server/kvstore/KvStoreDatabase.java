@@ -152,9 +152,11 @@ public class KvStoreDatabase implements Database {
       final StateStorageMode stateStorageMode,
       final boolean storeNonCanonicalBlocks,
       final int maxKnownNodeCacheSize,
+      final boolean stateNodeInterningEnabled,
       final Spec spec) {
     final V4FinalizedStateStorageLogic<SchemaFinalizedTreeState> finalizedStateStorageLogic =
-        new V4FinalizedStateTreeStorageLogic(metricsSystem, spec, maxKnownNodeCacheSize);
+        new V4FinalizedStateTreeStorageLogic(
+            metricsSystem, spec, maxKnownNodeCacheSize, stateNodeInterningEnabled);
     return create(
         metricsSystem,
         db,
@@ -13,8 +13,10 @@
 
 package tech.pegasys.teku.storage.server.kvstore.dataaccess;
 
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeInterner;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeSource;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.schema.SchemaFinalizedTreeState;
@@ -23,10 +25,19 @@ class KvStoreTreeNodeSource implements TreeNodeSource {
 
   private final KvStoreAccessor db;
   private final SchemaFinalizedTreeState schema;
+  private final Optional<TreeNodeInterner> interner;
 
   public KvStoreTreeNodeSource(final KvStoreAccessor db, final SchemaFinalizedTreeState schema) {
+    this(db, schema, Optional.empty());
+  }
+
+  public KvStoreTreeNodeSource(
+      final KvStoreAccessor db,
+      final SchemaFinalizedTreeState schema,
+      final Optional<TreeNodeInterner> interner) {
     this.db = db;
     this.schema = schema;
+    this.interner = interner;
   }
 
   @Override
@@ -41,4 +52,9 @@ class KvStoreTreeNodeSource implements TreeNodeSource {
   public Bytes loadLeafNode(final Bytes32 rootHash, final long gIndex) {
     return db.get(schema.getColumnFinalizedStateMerkleTreeLeaves(), rootHash).orElse(rootHash);
   }
+
+  @Override
+  public Optional<TreeNodeInterner> getInterner() {
+    return interner;
+  }
 }
@@ -22,6 +22,7 @@ import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.teku.infrastructure.collections.LimitedSet;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeInterner;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeStore;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -38,9 +39,13 @@ public class V4FinalizedStateTreeStorageLogic
   private final Set<Bytes32> knownStoredBranchesCache;
   private final Spec spec;
   private final Counter leafNodeStoredCounter;
+  private final Optional<TreeNodeInterner> loadedNodesInterner;
 
   public V4FinalizedStateTreeStorageLogic(
-      final MetricsSystem metricsSystem, final Spec spec, final int maxKnownNodeCacheSize) {
+      final MetricsSystem metricsSystem,
+      final Spec spec,
+      final int maxKnownNodeCacheSize,
+      final boolean stateNodeInterningEnabled) {
     this.spec = spec;
     this.knownStoredBranchesCache = LimitedSet.create(maxKnownNodeCacheSize);
     this.branchNodeStoredCounter =
@@ -59,6 +64,34 @@ public class V4FinalizedStateTreeStorageLogic
             TekuMetricCategory.STORAGE_FINALIZED_DB,
             "states_stored",
             "Number of finalized states stored");
+    this.loadedNodesInterner =
+        stateNodeInterningEnabled ? Optional.of(createInterner(metricsSystem)) : Optional.empty();
+  }
+
+  private static TreeNodeInterner createInterner(final MetricsSystem metricsSystem) {
+    final Counter internedNodeHitCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE_FINALIZED_DB,
+            "state_interned_node_hits",
+            "Number of times loading a finalized state reused an already loaded subtree");
+    final Counter internedNodeMissCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE_FINALIZED_DB,
+            "state_interned_node_misses",
+            "Number of times loading a finalized state had to create a new subtree");
+    final TreeNodeInterner interner =
+        new TreeNodeInterner(internedNodeHitCounter::inc, internedNodeMissCounter::inc);
+    metricsSystem.createLongGauge(
+        TekuMetricCategory.STORAGE_FINALIZED_DB,
+        "state_interned_nodes",
+        "Number of loaded finalized state tree nodes shared between in-memory states",
+        interner::getSize);
+    metricsSystem.createLongGauge(
+        TekuMetricCategory.STORAGE_FINALIZED_DB,
+        "state_interned_leaf_bytes",
+        "Approximate bytes of leaf data in loaded finalized state nodes shared between states",
+        interner::getRetainedLeafBytes);
+    return interner;
   }
 
   @Override
@@ -71,7 +104,7 @@ public class V4FinalizedStateTreeStorageLogic
                     .getSchemaDefinitions()
                     .getBeaconStateSchema()
                     .load(
-                        new KvStoreTreeNodeSource(db, dbSchema),
+                        new KvStoreTreeNodeSource(db, dbSchema, loadedNodesInterner),
                         entry.getValue(),
                         GIndexUtil.SELF_G_INDEX));
   }
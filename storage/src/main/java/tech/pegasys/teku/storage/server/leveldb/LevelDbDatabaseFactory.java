@@ -93,6 +93,7 @@ public class LevelDbDatabaseFactory {
       final StateStorageMode stateStorageMode,
       final boolean storeNonCanonicalBlocks,
       final int maxKnownNodeCacheSize,
+      final boolean stateNodeInterningEnabled,
       final Spec spec) {
 
     final V4SchemaHot schemaHot = new V4SchemaHot(spec);
@@ -110,6 +111,7 @@ public class LevelDbDatabaseFactory {
         stateStorageMode,
         storeNonCanonicalBlocks,
         maxKnownNodeCacheSize,
+        stateNodeInterningEnabled,
         spec);
   }
 }
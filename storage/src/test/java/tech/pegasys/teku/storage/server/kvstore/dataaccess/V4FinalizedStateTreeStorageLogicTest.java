@@ -39,7 +39,7 @@ class V4FinalizedStateTreeStorageLogicTest {
       MockKvStoreInstance.createEmpty(schema.getAllColumns(), schema.getAllVariables());
 
   private final V4FinalizedStateTreeStorageLogic logic =
-      new V4FinalizedStateTreeStorageLogic(new NoOpMetricsSystem(), spec, 1000);
+      new V4FinalizedStateTreeStorageLogic(new NoOpMetricsSystem(), spec, 1000, true);
 
   @Test
   void shouldRoundTripState() {
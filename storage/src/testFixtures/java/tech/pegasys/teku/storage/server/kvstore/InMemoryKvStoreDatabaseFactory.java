@@ -72,6 +72,7 @@ public class InMemoryKvStoreDatabaseFactory {
         storageMode,
         storeNonCanonicalBlocks,
         1000,
+        true,
         spec);
   }
 }
@@ -190,6 +190,7 @@ public class FileBackedStorageSystemBuilder {
         storageMode,
         storeNonCanonicalBlocks,
         10_000,
+        true,
         spec);
   }
 
@@ -72,6 +72,17 @@ public class DataStorageOptions {
       hidden = true)
   private int maxKnownNodeCacheSize = StorageConfiguration.DEFAULT_MAX_KNOWN_NODE_CACHE_SIZE;
 
+  @CommandLine.Option(
+      names = {"--Xdata-storage-state-node-interning-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Share identical subtrees between finalized states loaded from a tree based database",
+      fallbackValue = "true",
+      arity = "0..1",
+      hidden = true)
+  private boolean stateNodeInterningEnabled =
+      VersionedDatabaseFactory.DEFAULT_STATE_NODE_INTERNING_ENABLED;
+
   public StateStorageMode getDataStorageMode() {
     return dataStorageMode;
   }
@@ -83,7 +94,8 @@ public class DataStorageOptions {
                 .dataStorageFrequency(dataStorageFrequency)
                 .dataStorageCreateDbVersion(parseDatabaseVersion())
                 .storeNonCanonicalBlocks(storeNonCanonicalBlocksEnabled)
-                .maxKnownNodeCacheSize(maxKnownNodeCacheSize));
+                .maxKnownNodeCacheSize(maxKnownNodeCacheSize)
+                .stateNodeInterningEnabled(stateNodeInterningEnabled));
   }
 
   private DatabaseVersion parseDatabaseVersion() {
@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.cli.options;
 
+import static tech.pegasys.teku.spec.constants.NetworkConstants.DEFAULT_EPOCH_PROCESSING_PARALLELISM;
 import static tech.pegasys.teku.spec.constants.NetworkConstants.DEFAULT_SAFE_SLOTS_TO_IMPORT_OPTIMISTICALLY;
 
 import org.apache.commons.lang3.StringUtils;
@@ -104,6 +105,15 @@ public class Eth2NetworkOptions {
       arity = "1")
   private Integer safeSlotsToImportOptimistically = DEFAULT_SAFE_SLOTS_TO_IMPORT_OPTIMISTICALLY;
 
+  @Option(
+      names = {"--Xepoch-processing-parallelism"},
+      hidden = true,
+      paramLabel = "<NUMBER>",
+      description =
+          "Number of threads used for the per validator computations of the epoch transition",
+      arity = "1")
+  private Integer epochProcessingParallelism = DEFAULT_EPOCH_PROCESSING_PARALLELISM;
+
   @Option(
       names = {"--Xstartup-target-peer-count"},
       paramLabel = "<NUMBER>",
@@ -175,6 +185,7 @@ public class Eth2NetworkOptions {
       builder.terminalBlockHashEpochOverride(terminalBlockHashEpochOverride);
     }
     builder.safeSlotsToImportOptimistically(safeSlotsToImportOptimistically);
+    builder.epochProcessingParallelism(epochProcessingParallelism);
   }
 
   public String getNetwork() {
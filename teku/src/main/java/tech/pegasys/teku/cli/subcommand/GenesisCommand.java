@@ -18,6 +18,7 @@ import static tech.pegasys.teku.infrastructure.logging.SubCommandLogger.SUB_COMM
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.util.List;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
@@ -79,7 +80,7 @@ public class GenesisCommand {
       if (outputToFile) {
         SUB_COMMAND_LOG.storingGenesis(genesisParams.outputFile, false);
       }
-      fileStream.write(genesisState.sszSerialize().toArrayUnsafe());
+      genesisState.sszSerialize(Channels.newChannel(fileStream));
       if (outputToFile) {
         SUB_COMMAND_LOG.storingGenesis(genesisParams.outputFile, true);
       }
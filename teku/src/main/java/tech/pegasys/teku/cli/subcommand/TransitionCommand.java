@@ -20,6 +20,7 @@ import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -131,7 +132,7 @@ public class TransitionCommand implements Runnable {
 
       try {
         BeaconState result = transition.applyTransition(spec, state);
-        out.write(result.sszSerialize().toArrayUnsafe());
+        result.sszSerialize(Channels.newChannel(out));
         return 0;
       } catch (final StateTransitionException
           | EpochProcessingException
@@ -14,8 +14,11 @@
 package tech.pegasys.teku.cli.subcommand.debug;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import picocli.CommandLine;
@@ -196,9 +199,15 @@ public class DebugDbCommand implements Runnable {
       System.err.println("No state available.");
       return 2;
     }
-    try {
-      Files.write(outputFile, state.get().sszSerialize().toArrayUnsafe());
-    } catch (IOException e) {
+    try (FileChannel channel =
+        FileChannel.open(
+            outputFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      // stream the state to avoid allocating the full serialized state in memory
+      state.get().sszSerialize(channel);
+    } catch (IOException | UncheckedIOException e) {
       System.err.println("Unable to write state to " + outputFile + ": " + e.getMessage());
       return 1;
     }
@@ -91,6 +91,21 @@ class Eth2NetworkOptionsTest extends AbstractBeaconNodeCommandTest {
         .isEqualTo(256);
   }
 
+  @Test
+  void shouldUseCustomEpochProcessingParallelism() {
+    final TekuConfiguration config =
+        getTekuConfigurationFromArguments("--Xepoch-processing-parallelism", "8");
+    final Spec spec = config.eth2NetworkConfiguration().getSpec();
+    assertThat(spec.getGenesisSpecConfig().getEpochProcessingParallelism()).isEqualTo(8);
+  }
+
+  @Test
+  void shouldProcessEpochsOnSingleThreadByDefault() {
+    final TekuConfiguration config = getTekuConfigurationFromArguments();
+    final Spec spec = config.eth2NetworkConfiguration().getSpec();
+    assertThat(spec.getGenesisSpecConfig().getEpochProcessingParallelism()).isEqualTo(1);
+  }
+
   @Test
   void shouldMergeTransitionsOverrideBeEmptyByDefault() {
     final TekuConfiguration config = getTekuConfigurationFromArguments();